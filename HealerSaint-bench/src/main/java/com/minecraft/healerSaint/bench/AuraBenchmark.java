@@ -0,0 +1,116 @@
+package com.minecraft.healerSaint.bench;
+
+import com.minecraft.healerSaint.config.InvalidSettingsException;
+import com.minecraft.healerSaint.spatial.AuraTracker;
+import com.minecraft.healerSaint.tasks.EffectFlushTask;
+import com.minecraft.healerSaint.tasks.HealingAuraTask;
+import org.bukkit.Location;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The aura of a standard server at varying player densities, on the real plugin:
+ * one tick of the {@link HealingAuraTask} including the flush of the effects it
+ * queued, and a player crossing a block boundary through the {@link AuraTracker}.
+ * Every iteration starts with wounded players, most are healed up within it, as
+ * on a real server where most aura members are at full health.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuraBenchmark {
+    @Param({"200", "1000"})
+    public int players;
+
+    @Param({"1", "20"})
+    public int saints;
+
+    /** Side of the square the players are spread over, in blocks */
+    @Param({"64", "512"})
+    public int area;
+
+    private BenchServer bench;
+    private HealingAuraTask aura;
+    private EffectFlushTask flush;
+    private AuraTracker tracker;
+    private PlayerMock[] all;
+    private Location[] home;
+    private Location[] nextBlock;
+    private int cursor;
+    private boolean away;
+
+    @Setup
+    public void setup() throws InvalidSettingsException {
+        bench = BenchServer.start(Map.of("allow_multiple_saints", true));
+
+        Random random = new Random(42);
+        all = new PlayerMock[players];
+        home = new Location[players];
+        nextBlock = new Location[players];
+        for (int i = 0; i < players; i++) {
+            all[i] = bench.server.addPlayer();
+            home[i] = new Location(bench.world, random.nextDouble() * area, 64, random.nextDouble() * area);
+            nextBlock[i] = home[i].clone().add(1, 0, 0);
+            all[i].teleport(home[i]);
+        }
+
+        // The players are placed at random, so the first ones are as good as any
+        for (int i = 0; i < saints && i < players; i++) {
+            bench.plugin.getSaintManager().setSaint(all[i]);
+        }
+
+        aura = new HealingAuraTask(bench.plugin);
+        flush = new EffectFlushTask(bench.plugin);
+        tracker = bench.plugin.getAuraTracker();
+    }
+
+    @Setup(Level.Iteration)
+    public void wound() {
+        for (PlayerMock player : all) {
+            player.setHealth(1);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        bench.stop();
+    }
+
+    @Benchmark
+    public void auraTick() {
+        aura.run();
+        flush.run();
+    }
+
+    /**
+     * One player stepping into the next block and back on the following pass
+     */
+    @Benchmark
+    public void crossBlock() {
+        int i = cursor;
+        tracker.moved(all[i], away ? home[i] : nextBlock[i]);
+        if (++cursor == players) {
+            cursor = 0;
+            away = !away;
+        }
+    }
+}
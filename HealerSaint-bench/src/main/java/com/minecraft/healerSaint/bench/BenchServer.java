@@ -0,0 +1,45 @@
+package com.minecraft.healerSaint.bench;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.config.InvalidSettingsException;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.world.WorldMock;
+
+import java.util.Map;
+
+/**
+ * The plugin enabled on a MockBukkit server, for benchmarks of code that needs a
+ * live plugin. Where a benchmark calls into the server, MockBukkit's own
+ * bookkeeping is measured too, so compare such results against each other
+ * rather than against the timings of a real server.
+ */
+final class BenchServer {
+    final ServerMock server;
+    final HealerSaint plugin;
+    final WorldMock world;
+
+    private BenchServer(ServerMock server, HealerSaint plugin, WorldMock world) {
+        this.server = server;
+        this.plugin = plugin;
+        this.world = world;
+    }
+
+    /**
+     * Start a server with the plugin enabled
+     * @param config Values written over the default config.yml
+     * @return The running server
+     */
+    static BenchServer start(Map<String, Object> config) throws InvalidSettingsException {
+        ServerMock server = MockBukkit.mock();
+        HealerSaint plugin = MockBukkit.load(HealerSaint.class);
+        config.forEach(plugin.getConfig()::set);
+        plugin.saveConfig();
+        plugin.reloadSettings();
+        return new BenchServer(server, plugin, server.addSimpleWorld("world"));
+    }
+
+    void stop() {
+        MockBukkit.unmock();
+    }
+}
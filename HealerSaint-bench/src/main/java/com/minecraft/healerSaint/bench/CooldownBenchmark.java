@@ -0,0 +1,78 @@
+package com.minecraft.healerSaint.bench;
+
+import com.minecraft.healerSaint.cooldown.CooldownStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cooldown checks as done by SaintManager on every healing-hand use and death.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CooldownBenchmark {
+    private static final int LOOKUPS = 1024;
+    private static final long HOUR = 60L * 60L * 1000L;
+
+    @Param({"1000", "100000"})
+    public int activeCooldowns;
+
+    private final long now = 1_700_000_000_000L;
+    private CooldownStore store;
+    private UUID[] onCooldown;
+    private UUID[] notOnCooldown;
+    private int cursor;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        store = new CooldownStore(now);
+        onCooldown = new UUID[LOOKUPS];
+        notOnCooldown = new UUID[LOOKUPS];
+        for (int i = 0; i < activeCooldowns; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            store.start(uuid, now, 2 * HOUR);
+            if (i < LOOKUPS) {
+                onCooldown[i] = uuid;
+            }
+        }
+        for (int i = 0; i < LOOKUPS; i++) {
+            if (onCooldown[i] == null) {
+                onCooldown[i] = onCooldown[i % activeCooldowns];
+            }
+            notOnCooldown[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+    }
+
+    @Benchmark
+    public long remainingOnCooldown() {
+        return store.remaining(onCooldown[cursor++ & (LOOKUPS - 1)], now);
+    }
+
+    @Benchmark
+    public long remainingNotOnCooldown() {
+        return store.remaining(notOnCooldown[cursor++ & (LOOKUPS - 1)], now);
+    }
+
+    @Benchmark
+    public int startCooldown() {
+        store.start(onCooldown[cursor++ & (LOOKUPS - 1)], now, 2 * HOUR);
+        return store.size();
+    }
+}
@@ -0,0 +1,85 @@
+package com.minecraft.healerSaint.bench;
+
+import com.minecraft.healerSaint.config.InvalidSettingsException;
+import com.minecraft.healerSaint.managers.SaintManager;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SaintManager.checkNewSaint for a join storm of players new to the server, on the
+ * real plugin. With prefetched the saint roll and registry lookup were done at login,
+ * as the login listener does off the main thread; without it the join does them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JoinBenchmark {
+    private static final int JOIN_STORM = 500;
+
+    @Param({"false", "true"})
+    public boolean prefetched;
+
+    private BenchServer bench;
+    private SaintManager saintManager;
+    private PlayerMock[] joining;
+    private long nextJoin;
+
+    @Setup
+    public void setup() throws InvalidSettingsException {
+        // Every join takes the full path, a crowned saint would end the rolls otherwise
+        bench = BenchServer.start(Map.of("allow_multiple_saints", true));
+        saintManager = bench.plugin.getSaintManager();
+    }
+
+    /**
+     * The players of the next storm, not added to the server so no join event runs
+     */
+    @Setup(Level.Invocation)
+    public void storm() {
+        joining = new PlayerMock[JOIN_STORM];
+        for (int i = 0; i < JOIN_STORM; i++) {
+            UUID uuid = new UUID(0x5A17L, nextJoin++);
+            joining[i] = new PlayerMock(bench.server, "joiner" + nextJoin, uuid);
+            if (prefetched) {
+                saintManager.prefetch(uuid);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        bench.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(JOIN_STORM)
+    public int joinStorm() {
+        int crowned = 0;
+        for (PlayerMock player : joining) {
+            if (saintManager.checkNewSaint(player)) {
+                crowned++;
+            }
+        }
+        return crowned;
+    }
+}
@@ -0,0 +1,128 @@
+package com.minecraft.healerSaint.bench;
+
+import com.minecraft.healerSaint.storage.DataWriter;
+import com.minecraft.healerSaint.storage.PlayerRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * The player registry behind SaintManager.checkNewSaint: lookups, a join storm
+ * of new players, and loading the registry at startup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+    private static final int LOOKUPS = 1024;
+    private static final int JOIN_STORM = 500;
+
+    @Param({"10000", "500000"})
+    public int registeredPlayers;
+
+    private final Logger logger = Logger.getLogger("RegistryBenchmark");
+    private Path directory;
+    private Path file;
+    private DataWriter writer;
+    private PlayerRegistry registry;
+    private UUID[] known;
+    private UUID[] unknown;
+    private long nextJoin;
+    private int cursor;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("healersaint-bench");
+        file = directory.resolve("players.dat");
+        writer = new DataWriter(logger);
+        registry = new PlayerRegistry(file, writer, logger);
+
+        Random random = new Random(42);
+        known = new UUID[LOOKUPS];
+        unknown = new UUID[LOOKUPS];
+        for (int i = 0; i < registeredPlayers; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            registry.record(uuid, i);
+            if (i < LOOKUPS) {
+                known[i] = uuid;
+            }
+        }
+        for (int i = 0; i < LOOKUPS; i++) {
+            unknown[i] = new UUID(random.nextLong(), random.nextLong());
+        }
+        registry.flush();
+        writer.flush().join();
+    }
+
+    @TearDown(Level.Iteration)
+    public void drainWrites() {
+        writer.flush().join();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        writer.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public boolean lookupKnown() {
+        return registry.contains(known[cursor++ & (LOOKUPS - 1)]);
+    }
+
+    @Benchmark
+    public boolean lookupUnknown() {
+        return registry.contains(unknown[cursor++ & (LOOKUPS - 1)]);
+    }
+
+    /**
+     * Main-thread cost of a burst of new players: check, record, then one autosave flush
+     */
+    @Benchmark
+    @OperationsPerInvocation(JOIN_STORM)
+    public int joinStorm() {
+        int recorded = 0;
+        for (int i = 0; i < JOIN_STORM; i++) {
+            UUID uuid = new UUID(0x5A17L, nextJoin++);
+            if (!registry.contains(uuid) && registry.record(uuid, nextJoin)) {
+                recorded++;
+            }
+        }
+        registry.flush();
+        return recorded;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 10)
+    public int load() {
+        return new PlayerRegistry(file, writer, logger).size();
+    }
+}
@@ -0,0 +1,79 @@
+package com.minecraft.healerSaint.bench;
+
+import com.minecraft.healerSaint.cooldown.CooldownStore;
+import com.minecraft.healerSaint.storage.CooldownFile;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Main-thread snapshot cost of SaintManager.saveData: the legacy data.yml that held
+ * every player, the data.yml that only holds saints, and the cooldown snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SaveBenchmark {
+    @Param({"10000", "100000"})
+    public int registeredPlayers;
+
+    private final long now = 1_700_000_000_000L;
+    private YamlConfiguration legacyData;
+    private YamlConfiguration data;
+    private CooldownStore healing;
+    private CooldownStore resurrection;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        UUID saint = new UUID(random.nextLong(), random.nextLong());
+
+        legacyData = new YamlConfiguration();
+        legacyData.set("current_saint", saint.toString());
+        for (int i = 0; i < registeredPlayers; i++) {
+            legacyData.set("players." + new UUID(random.nextLong(), random.nextLong()), now - i);
+        }
+
+        data = new YamlConfiguration();
+        data.set("saints", Collections.singletonList(saint.toString()));
+
+        // Roughly one in ten players has a running resurrection cooldown
+        healing = new CooldownStore(now);
+        resurrection = new CooldownStore(now);
+        for (int i = 0; i < registeredPlayers / 10; i++) {
+            resurrection.start(new UUID(random.nextLong(), random.nextLong()), now, 60L * 60L * 1000L);
+        }
+    }
+
+    @Benchmark
+    public String legacyDataSnapshot() {
+        return legacyData.saveToString();
+    }
+
+    @Benchmark
+    public String dataSnapshot() {
+        return data.saveToString();
+    }
+
+    @Benchmark
+    public byte[] cooldownSnapshot() {
+        return CooldownFile.encode(now, healing, resurrection);
+    }
+}
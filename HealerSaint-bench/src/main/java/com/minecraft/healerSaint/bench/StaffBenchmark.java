@@ -0,0 +1,76 @@
+package com.minecraft.healerSaint.bench;
+
+import com.minecraft.healerSaint.config.InvalidSettingsException;
+import com.minecraft.healerSaint.items.SaintKit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Staff identification, as HealingListener does it on every right click on a
+ * player: the real staff, a stick renamed to look like one, a plain stick and an
+ * empty hand. Item meta comes from MockBukkit's item factory.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StaffBenchmark {
+    @Param({"staff", "renamed", "stick", "empty"})
+    public String held;
+
+    private BenchServer bench;
+    private SaintKit kit;
+    private ItemStack item;
+
+    @Setup
+    public void setup() throws InvalidSettingsException {
+        bench = BenchServer.start(Collections.emptyMap());
+        kit = bench.plugin.getKit();
+
+        switch (held) {
+            case "staff":
+                item = kit.createStaff();
+                break;
+            case "renamed":
+                item = new ItemStack(Material.STICK);
+                ItemMeta meta = item.getItemMeta();
+                meta.setDisplayName("Saint's Staff");
+                item.setItemMeta(meta);
+                break;
+            case "stick":
+                item = new ItemStack(Material.STICK);
+                break;
+            default:
+                item = new ItemStack(Material.AIR);
+                break;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        bench.stop();
+    }
+
+    @Benchmark
+    public boolean isStaff() {
+        return kit.isStaff(item);
+    }
+}
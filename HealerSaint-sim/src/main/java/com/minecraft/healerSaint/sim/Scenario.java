@@ -0,0 +1,30 @@
+package com.minecraft.healerSaint.sim;
+
+/**
+ * The player activity a simulation drives each tick. Every scenario keeps
+ * the configured number of players online; they differ in what those players do.
+ */
+public enum Scenario {
+    /** Players stand still, only the plugin's own timers run */
+    IDLE(false, false, false, false, false),
+    /** Every player random-walks, so auras and the spatial index see constant movement */
+    CROWD(true, false, false, false, false),
+    /** Waves of deaths near the saints, followed by respawns, to exercise resurrections */
+    DEATHS(false, true, false, false, false),
+    /** Movement, deaths, staff heals, joins and quits and admin commands all at once */
+    MIXED(true, true, true, true, true);
+
+    final boolean walk;
+    final boolean deaths;
+    final boolean heals;
+    final boolean churn;
+    final boolean commands;
+
+    Scenario(boolean walk, boolean deaths, boolean heals, boolean churn, boolean commands) {
+        this.walk = walk;
+        this.deaths = deaths;
+        this.heals = heals;
+        this.churn = churn;
+        this.commands = commands;
+    }
+}
@@ -0,0 +1,442 @@
+package com.minecraft.healerSaint.sim;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.config.InvalidSettingsException;
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.inventory.EquipmentSlot;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.mockbukkit.mockbukkit.world.WorldMock;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Headless end-to-end load simulation: boots the plugin on a MockBukkit server,
+ * puts a few hundred simulated players into a world and drives the real listeners,
+ * timers and commands tick by tick. Reports the per-tick cost (server scheduler
+ * plus the events fired by the scenario), the allocation rate of the main thread
+ * and the bytes written to disk.
+ * <p>
+ * MockBukkit's own bookkeeping is part of every measured tick, so compare runs
+ * against each other (before/after a change, 200 vs 1000 players) rather than
+ * against the timings of a real server.
+ */
+public final class Simulation {
+    private static final int DEATH_WAVE_INTERVAL = 100;
+    private static final int RESPAWN_DELAY = 20;
+    private static final int CHURN_INTERVAL = 40;
+    private static final int COMMAND_INTERVAL = 200;
+    private static final double STEP = 0.6;
+
+    private final Options options;
+    private final Random random;
+    private ServerMock server;
+    private HealerSaint plugin;
+    private WorldMock world;
+    private final List<PlayerMock> players = new ArrayList<>();
+    private final List<PlayerMock> saints = new ArrayList<>();
+    private final List<PlayerMock> dead = new ArrayList<>();
+    private final List<Integer> respawnAt = new ArrayList<>();
+
+    private Simulation(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed);
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: --scenario idle|crowd|deaths|mixed --players N --saints N --ticks N"
+                    + " --warmup N --area BLOCKS --seed N --out FILE --config key=value");
+            System.exit(2);
+            return;
+        }
+        new Simulation(options).run();
+    }
+
+    private void run() throws IOException, InvalidSettingsException {
+        server = MockBukkit.mock();
+        try {
+            plugin = MockBukkit.load(HealerSaint.class);
+            configure();
+            world = server.addSimpleWorld("world");
+            spawnPlayers();
+
+            for (int tick = 0; tick < options.warmup; tick++) {
+                tick(tick);
+            }
+            plugin.getStats().reset();
+
+            Report report = measure();
+            report.print(System.out);
+            if (options.out != null) {
+                Files.writeString(options.out, report.toJson());
+                System.out.println("Wrote " + options.out);
+            }
+        } finally {
+            MockBukkit.unmock();
+        }
+    }
+
+    private void configure() throws InvalidSettingsException {
+        Map<String, String> overrides = new LinkedHashMap<>();
+        overrides.put("allow_multiple_saints", "true");
+        overrides.put("resurrection_chance", "100");
+        overrides.put("stats_enabled", "true");
+        overrides.putAll(options.config);
+
+        for (Map.Entry<String, String> entry : overrides.entrySet()) {
+            plugin.getConfig().set(entry.getKey(), parseValue(entry.getValue()));
+        }
+        plugin.saveConfig();
+        for (String change : plugin.reloadSettings()) {
+            System.out.println("Config: " + change);
+        }
+    }
+
+    private void spawnPlayers() {
+        for (int i = 0; i < options.players; i++) {
+            PlayerMock player = server.addPlayer();
+            player.teleport(randomLocation());
+            players.add(player);
+        }
+
+        for (int i = 0; i < options.saints && i < players.size(); i++) {
+            PlayerMock saint = players.get(i);
+            plugin.getSaintManager().setSaint(saint);
+            saint.getInventory().setItemInMainHand(plugin.getKit().createStaff());
+            saints.add(saint);
+        }
+        drainMessages();
+    }
+
+    private Report measure() throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long[] ticks = new long[options.ticks];
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long writtenBefore = readWrittenBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < options.ticks; i++) {
+            long start = System.nanoTime();
+            tick(options.warmup + i);
+            ticks[i] = System.nanoTime() - start;
+
+            // Outside the measurement, so unread chat does not pile up in the mocks
+            drainMessages();
+        }
+        long elapsed = System.nanoTime() - started;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        long written = readWrittenBytes() - writtenBefore;
+
+        // Pending saves are part of the cost of the run
+        plugin.getSaintManager().saveData().join();
+        long writtenAfterSave = readWrittenBytes() - writtenBefore;
+
+        return new Report(options, ticks, elapsed, allocated, written, writtenAfterSave,
+                folderSize(plugin.getDataFolder().toPath()), plugin.getStats().summary());
+    }
+
+    private void tick(int tick) {
+        Scenario scenario = options.scenario;
+        if (scenario.walk) {
+            walk();
+        }
+        if (scenario.deaths) {
+            deaths(tick);
+        }
+        if (scenario.heals) {
+            heals();
+        }
+        if (scenario.churn && tick % CHURN_INTERVAL == 0) {
+            churn();
+        }
+        if (scenario.commands && tick % COMMAND_INTERVAL == 0) {
+            server.dispatchCommand(server.getConsoleSender(), "saint info");
+            server.dispatchCommand(server.getConsoleSender(), "saint stats");
+        }
+        server.getScheduler().performOneTick();
+    }
+
+    private void walk() {
+        for (int i = 0; i < players.size(); i++) {
+            PlayerMock player = players.get(i);
+            if (!player.isOnline() || player.isDead()) {
+                continue;
+            }
+            Location to = player.getLocation();
+            to.add((random.nextDouble() * 2 - 1) * STEP, 0, (random.nextDouble() * 2 - 1) * STEP);
+            to.setX(clamp(to.getX()));
+            to.setZ(clamp(to.getZ()));
+            player.simulatePlayerMove(to);
+        }
+    }
+
+    private void deaths(int tick) {
+        // Respawn the players whose delay ran out
+        for (int i = dead.size() - 1; i >= 0; i--) {
+            if (respawnAt.get(i) <= tick) {
+                PlayerMock player = dead.remove(i);
+                respawnAt.remove(i);
+                if (player.isOnline()) {
+                    player.respawn();
+                }
+            }
+        }
+
+        if (tick % DEATH_WAVE_INTERVAL != 0 || saints.isEmpty()) {
+            return;
+        }
+
+        // Kill a few players next to each saint, so resurrections actually trigger
+        int perSaint = Math.max(1, options.players / 100);
+        for (PlayerMock saint : saints) {
+            for (int i = 0; i < perSaint; i++) {
+                PlayerMock victim = players.get(random.nextInt(players.size()));
+                if (victim == saint || saints.contains(victim) || !victim.isOnline() || victim.isDead()) {
+                    continue;
+                }
+                Location near = saint.getLocation().add(random.nextDouble() * 4 - 2, 0, random.nextDouble() * 4 - 2);
+                victim.teleport(near);
+                victim.setHealth(0);
+                dead.add(victim);
+                respawnAt.add(tick + RESPAWN_DELAY);
+            }
+        }
+    }
+
+    private void heals() {
+        // One staff heal attempt per saint and tick, most of them hit the cooldown
+        for (PlayerMock saint : saints) {
+            PlayerMock target = players.get(random.nextInt(players.size()));
+            if (target == saint || !target.isOnline() || !saint.isOnline()) {
+                continue;
+            }
+            server.getPluginManager().callEvent(new PlayerInteractEntityEvent(saint, target, EquipmentSlot.HAND));
+        }
+    }
+
+    private void churn() {
+        // A regular leaves and comes back, saints stay online
+        PlayerMock player = players.get(random.nextInt(players.size()));
+        if (saints.contains(player) || player.isDead()) {
+            return;
+        }
+        if (player.isOnline()) {
+            player.disconnect();
+        } else {
+            player.reconnect();
+            player.teleport(randomLocation());
+        }
+    }
+
+    private void drainMessages() {
+        for (PlayerMock player : players) {
+            while (player.nextMessage() != null) {
+                // Discard
+            }
+        }
+        while (server.getConsoleSender().nextMessage() != null) {
+            // Discard
+        }
+    }
+
+    private Location randomLocation() {
+        return new Location(world, random.nextDouble() * options.area, 64, random.nextDouble() * options.area);
+    }
+
+    private double clamp(double coordinate) {
+        return Math.max(0, Math.min(options.area, coordinate));
+    }
+
+    /**
+     * Bytes this process handed to write calls, from /proc/self/io
+     * @return The written bytes, or -1 where /proc is not available
+     */
+    private static long readWrittenBytes() throws IOException {
+        Path io = Paths.get("/proc/self/io");
+        if (!Files.isReadable(io)) {
+            return -1;
+        }
+        for (String line : Files.readAllLines(io)) {
+            if (line.startsWith("wchar:")) {
+                return Long.parseLong(line.substring(6).trim());
+            }
+        }
+        return -1;
+    }
+
+    private static long folderSize(Path folder) throws IOException {
+        if (!Files.isDirectory(folder)) {
+            return 0;
+        }
+        try (Stream<Path> files = Files.walk(folder)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private static Object parseValue(String value) {
+        if (value.equalsIgnoreCase("true") || value.equalsIgnoreCase("false")) {
+            return Boolean.parseBoolean(value);
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ignored) {
+        }
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException ignored) {
+        }
+        return value;
+    }
+
+    private static final class Options {
+        private Scenario scenario = Scenario.MIXED;
+        private int players = 200;
+        private int saints = 3;
+        private int ticks = 2400;
+        private int warmup = 200;
+        private int area = 256;
+        private long seed = 42;
+        private Path out;
+        private final Map<String, String> config = new LinkedHashMap<>();
+
+        private static Options parse(String[] args) {
+            Options options = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String flag = args[i];
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for " + flag);
+                }
+                String value = args[++i];
+                try {
+                    switch (flag) {
+                        case "--scenario" -> options.scenario = Scenario.valueOf(value.toUpperCase(Locale.ROOT));
+                        case "--players" -> options.players = Integer.parseInt(value);
+                        case "--saints" -> options.saints = Integer.parseInt(value);
+                        case "--ticks" -> options.ticks = Integer.parseInt(value);
+                        case "--warmup" -> options.warmup = Integer.parseInt(value);
+                        case "--area" -> options.area = Integer.parseInt(value);
+                        case "--seed" -> options.seed = Long.parseLong(value);
+                        case "--out" -> options.out = Paths.get(value);
+                        case "--config" -> {
+                            int separator = value.indexOf('=');
+                            if (separator <= 0) {
+                                throw new IllegalArgumentException("--config expects key=value, got " + value);
+                            }
+                            options.config.put(value.substring(0, separator), value.substring(separator + 1));
+                        }
+                        default -> throw new IllegalArgumentException("Unknown option " + flag);
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid number for " + flag + ": " + value);
+                }
+            }
+            if (options.players < 1 || options.ticks < 1 || options.warmup < 0 || options.area < 16) {
+                throw new IllegalArgumentException("players and ticks must be positive, area at least 16");
+            }
+            return options;
+        }
+    }
+
+    private static final class Report {
+        private final Options options;
+        private final long[] ticks;
+        private final long elapsedNanos;
+        private final long allocatedBytes;
+        private final long writtenBytes;
+        private final long writtenWithSaveBytes;
+        private final long dataFolderBytes;
+        private final List<String> stats;
+
+        private Report(Options options, long[] ticks, long elapsedNanos, long allocatedBytes, long writtenBytes,
+                       long writtenWithSaveBytes, long dataFolderBytes, List<String> stats) {
+            this.options = options;
+            this.ticks = ticks.clone();
+            Arrays.sort(this.ticks);
+            this.elapsedNanos = elapsedNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.writtenBytes = writtenBytes;
+            this.writtenWithSaveBytes = writtenWithSaveBytes;
+            this.dataFolderBytes = dataFolderBytes;
+            this.stats = stats;
+        }
+
+        private double percentileMillis(double percentile) {
+            int index = (int) Math.ceil(percentile * ticks.length) - 1;
+            return ticks[Math.max(0, Math.min(ticks.length - 1, index))] / 1_000_000.0;
+        }
+
+        private double meanMillis() {
+            long sum = 0;
+            for (long tick : ticks) {
+                sum += tick;
+            }
+            return sum / (double) ticks.length / 1_000_000.0;
+        }
+
+        private double allocationRate() {
+            return allocatedBytes / (elapsedNanos / 1_000_000_000.0) / (1024 * 1024);
+        }
+
+        private void print(java.io.PrintStream out) {
+            out.printf(Locale.ROOT, "Scenario %s: %d players, %d saints, %d ticks (%d warmup)%n",
+                    options.scenario, options.players, options.saints, options.ticks, options.warmup);
+            out.printf(Locale.ROOT, "Tick: mean=%.3fms p50=%.3fms p90=%.3fms p99=%.3fms max=%.3fms%n",
+                    meanMillis(), percentileMillis(0.50), percentileMillis(0.90), percentileMillis(0.99),
+                    ticks[ticks.length - 1] / 1_000_000.0);
+            out.printf(Locale.ROOT, "Allocated: %d bytes (%.1f bytes/tick, %.1f MB/s)%n",
+                    allocatedBytes, allocatedBytes / (double) ticks.length, allocationRate());
+            out.printf(Locale.ROOT, "Written: %d bytes during the run, %d with the final save, data folder %d bytes%n",
+                    writtenBytes, writtenWithSaveBytes, dataFolderBytes);
+            for (String line : stats) {
+                out.println("  " + line);
+            }
+        }
+
+        private String toJson() {
+            StringBuilder json = new StringBuilder(1024);
+            json.append("{\n");
+            json.append("  \"scenario\": \"").append(options.scenario.name().toLowerCase(Locale.ROOT)).append("\",\n");
+            json.append("  \"players\": ").append(options.players).append(",\n");
+            json.append("  \"saints\": ").append(options.saints).append(",\n");
+            json.append("  \"ticks\": ").append(options.ticks).append(",\n");
+            json.append(String.format(Locale.ROOT, "  \"tick_mean_ms\": %.4f,%n", meanMillis()));
+            json.append(String.format(Locale.ROOT, "  \"tick_p50_ms\": %.4f,%n", percentileMillis(0.50)));
+            json.append(String.format(Locale.ROOT, "  \"tick_p90_ms\": %.4f,%n", percentileMillis(0.90)));
+            json.append(String.format(Locale.ROOT, "  \"tick_p99_ms\": %.4f,%n", percentileMillis(0.99)));
+            json.append(String.format(Locale.ROOT, "  \"tick_max_ms\": %.4f,%n", ticks[ticks.length - 1] / 1_000_000.0));
+            json.append("  \"allocated_bytes\": ").append(allocatedBytes).append(",\n");
+            json.append(String.format(Locale.ROOT, "  \"allocation_mb_per_s\": %.2f,%n", allocationRate()));
+            json.append("  \"written_bytes\": ").append(writtenBytes).append(",\n");
+            json.append("  \"written_with_save_bytes\": ").append(writtenWithSaveBytes).append(",\n");
+            json.append("  \"data_folder_bytes\": ").append(dataFolderBytes).append(",\n");
+            json.append("  \"stats\": [");
+            for (int i = 0; i < stats.size(); i++) {
+                json.append(i == 0 ? "\n" : ",\n").append("    \"")
+                        .append(stats.get(i).replace("\\", "\\\\").replace("\"", "\\\"")).append('"');
+            }
+            json.append("\n  ]\n}\n");
+            return json.toString();
+        }
+    }
+}
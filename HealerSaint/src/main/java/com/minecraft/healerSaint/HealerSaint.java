@@ -2,52 +2,218 @@ package com.minecraft.healerSaint;
 
 import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
-import org.bukkit.Material;
-import org.bukkit.Particle;
-import org.bukkit.Sound;
 import org.bukkit.attribute.Attribute;
 import org.bukkit.attribute.AttributeModifier;
-import org.bukkit.enchantments.Enchantment;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.potion.PotionEffect;
 import org.bukkit.potion.PotionEffectType;
 
+import com.minecraft.healerSaint.broadcast.BroadcastDispatcher;
 import com.minecraft.healerSaint.commands.SaintCommand;
+import com.minecraft.healerSaint.config.InvalidSettingsException;
+import com.minecraft.healerSaint.config.Settings;
+import com.minecraft.healerSaint.coordination.SaintCoordinator;
+import com.minecraft.healerSaint.effects.EffectPipeline;
 import com.minecraft.healerSaint.events.HealingListener;
 import com.minecraft.healerSaint.events.PlayerListener;
+import com.minecraft.healerSaint.events.SpatialListener;
+import com.minecraft.healerSaint.items.SaintKit;
+import com.minecraft.healerSaint.load.LoadMonitor;
+import com.minecraft.healerSaint.managers.NameResolver;
 import com.minecraft.healerSaint.managers.SaintManager;
+import com.minecraft.healerSaint.resurrection.ResurrectionQueue;
+import com.minecraft.healerSaint.scheduler.ScheduledTask;
+import com.minecraft.healerSaint.scheduler.TaskScheduler;
+import com.minecraft.healerSaint.spatial.AuraTracker;
+import com.minecraft.healerSaint.spatial.PlayerIndex;
+import com.minecraft.healerSaint.stats.PluginStats;
+import com.minecraft.healerSaint.tasks.AutosaveTask;
+import com.minecraft.healerSaint.tasks.BroadcastTask;
+import com.minecraft.healerSaint.tasks.CooldownExpiryTask;
+import com.minecraft.healerSaint.tasks.EffectFlushTask;
 import com.minecraft.healerSaint.tasks.HealingAuraTask;
+import com.minecraft.healerSaint.tasks.InactivitySweepTask;
+import com.minecraft.healerSaint.tasks.LoadMonitorTask;
+import com.minecraft.healerSaint.tasks.ResurrectionTask;
+import com.minecraft.healerSaint.tasks.SaintAuras;
+import com.minecraft.healerSaint.tasks.StatsDumpTask;
+import com.minecraft.healerSaint.util.NameIndex;
 
-import java.util.ArrayList;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.logging.Level;
 
 public final class HealerSaint extends JavaPlugin {
+    private volatile Settings settings;
+    private final PluginStats stats = new PluginStats();
+    private TaskScheduler scheduler;
+    private SaintCoordinator coordinator;
     private SaintManager saintManager;
-    private HealingAuraTask healingAuraTask;
+    private PlayerIndex playerIndex;
+    private final NameIndex names = new NameIndex();
+    private NameResolver resolver;
+    private AuraTracker auraTracker;
+    private EffectPipeline effects;
+    private BroadcastDispatcher broadcasts;
+    private ResurrectionQueue resurrections;
+    private SaintKit kit;
+    private LoadMonitor loadMonitor;
+    private ScheduledTask healingAuraTask;
+    private ScheduledTask autosaveTask;
+    private ScheduledTask cooldownExpiryTask;
+    private ScheduledTask effectFlushTask;
+    private ScheduledTask statsDumpTask;
+    private ScheduledTask broadcastTask;
+    private ScheduledTask resurrectionTask;
+    private ScheduledTask inactivitySweepTask;
+    private ScheduledTask loadMonitorTask;
+
+    // Per-saint aura tasks, only used on region-threaded servers
+    private SaintAuras saintAuras;
+
+    // The config.yml behind the live settings, null until the first reload
+    private volatile FileConfiguration config;
 
     @Override
     public void onEnable() {
         // Save default config
         saveDefaultConfig();
 
-        // Initialize manager
-        saintManager = new SaintManager(this);
+        // Build settings snapshot
+        try {
+            settings = Settings.load(getConfig());
+        } catch (InvalidSettingsException e) {
+            for (String problem : e.getProblems()) {
+                getLogger().severe("Invalid config.yml: " + problem);
+            }
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+        stats.setEnabled(settings.isStatsEnabled());
+
+        // Pick the scheduler of this server
+        scheduler = TaskScheduler.create(this);
+        if (scheduler.isRegionThreaded()) {
+            getLogger().info("Region-threaded server detected, running auras on the saints' region threads");
+        }
+
+        // Initialize manager, the coordinator first as the manager publishes through it
+        coordinator = new SaintCoordinator(this);
+        try {
+            saintManager = new SaintManager(this);
+        } catch (IllegalStateException e) {
+            getLogger().log(Level.SEVERE, "Could not open the " + settings.getStorageBackend() + " storage!", e);
+            getServer().getPluginManager().disablePlugin(this);
+            return;
+        }
+        kit = new SaintKit(this);
+        coordinator.start(saintManager);
+
+        // Index the stored names of offline players in one sort, online players below override them
+        Map<UUID, String> storedNames = new HashMap<>();
+        saintManager.loadNames(storedNames::put);
+        names.putAllOffline(storedNames);
+        resolver = new NameResolver(this);
 
-        // Register events
+        // Index players already online (e.g. after a reload)
+        playerIndex = new PlayerIndex();
+        auraTracker = new AuraTracker(this);
+        effects = new EffectPipeline(this);
+        broadcasts = new BroadcastDispatcher(this);
+        resurrections = new ResurrectionQueue(this);
+        loadMonitor = new LoadMonitor(this);
+        saintAuras = new SaintAuras(this);
+        for (Player player : getServer().getOnlinePlayers()) {
+            playerIndex.update(player, player.getLocation());
+            names.put(player.getUniqueId(), player.getName(), true);
+            effects.loadPreferences(player);
+            broadcasts.loadPreferences(player);
+        }
+
+        // Expose component state next to the timers and counters
+        stats.gauge("saints", () -> saintManager.getSaints().size());
+        stats.gauge("indexed_players", () -> playerIndex.size());
+        stats.gauge("indexed_names", () -> names.size());
+        stats.gauge("aura_members", () -> auraTracker.size());
+        stats.gauge("aura_load_level", () -> loadMonitor.getLevel());
+        stats.gauge("effects_particles_sent", () -> effects.getSentParticles());
+        stats.gauge("effects_particles_dropped", () -> effects.getDroppedParticles());
+        stats.gauge("effects_particle_packets", () -> effects.getSentPackets());
+        stats.gauge("effects_sounds", () -> effects.getSentSounds());
+        stats.gauge("resurrections_awaiting_respawn", () -> resurrections.getAwaitingRespawn());
+        stats.gauge("resurrections_ready", () -> resurrections.getReady());
+        stats.gauge("broadcasts_delivered", () -> broadcasts.getDelivered());
+        stats.gauge("broadcasts_rate_limited", () -> broadcasts.getRateLimited());
+        stats.gauge("broadcasts_coalesced", () -> broadcasts.getCoalesced());
+        stats.gauge("coordination_received", () -> coordinator.getReceived());
+        stats.gauge("coordination_sent", () -> coordinator.getSent());
+
+        // Register events, the index is only kept on the single main thread
+        if (!scheduler.isRegionThreaded()) {
+            getServer().getPluginManager().registerEvents(new SpatialListener(this), this);
+        }
         getServer().getPluginManager().registerEvents(new PlayerListener(this), this);
         getServer().getPluginManager().registerEvents(new HealingListener(this), this);
 
         // Register commands
         getCommand("saint").setExecutor(new SaintCommand(this));
 
-        // Start healing aura task
-        healingAuraTask = new HealingAuraTask(this);
-        healingAuraTask.runTaskTimer(this, 20L, 20L);
+        if (scheduler.isRegionThreaded()) {
+            // Start the auras of saints already online, later ones start with their effects
+            for (Player player : getServer().getOnlinePlayers()) {
+                if (saintManager.isSaint(player)) {
+                    saintAuras.start(player);
+                }
+            }
+        } else {
+            // Track the auras of saints already online, once every player is indexed
+            for (Player player : getServer().getOnlinePlayers()) {
+                if (saintManager.isSaint(player)) {
+                    auraTracker.addSaint(player);
+                }
+            }
+
+            // Start healing aura task
+            healingAuraTask = scheduler.runGlobalTimer(new HealingAuraTask(this), 1L, 1L);
+
+            // Send queued effects once per tick
+            effectFlushTask = scheduler.runGlobalTimer(new EffectFlushTask(this), 1L, 1L);
+        }
+
+        // Sample the tick duration, the auras shed work under load
+        loadMonitorTask = scheduler.runGlobalTimer(new LoadMonitorTask(this), 1L, 1L);
+
+        // Start write-behind autosave
+        startAutosave();
+
+        // Perform resurrections after their respawn
+        resurrectionTask = scheduler.runGlobalTimer(new ResurrectionTask(this), 1L, 1L);
+
+        // Fan out broadcasts across ticks
+        broadcastTask = scheduler.runGlobalTimer(new BroadcastTask(this), 1L, 1L);
+
+        // Start cooldown eviction
+        cooldownExpiryTask = scheduler.runGlobalTimer(new CooldownExpiryTask(this), 20L, 20L);
+
+        // Demote inactive saints, one registry slice per second
+        inactivitySweepTask = scheduler.runGlobalTimer(new InactivitySweepTask(this), 20L, 20L);
+
+        // Start the optional stats dump
+        startStatsDump();
 
         getLogger().info("HealerSaint plugin has been enabled!");
     }
@@ -57,6 +223,42 @@ public final class HealerSaint extends JavaPlugin {
         if (healingAuraTask != null) {
             healingAuraTask.cancel();
         }
+        if (autosaveTask != null) {
+            autosaveTask.cancel();
+        }
+        if (cooldownExpiryTask != null) {
+            cooldownExpiryTask.cancel();
+        }
+        if (effectFlushTask != null) {
+            effectFlushTask.cancel();
+        }
+        if (statsDumpTask != null) {
+            statsDumpTask.cancel();
+        }
+        if (broadcastTask != null) {
+            broadcastTask.cancel();
+        }
+        if (resurrectionTask != null) {
+            resurrectionTask.cancel();
+        }
+        if (inactivitySweepTask != null) {
+            inactivitySweepTask.cancel();
+        }
+        if (loadMonitorTask != null) {
+            loadMonitorTask.cancel();
+        }
+        if (saintAuras != null) {
+            saintAuras.stopAll();
+        }
+        if (resolver != null) {
+            resolver.shutdown();
+        }
+        if (coordinator != null) {
+            coordinator.shutdown();
+        }
+        if (saintManager != null) {
+            saintManager.shutdown();
+        }
         getLogger().info("HealerSaint plugin has been disabled!");
     }
 
@@ -65,28 +267,188 @@ public final class HealerSaint extends JavaPlugin {
     }
 
     /**
-     * Creates the Saint's Staff item
-     * @return The customized staff item
+     * Get the link to the other servers behind the proxy
+     * @return The coordinator, inactive unless coordination is configured
      */
-    public ItemStack createSaintStaff() {
-        ItemStack staff = new ItemStack(Material.STICK, 1);
-        ItemMeta meta = staff.getItemMeta();
+    public SaintCoordinator getCoordinator() {
+        return coordinator;
+    }
 
-        meta.setDisplayName(ChatColor.GOLD + "" + ChatColor.BOLD + "Saint's Staff");
+    public PlayerIndex getPlayerIndex() {
+        return playerIndex;
+    }
 
-        List<String> lore = new ArrayList<>();
-        lore.add(ChatColor.WHITE + "A blessed staff with healing powers");
-        lore.add(ChatColor.YELLOW + "Right-click on a player to heal them");
-        lore.add(ChatColor.GRAY + "Cooldown: " + getConfig().getInt("healing_hand_cooldown") + " seconds");
+    /**
+     * Get the names of online and known offline players, sorted for tab completion
+     * @return The name index
+     */
+    public NameIndex getNames() {
+        return names;
+    }
 
-        meta.setLore(lore);
-        meta.addEnchant(Enchantment.UNBREAKING, 9999999, true);
-        meta.addEnchant(Enchantment.MENDING, 1, true);
-        meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
+    /**
+     * Get the resolver for names of players who may be offline
+     * @return The name resolver
+     */
+    public NameResolver getNameResolver() {
+        return resolver;
+    }
 
+    /**
+     * Get the aura members of every saint, only kept on standard servers
+     * @return The tracker, empty on region-threaded servers
+     */
+    public AuraTracker getAuraTracker() {
+        return auraTracker;
+    }
+
+    public EffectPipeline getEffects() {
+        return effects;
+    }
+
+    public ResurrectionQueue getResurrections() {
+        return resurrections;
+    }
 
-        staff.setItemMeta(meta);
-        return staff;
+    public BroadcastDispatcher getBroadcasts() {
+        return broadcasts;
+    }
+
+    public LoadMonitor getLoadMonitor() {
+        return loadMonitor;
+    }
+
+    public SaintKit getKit() {
+        return kit;
+    }
+
+    public PluginStats getStats() {
+        return stats;
+    }
+
+    public TaskScheduler getScheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Get the current settings snapshot
+     * @return The live settings
+     */
+    public Settings getSettings() {
+        return settings;
+    }
+
+    /**
+     * Get the config.yml the live settings were built from
+     * @return The configuration
+     */
+    @Override
+    public FileConfiguration getConfig() {
+        FileConfiguration current = config;
+        return current != null ? current : super.getConfig();
+    }
+
+    /**
+     * Reload config.yml and atomically swap in a new settings snapshot.
+     * The file is read into a fresh configuration, so the live configuration and
+     * snapshot are both left untouched if it cannot be read or is invalid.
+     * @return The values that changed
+     * @throws InvalidSettingsException if config.yml cannot be read or contains invalid values
+     */
+    public List<String> reloadSettings() throws InvalidSettingsException {
+        FileConfiguration fresh = readConfig();
+        Settings loaded = Settings.load(fresh);
+        Settings previous = settings;
+        config = fresh;
+        settings = loaded;
+
+        if (loaded.getAutosaveIntervalTicks() != previous.getAutosaveIntervalTicks()) {
+            startAutosave();
+        }
+        stats.setEnabled(loaded.isStatsEnabled());
+        if (loaded.getStatsDumpIntervalTicks() != previous.getStatsDumpIntervalTicks()) {
+            startStatsDump();
+        }
+        if (loaded.getHealingRadius() != previous.getHealingRadius() && !scheduler.isRegionThreaded()) {
+            auraTracker.rebuild();
+        }
+        if (loaded.getAuraPulseIntervalTicks() != previous.getAuraPulseIntervalTicks()) {
+            auraRateChanged();
+        }
+        if (kit.rebuild(loaded)) {
+            upgradeSaintKits();
+        }
+        return loaded.describeChanges(previous);
+    }
+
+    private FileConfiguration readConfig() throws InvalidSettingsException {
+        YamlConfiguration fresh = new YamlConfiguration();
+        try {
+            fresh.load(new File(getDataFolder(), "config.yml"));
+        } catch (IOException | InvalidConfigurationException e) {
+            throw new InvalidSettingsException(Collections.singletonList("config.yml could not be read: " + e.getMessage()));
+        }
+
+        // Keys missing from the file fall back to the bundled config.yml, as with reloadConfig()
+        InputStream defaults = getResource("config.yml");
+        if (defaults != null) {
+            try (Reader reader = new InputStreamReader(defaults, StandardCharsets.UTF_8)) {
+                fresh.setDefaults(YamlConfiguration.loadConfiguration(reader));
+            } catch (IOException e) {
+                getLogger().log(Level.WARNING, "Could not read the bundled config.yml", e);
+            }
+        }
+        return fresh;
+    }
+
+    /**
+     * Apply a new pulse interval. The shared aura task picks it up by itself, the
+     * per-saint auras of region-threaded servers are restarted with it.
+     */
+    public void auraRateChanged() {
+        if (!scheduler.isRegionThreaded()) {
+            return;
+        }
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (saintManager.isSaint(player)) {
+                saintAuras.restart(player);
+            }
+        }
+    }
+
+    private void upgradeSaintKits() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (saintManager.isSaint(player)) {
+                scheduler.runAtEntityLater(player, () -> kit.upgrade(player.getInventory()), 1L);
+            }
+        }
+    }
+
+    private void startAutosave() {
+        if (autosaveTask != null) {
+            autosaveTask.cancel();
+        }
+        long interval = settings.getAutosaveIntervalTicks();
+        autosaveTask = scheduler.runGlobalTimer(new AutosaveTask(this), interval, interval);
+    }
+
+    private void startStatsDump() {
+        if (statsDumpTask != null) {
+            statsDumpTask.cancel();
+            statsDumpTask = null;
+        }
+        long interval = settings.getStatsDumpIntervalTicks();
+        if (interval > 0) {
+            statsDumpTask = scheduler.runGlobalTimer(new StatsDumpTask(this), interval, interval);
+        }
+    }
+
+    /**
+     * Creates the Saint's Staff item
+     * @return The customized staff item
+     */
+    public ItemStack createSaintStaff() {
+        return kit.createStaff();
     }
 
     /**
@@ -94,40 +456,7 @@ public final class HealerSaint extends JavaPlugin {
      * @param player The player to receive the kit
      */
     public void giveSaintKit(Player player) {
-        // Give golden armor with enchantments
-        ItemStack helmet = new ItemStack(Material.DIAMOND_HELMET);
-        ItemStack chestplate = new ItemStack(Material.DIAMOND_CHESTPLATE);
-        ItemStack leggings = new ItemStack(Material.DIAMOND_LEGGINGS);
-        ItemStack boots = new ItemStack(Material.DIAMOND_BOOTS);
-
-        for (ItemStack item : new ItemStack[]{helmet, chestplate, leggings, boots}) {
-            ItemMeta meta = item.getItemMeta();
-            meta.addEnchant(Enchantment.BLAST_PROTECTION, 10, true);
-            meta.addEnchant(Enchantment.PROJECTILE_PROTECTION, 10, true);
-            meta.addEnchant(Enchantment.PROTECTION, 10, true);
-            meta.addEnchant(Enchantment.UNBREAKING, 1, true);
-            meta.addEnchant(Enchantment.MENDING, 1, true);
-            meta.addItemFlags(ItemFlag.HIDE_ENCHANTS);
-            meta.addItemFlags(ItemFlag.HIDE_ATTRIBUTES);
-            meta.addItemFlags(ItemFlag.HIDE_UNBREAKABLE);
-            meta.addItemFlags(ItemFlag.HIDE_ARMOR_TRIM);
-
-            List<String> lore = new ArrayList<>();
-            lore.add(ChatColor.WHITE + "Healer's Robe");
-            lore.add(ChatColor.GOLD + "Blessed by the GODS");
-            lore.add(ChatColor.GOLD + "Armor of the Saint");
-
-            meta.setLore(lore);
-            item.setItemMeta(meta);
-        }
-
-        player.getInventory().addItem(helmet, chestplate, leggings, boots);
-
-        // Give saint's staff
-        player.getInventory().addItem(createSaintStaff());
-
-        // Give golden apples
-        player.getInventory().addItem(new ItemStack(Material.GOLDEN_APPLE, 64));
+        kit.give(player);
         player.addPotionEffect(new PotionEffect(PotionEffectType.ABSORPTION, 2000, 1, false, false));
         player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 2000, 1, false, false));
     }
@@ -137,21 +466,24 @@ public final class HealerSaint extends JavaPlugin {
      * @param player The new Healer Saint
      */
     public void announceSaint(Player player) {
+        announceSaint(player.getName());
+    }
+
+    /**
+     * Broadcasts a server-wide announcement about the new Saint, who may be offline
+     * @param name The new Healer Saint's name
+     */
+    public void announceSaint(String name) {
         String message = "\n" +
                 ChatColor.GOLD + "★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★\n" +
                 ChatColor.WHITE + "   🌟 " + ChatColor.GOLD + "A MIRACLE HAS HAPPENED!" + ChatColor.WHITE + " 🌟\n" +
-                ChatColor.YELLOW + "   " + player.getName() + " has been chosen as the " +
+                ChatColor.YELLOW + "   " + name + " has been chosen as the " +
                 ChatColor.GOLD + "HEALER SAINT" + ChatColor.YELLOW + "!\n" +
                 ChatColor.WHITE + "   Their holy powers will aid the server!\n" +
                 ChatColor.GOLD + "★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★★\n";
 
-        Bukkit.broadcastMessage(message);
-
-        // Play sound for all players
-        for (Player p : Bukkit.getOnlinePlayers()) {
-            p.playSound(p.getLocation(), Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 1.0f);
-            p.spawnParticle(Particle.TOTEM_OF_UNDYING, p.getLocation().add(0, 1, 0), 50, 0.5, 1, 0.5, 0.1);
-        }
+        // Sent to every player with the celebration sound and particles, spread over a few ticks
+        broadcasts.announce(message);
     }
 
     /**
@@ -163,6 +495,13 @@ public final class HealerSaint extends JavaPlugin {
         player.addPotionEffect(new PotionEffect(PotionEffectType.GLOWING, 86400, 0, false, false));
         player.addPotionEffect(new PotionEffect(PotionEffectType.REGENERATION, 86400, 3, false, false));
         player.addPotionEffect(new PotionEffect(PotionEffectType.ABSORPTION, 86400, 3, false, false));
+
+        // On region-threaded servers the aura follows the saint's region
+        if (scheduler.isRegionThreaded()) {
+            saintAuras.start(player);
+        } else {
+            auraTracker.addSaint(player);
+        }
     }
 
     /**
@@ -174,5 +513,11 @@ public final class HealerSaint extends JavaPlugin {
         player.removePotionEffect(PotionEffectType.GLOWING);
         player.removePotionEffect(PotionEffectType.ABSORPTION);
         player.removePotionEffect(PotionEffectType.REGENERATION);
+
+        if (scheduler.isRegionThreaded()) {
+            saintAuras.stop(player);
+        } else {
+            auraTracker.removeSaint(player);
+        }
     }
 }
\ No newline at end of file
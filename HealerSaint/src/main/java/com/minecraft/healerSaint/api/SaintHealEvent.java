@@ -0,0 +1,105 @@
+package com.minecraft.healerSaint.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * Called before a saint heals one or more players. An aura pulse heals all of its
+ * targets in one event, so the targets and amounts are carried as arrays instead of
+ * one event per player.
+ * <p>
+ * The arrays belong to the plugin and are reused for the next pulse: read them
+ * during the call, only the first {@link #size()} entries are valid, and copy what
+ * has to be kept. Set an amount to 0 to skip one target, cancel to skip them all.
+ * The event is only constructed while at least one listener is registered.
+ */
+public class SaintHealEvent extends Event implements Cancellable {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    /**
+     * What caused the heal
+     */
+    public enum Source {
+        /** One pulse of a saint's healing aura */
+        AURA,
+        /** A saint right-clicked a player with the staff */
+        HEALING_HAND
+    }
+
+    private final Player saint;
+    private final Source source;
+    private final Player[] targets;
+    private final double[] amounts;
+    private final int size;
+    private boolean cancelled;
+
+    public SaintHealEvent(Player saint, Source source, Player[] targets, double[] amounts, int size) {
+        this.saint = saint;
+        this.source = source;
+        this.targets = targets;
+        this.amounts = amounts;
+        this.size = size;
+    }
+
+    public Player getSaint() {
+        return saint;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * Number of valid entries in the target and amount arrays
+     * @return The number of players about to be healed
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The players about to be healed
+     * @return The targets, valid up to {@link #size()}
+     */
+    public Player[] getTargets() {
+        return targets;
+    }
+
+    /**
+     * Health each target is about to receive, at the same index as its target.
+     * Writes to the array change the heal.
+     * @return The amounts in half hearts, valid up to {@link #size()}
+     */
+    public double[] getAmounts() {
+        return amounts;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Whether anybody listens, checked before building an event
+     * @return true if at least one listener is registered
+     */
+    public static boolean hasListeners() {
+        return HANDLERS.getRegisteredListeners().length > 0;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,77 @@
+package com.minecraft.healerSaint.api;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.Cancellable;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+import org.bukkit.inventory.ItemStack;
+
+import java.util.List;
+
+/**
+ * Called when a saint grants a resurrection to a player that just died, before the
+ * cooldown starts. The saved items are given back once the player respawned; they are
+ * taken from the drops, and put back into the drops if the event is cancelled.
+ * The event is only constructed while at least one listener is registered.
+ */
+public class SaintResurrectEvent extends Event implements Cancellable {
+    private static final HandlerList HANDLERS = new HandlerList();
+
+    private final Player player;
+    private final Player saint;
+    private final List<ItemStack> savedItems;
+    private boolean cancelled;
+
+    public SaintResurrectEvent(Player player, Player saint, List<ItemStack> savedItems) {
+        this.player = player;
+        this.saint = saint;
+        this.savedItems = savedItems;
+    }
+
+    /**
+     * The player being resurrected
+     * @return The dead player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    public Player getSaint() {
+        return saint;
+    }
+
+    /**
+     * Items given back after the respawn. The list may be changed.
+     * @return The mutable list of saved items
+     */
+    public List<ItemStack> getSavedItems() {
+        return savedItems;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void setCancelled(boolean cancelled) {
+        this.cancelled = cancelled;
+    }
+
+    /**
+     * Whether anybody listens, checked before building an event
+     * @return true if at least one listener is registered
+     */
+    public static boolean hasListeners() {
+        return HANDLERS.getRegisteredListeners().length > 0;
+    }
+
+    @Override
+    public HandlerList getHandlers() {
+        return HANDLERS;
+    }
+
+    public static HandlerList getHandlerList() {
+        return HANDLERS;
+    }
+}
@@ -0,0 +1,282 @@
+package com.minecraft.healerSaint.broadcast;
+
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataType;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.config.Settings;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Sends server-wide messages spread over several ticks: each tick only a fixed
+ * number of players receive a message. Resurrections by the same saint within
+ * the coalesce window are merged into one message, players can mute broadcasts,
+ * and each player receives a limited number of miracle messages per minute.
+ * The celebration of an announcement follows its message at the pace the
+ * particle budget allows, so no player's celebration is dropped by the budget.
+ * Broadcasts may be submitted from any thread; {@link #tick()} runs on a single
+ * (global) thread.
+ */
+public class BroadcastDispatcher {
+    private static final long RATE_WINDOW_TICKS = 60 * 20L;
+    private static final int MAX_NAMED = 3;
+    private static final int CELEBRATION_PARTICLES = 50;
+
+    private final HealerSaint plugin;
+    private final NamespacedKey mutedKey;
+    private final Set<UUID> mutedPlayers = ConcurrentHashMap.newKeySet();
+    private final Queue<Object> submitted = new ConcurrentLinkedQueue<>();
+
+    // Only touched by tick()
+    private final Map<UUID, Miracles> miracles = new LinkedHashMap<>();
+    private final Queue<Broadcast> active = new ArrayDeque<>();
+    private final Map<UUID, Integer> received = new HashMap<>();
+    private final Queue<Player> celebrations = new ArrayDeque<>();
+    private long tick;
+    private long windowStart;
+
+    private long delivered;
+    private long rateLimited;
+    private long coalesced;
+
+    public BroadcastDispatcher(HealerSaint plugin) {
+        this.plugin = plugin;
+        this.mutedKey = new NamespacedKey(plugin, "muted_broadcasts");
+    }
+
+    /**
+     * Announce something to every player, with the celebration sound and particles.
+     * Announcements are never rate limited.
+     * @param message The message to send
+     */
+    public void announce(String message) {
+        submitted.add(new Broadcast(message, true));
+    }
+
+    /**
+     * Report a resurrection. It is sent once the coalesce window closes, together
+     * with the other resurrections the saint performed in the meantime.
+     * @param saint The saint that performed the miracle
+     * @param resurrected The resurrected player
+     */
+    public void miracle(Player saint, Player resurrected) {
+        submitted.add(new Miracle(saint.getUniqueId(), saint.getName(), resurrected.getName()));
+    }
+
+    /**
+     * Start the broadcasts submitted since the last tick and send the next chunk
+     */
+    public void tick() {
+        tick++;
+        Settings settings = plugin.getSettings();
+
+        Object request;
+        while ((request = submitted.poll()) != null) {
+            if (request instanceof Broadcast) {
+                start((Broadcast) request);
+            } else {
+                Miracle miracle = (Miracle) request;
+                Miracles pending = miracles.get(miracle.saint);
+                if (pending == null) {
+                    miracles.put(miracle.saint, new Miracles(miracle, tick));
+                } else {
+                    pending.add(miracle);
+                    coalesced++;
+                }
+            }
+        }
+
+        // Send the miracles whose window closed
+        long window = settings.getBroadcastCoalesceTicks();
+        Iterator<Miracles> pending = miracles.values().iterator();
+        while (pending.hasNext()) {
+            Miracles saintMiracles = pending.next();
+            if (tick - saintMiracles.firstTick >= window) {
+                start(new Broadcast(saintMiracles.describe(), false));
+                pending.remove();
+            }
+        }
+
+        if (tick - windowStart >= RATE_WINDOW_TICKS) {
+            received.clear();
+            windowStart = tick;
+        }
+
+        int budget = settings.getBroadcastChunkSize();
+        while (budget > 0 && !active.isEmpty()) {
+            Broadcast broadcast = active.peek();
+            while (budget > 0 && broadcast.next < broadcast.recipients.length) {
+                deliver(broadcast, broadcast.recipients[broadcast.next++], settings);
+                budget--;
+            }
+            if (broadcast.next == broadcast.recipients.length) {
+                active.poll();
+            }
+        }
+
+        // Celebrations take at most half the particle budget, the rest is left to the auras
+        int celebrate = Math.max(1, settings.getEffectsParticleBudget() / 2 / CELEBRATION_PARTICLES);
+        Player player;
+        while (celebrate-- > 0 && (player = celebrations.poll()) != null) {
+            if (plugin.getScheduler().isRegionThreaded()) {
+                // The player's location may only be read on its own region thread
+                Player celebrated = player;
+                plugin.getScheduler().runAtEntityLater(celebrated, () -> celebrate(celebrated), 1L);
+            } else if (player.isOnline()) {
+                celebrate(player);
+            }
+        }
+    }
+
+    public boolean isMuted(Player player) {
+        return mutedPlayers.contains(player.getUniqueId());
+    }
+
+    /**
+     * Change a player's broadcast preference. It is stored on the player, so it survives relogs.
+     * @param player The player to update
+     * @param muted true to stop receiving broadcasts
+     */
+    public void setMuted(Player player, boolean muted) {
+        if (muted) {
+            mutedPlayers.add(player.getUniqueId());
+            player.getPersistentDataContainer().set(mutedKey, PersistentDataType.BYTE, (byte) 1);
+        } else {
+            mutedPlayers.remove(player.getUniqueId());
+            player.getPersistentDataContainer().remove(mutedKey);
+        }
+    }
+
+    /**
+     * Cache the stored preference of a player that joined
+     * @param player The player that joined
+     */
+    public void loadPreferences(Player player) {
+        if (player.getPersistentDataContainer().has(mutedKey, PersistentDataType.BYTE)) {
+            mutedPlayers.add(player.getUniqueId());
+        }
+    }
+
+    public void forgetPreferences(Player player) {
+        mutedPlayers.remove(player.getUniqueId());
+    }
+
+    public long getDelivered() {
+        return delivered;
+    }
+
+    public long getRateLimited() {
+        return rateLimited;
+    }
+
+    public long getCoalesced() {
+        return coalesced;
+    }
+
+    private void start(Broadcast broadcast) {
+        // Players joining during the fan-out miss this broadcast, like a chat message sent before they joined
+        broadcast.recipients = Bukkit.getOnlinePlayers().toArray(new Player[0]);
+        Bukkit.getConsoleSender().sendMessage(broadcast.message);
+        active.add(broadcast);
+    }
+
+    private void deliver(Broadcast broadcast, Player player, Settings settings) {
+        if (!player.isOnline() || mutedPlayers.contains(player.getUniqueId())) {
+            return;
+        }
+
+        int limit = settings.getBroadcastRateLimit();
+        if (!broadcast.announcement && limit > 0) {
+            int count = received.getOrDefault(player.getUniqueId(), 0);
+            if (count >= limit) {
+                rateLimited++;
+                return;
+            }
+            received.put(player.getUniqueId(), count + 1);
+        }
+
+        player.sendMessage(broadcast.message);
+        delivered++;
+
+        if (broadcast.announcement) {
+            celebrations.add(player);
+        }
+    }
+
+    private void celebrate(Player player) {
+        plugin.getEffects().playSound(player, Sound.UI_TOAST_CHALLENGE_COMPLETE, 1.0f, 1.0f);
+        plugin.getEffects().spawnFor(player, Particle.TOTEM_OF_UNDYING, player.getLocation().add(0, 1, 0),
+                CELEBRATION_PARTICLES, 0.5, 1, 0.5, 0.1);
+    }
+
+    private static final class Broadcast {
+        private final String message;
+        private final boolean announcement;
+        private Player[] recipients;
+        private int next;
+
+        private Broadcast(String message, boolean announcement) {
+            this.message = message;
+            this.announcement = announcement;
+        }
+    }
+
+    private static final class Miracle {
+        private final UUID saint;
+        private final String saintName;
+        private final String resurrectedName;
+
+        private Miracle(UUID saint, String saintName, String resurrectedName) {
+            this.saint = saint;
+            this.saintName = saintName;
+            this.resurrectedName = resurrectedName;
+        }
+    }
+
+    private static final class Miracles {
+        private final String saintName;
+        private final long firstTick;
+        private final List<String> names = new ArrayList<>();
+
+        private Miracles(Miracle first, long firstTick) {
+            this.saintName = first.saintName;
+            this.firstTick = firstTick;
+            names.add(first.resurrectedName);
+        }
+
+        private void add(Miracle miracle) {
+            names.add(miracle.resurrectedName);
+        }
+
+        private String describe() {
+            String resurrected;
+            if (names.size() == 1) {
+                resurrected = names.get(0);
+            } else if (names.size() <= MAX_NAMED) {
+                resurrected = String.join(", ", names.subList(0, names.size() - 1)) + " and " + names.get(names.size() - 1);
+            } else {
+                resurrected = names.size() + " players";
+            }
+            String performed = names.size() == 1 ? "has performed a miracle" : "has performed " + names.size() + " miracles";
+            return ChatColor.GOLD + "✝ " + ChatColor.YELLOW + "Saint " + saintName + " " + performed
+                    + ", resurrecting " + resurrected + "! ✝";
+        }
+    }
+}
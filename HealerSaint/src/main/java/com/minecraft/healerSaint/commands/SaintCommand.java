@@ -9,10 +9,15 @@ import org.bukkit.command.TabCompleter;
 import org.bukkit.entity.Player;
 
 import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.config.InvalidSettingsException;
+import com.minecraft.healerSaint.load.LoadMonitor;
+import com.minecraft.healerSaint.stats.PluginStats;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -25,6 +30,16 @@ public class SaintCommand implements CommandExecutor, TabCompleter {
 
     @Override
     public boolean onCommand(CommandSender sender, Command command, String label, String[] args) {
+        // Effect and broadcast preferences are open to every player
+        if (args.length > 0 && args[0].equalsIgnoreCase("effects")) {
+            handleEffects(sender, args);
+            return true;
+        }
+        if (args.length > 0 && args[0].equalsIgnoreCase("broadcasts")) {
+            handleBroadcasts(sender, args);
+            return true;
+        }
+
         // Check if sender has permission
         if (!sender.hasPermission("saint.admin")) {
             sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
@@ -40,9 +55,25 @@ public class SaintCommand implements CommandExecutor, TabCompleter {
         // Handle subcommands
         switch (args[0].toLowerCase()) {
             case "reload":
-                plugin.reloadConfig();
+                List<String> changes;
+                try {
+                    changes = plugin.reloadSettings();
+                } catch (InvalidSettingsException e) {
+                    sender.sendMessage(ChatColor.RED + "Invalid config.yml, keeping the current settings:");
+                    for (String problem : e.getProblems()) {
+                        sender.sendMessage(ChatColor.RED + " - " + problem);
+                    }
+                    return true;
+                }
+
                 plugin.getSaintManager().reloadData();
                 sender.sendMessage(ChatColor.GREEN + "HealerSaint config reloaded!");
+                if (changes.isEmpty()) {
+                    sender.sendMessage(ChatColor.GRAY + "No settings changed.");
+                }
+                for (String change : changes) {
+                    sender.sendMessage(ChatColor.YELLOW + " - " + change);
+                }
                 return true;
 
             case "give":
@@ -51,14 +82,15 @@ public class SaintCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
 
-                Player target = Bukkit.getPlayer(args[1]);
-                if (target == null) {
-                    sender.sendMessage(ChatColor.RED + "Player not found: " + args[1]);
-                    return true;
+                Player target = Bukkit.getPlayerExact(args[1]);
+                if (target != null) {
+                    // The kit and effects may only be changed on the target's own thread
+                    plugin.getScheduler().runAtEntityLater(target, () -> give(sender, target), 1L);
+                } else {
+                    // Offline players are looked up off the main thread
+                    String name = args[1];
+                    plugin.getNameResolver().resolve(name).thenAccept(uuid -> giveOffline(sender, name, uuid));
                 }
-
-                plugin.getSaintManager().setSaint(target);
-                sender.sendMessage(ChatColor.GREEN + target.getName() + " is now the Healer Saint!");
                 return true;
 
             case "remove":
@@ -67,29 +99,50 @@ public class SaintCommand implements CommandExecutor, TabCompleter {
                     return true;
                 }
 
-                Player removeTarget = Bukkit.getPlayer(args[1]);
-                if (removeTarget == null) {
-                    sender.sendMessage(ChatColor.RED + "Player not found: " + args[1]);
-                    return true;
-                }
-
-                if (!plugin.getSaintManager().isSaint(removeTarget)) {
-                    sender.sendMessage(ChatColor.RED + removeTarget.getName() + " is not a Healer Saint!");
-                    return true;
+                Player removeTarget = Bukkit.getPlayerExact(args[1]);
+                if (removeTarget != null) {
+                    plugin.getScheduler().runAtEntityLater(removeTarget, () -> remove(sender, removeTarget), 1L);
+                } else {
+                    String name = args[1];
+                    plugin.getNameResolver().resolve(name).thenAccept(uuid -> removeOffline(sender, name, uuid));
                 }
-
-                plugin.getSaintManager().removeSaint(removeTarget);
-                sender.sendMessage(ChatColor.GREEN + "Removed " + removeTarget.getName() + " from being a Healer Saint.");
                 return true;
 
             case "info":
-                UUID currentSaintUUID = plugin.getSaintManager().getCurrentSaint();
-                if (currentSaintUUID == null) {
+                Set<UUID> saints = plugin.getSaintManager().getSaints();
+                if (saints.isEmpty()) {
                     sender.sendMessage(ChatColor.YELLOW + "There is currently no Healer Saint on the server.");
                 } else {
-                    Player saint = Bukkit.getPlayer(currentSaintUUID);
-                    String saintName = saint != null ? saint.getName() : "Offline Saint (" + currentSaintUUID + ")";
-                    sender.sendMessage(ChatColor.GOLD + "Current Healer Saint: " + ChatColor.YELLOW + saintName);
+                    sender.sendMessage(ChatColor.GOLD + "Current Healer Saints (" + saints.size() + "):");
+                    for (UUID saintUUID : saints) {
+                        Player saint = Bukkit.getPlayer(saintUUID);
+                        String saintName;
+                        if (saint != null) {
+                            saintName = saint.getName();
+                        } else {
+                            // Unknown names are looked up in the background for the next /saint info
+                            String lastName = plugin.getNameResolver().getName(saintUUID);
+                            saintName = lastName != null ? lastName + ChatColor.GRAY + " (offline)" : "Offline Saint (" + saintUUID + ")";
+                        }
+                        sender.sendMessage(ChatColor.YELLOW + " - " + saintName);
+                    }
+                }
+                LoadMonitor load = plugin.getLoadMonitor();
+                sender.sendMessage(ChatColor.GOLD + "Aura load: " + ChatColor.YELLOW + load.getLevelName()
+                        + String.format(Locale.ROOT, " (level %d, %.1f MSPT)", load.getLevel(), load.getMspt()));
+                return true;
+
+            case "stats":
+                PluginStats stats = plugin.getStats();
+                if (args.length > 1 && args[1].equalsIgnoreCase("reset")) {
+                    stats.reset();
+                    sender.sendMessage(ChatColor.GREEN + "HealerSaint stats reset.");
+                    return true;
+                }
+
+                sender.sendMessage(ChatColor.GOLD + "HealerSaint stats (" + (stats.isEnabled() ? "enabled" : "disabled, set stats_enabled") + "):");
+                for (String line : stats.summary()) {
+                    sender.sendMessage(ChatColor.YELLOW + " - " + line);
                 }
                 return true;
 
@@ -99,31 +152,203 @@ public class SaintCommand implements CommandExecutor, TabCompleter {
         }
     }
 
+    private void give(CommandSender sender, Player target) {
+        if (plugin.getSaintManager().isSaint(target)) {
+            sender.sendMessage(ChatColor.RED + target.getName() + " is already a Healer Saint!");
+            return;
+        }
+
+        plugin.getSaintManager().setSaint(target);
+        sender.sendMessage(ChatColor.GREEN + target.getName() + " is now a Healer Saint!");
+    }
+
+    private void giveOffline(CommandSender sender, String name, UUID uuid) {
+        if (sender instanceof Player && !((Player) sender).isOnline()) {
+            return;
+        }
+        if (uuid == null) {
+            sender.sendMessage(ChatColor.RED + "Player not found: " + name);
+            return;
+        }
+
+        // The player may have joined during the lookup, then the kit is given on their own thread
+        Player target = Bukkit.getPlayer(uuid);
+        if (target != null) {
+            plugin.getScheduler().runAtEntityLater(target, () -> give(sender, target), 1L);
+            return;
+        }
+
+        String targetName = knownName(uuid, name);
+        if (plugin.getSaintManager().isSaint(uuid)) {
+            sender.sendMessage(ChatColor.RED + targetName + " is already a Healer Saint!");
+            return;
+        }
+
+        plugin.getSaintManager().setSaint(uuid, targetName);
+        sender.sendMessage(ChatColor.GREEN + targetName + " is now a Healer Saint! "
+                + ChatColor.GRAY + "They receive the kit at their next login.");
+    }
+
+    private void remove(CommandSender sender, Player target) {
+        if (!plugin.getSaintManager().isSaint(target)) {
+            sender.sendMessage(ChatColor.RED + target.getName() + " is not a Healer Saint!");
+            return;
+        }
+
+        plugin.getSaintManager().removeSaint(target);
+        sender.sendMessage(ChatColor.GREEN + "Removed " + target.getName() + " from being a Healer Saint.");
+    }
+
+    private void removeOffline(CommandSender sender, String name, UUID uuid) {
+        if (sender instanceof Player && !((Player) sender).isOnline()) {
+            return;
+        }
+        if (uuid == null) {
+            sender.sendMessage(ChatColor.RED + "Player not found: " + name);
+            return;
+        }
+
+        Player target = Bukkit.getPlayer(uuid);
+        if (target != null) {
+            plugin.getScheduler().runAtEntityLater(target, () -> remove(sender, target), 1L);
+            return;
+        }
+
+        String targetName = knownName(uuid, name);
+        if (!plugin.getSaintManager().removeSaint(uuid)) {
+            sender.sendMessage(ChatColor.RED + targetName + " is not a Healer Saint!");
+            return;
+        }
+        sender.sendMessage(ChatColor.GREEN + "Removed " + targetName + " from being a Healer Saint. "
+                + ChatColor.GRAY + "They are told at their next login.");
+    }
+
+    /**
+     * @return The resolved name in its proper case, or the name as typed
+     */
+    private String knownName(UUID uuid, String typed) {
+        String name = plugin.getNames().getName(uuid);
+        return name != null ? name : typed;
+    }
+
+    private void handleEffects(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(ChatColor.RED + "Only players can change their effect settings.");
+            return;
+        }
+        if (!sender.hasPermission("saint.effects")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return;
+        }
+
+        Player player = (Player) sender;
+        if (args.length < 2) {
+            boolean reduced = plugin.getEffects().hasReducedEffects(player);
+            player.sendMessage(ChatColor.GOLD + "Saint effects: " + ChatColor.YELLOW + (reduced ? "reduced" : "full"));
+            player.sendMessage(ChatColor.GRAY + "Usage: /saint effects <full|reduced>");
+            return;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "reduced":
+                plugin.getEffects().setReducedEffects(player, true);
+                player.sendMessage(ChatColor.GREEN + "You will now see fewer Saint particles.");
+                break;
+            case "full":
+                plugin.getEffects().setReducedEffects(player, false);
+                player.sendMessage(ChatColor.GREEN + "You will now see all Saint particles.");
+                break;
+            default:
+                player.sendMessage(ChatColor.RED + "Usage: /saint effects <full|reduced>");
+        }
+    }
+
+    private void handleBroadcasts(CommandSender sender, String[] args) {
+        if (!(sender instanceof Player)) {
+            sender.sendMessage(ChatColor.RED + "Only players can change their broadcast settings.");
+            return;
+        }
+        if (!sender.hasPermission("saint.effects")) {
+            sender.sendMessage(ChatColor.RED + "You don't have permission to use this command.");
+            return;
+        }
+
+        Player player = (Player) sender;
+        if (args.length < 2) {
+            boolean muted = plugin.getBroadcasts().isMuted(player);
+            player.sendMessage(ChatColor.GOLD + "Saint broadcasts: " + ChatColor.YELLOW + (muted ? "off" : "on"));
+            player.sendMessage(ChatColor.GRAY + "Usage: /saint broadcasts <on|off>");
+            return;
+        }
+
+        switch (args[1].toLowerCase()) {
+            case "off":
+                plugin.getBroadcasts().setMuted(player, true);
+                player.sendMessage(ChatColor.GREEN + "You will no longer receive Saint announcements and miracles.");
+                break;
+            case "on":
+                plugin.getBroadcasts().setMuted(player, false);
+                player.sendMessage(ChatColor.GREEN + "You will now receive Saint announcements and miracles.");
+                break;
+            default:
+                player.sendMessage(ChatColor.RED + "Usage: /saint broadcasts <on|off>");
+        }
+    }
+
     private void showHelp(CommandSender sender) {
         sender.sendMessage(ChatColor.GOLD + "=== HealerSaint Commands ===");
         sender.sendMessage(ChatColor.YELLOW + "/saint reload " + ChatColor.WHITE + "- Reload the plugin configuration");
-        sender.sendMessage(ChatColor.YELLOW + "/saint give <player> " + ChatColor.WHITE + "- Make a player the Healer Saint");
-        sender.sendMessage(ChatColor.YELLOW + "/saint remove <player> " + ChatColor.WHITE + "- Remove a player's Saint status");
-        sender.sendMessage(ChatColor.YELLOW + "/saint info " + ChatColor.WHITE + "- Show who is the current Healer Saint");
+        sender.sendMessage(ChatColor.YELLOW + "/saint give <player> " + ChatColor.WHITE + "- Make a player the Healer Saint, online or not");
+        sender.sendMessage(ChatColor.YELLOW + "/saint remove <player> " + ChatColor.WHITE + "- Remove a player's Saint status, online or not");
+        sender.sendMessage(ChatColor.YELLOW + "/saint info " + ChatColor.WHITE + "- Show the current Healer Saints and aura load");
+        sender.sendMessage(ChatColor.YELLOW + "/saint stats [reset] " + ChatColor.WHITE + "- Show or reset the performance stats");
+        sender.sendMessage(ChatColor.YELLOW + "/saint effects <full|reduced> " + ChatColor.WHITE + "- Choose how many Saint particles you see");
+        sender.sendMessage(ChatColor.YELLOW + "/saint broadcasts <on|off> " + ChatColor.WHITE + "- Mute or unmute Saint announcements and miracles");
     }
 
     @Override
     public List<String> onTabComplete(CommandSender sender, Command command, String alias, String[] args) {
         if (!sender.hasPermission("saint.admin")) {
+            if (args.length == 1) {
+                return Arrays.asList("effects", "broadcasts").stream()
+                        .filter(s -> s.startsWith(args[0].toLowerCase()))
+                        .collect(Collectors.toList());
+            }
+            if (args.length == 2 && args[0].equalsIgnoreCase("effects")) {
+                return Arrays.asList("full", "reduced").stream()
+                        .filter(s -> s.startsWith(args[1].toLowerCase()))
+                        .collect(Collectors.toList());
+            }
+            if (args.length == 2 && args[0].equalsIgnoreCase("broadcasts")) {
+                return Arrays.asList("on", "off").stream()
+                        .filter(s -> s.startsWith(args[1].toLowerCase()))
+                        .collect(Collectors.toList());
+            }
             return new ArrayList<>();
         }
 
         if (args.length == 1) {
-            return Arrays.asList("reload", "give", "remove", "info").stream()
+            return Arrays.asList("reload", "give", "remove", "info", "stats", "effects", "broadcasts").stream()
                     .filter(s -> s.startsWith(args[0].toLowerCase()))
                     .collect(Collectors.toList());
         } else if (args.length == 2) {
-            if (args[0].equalsIgnoreCase("give") || args[0].equalsIgnoreCase("remove")) {
-                return Bukkit.getOnlinePlayers().stream()
-                        .map(Player::getName)
-                        .filter(name -> name.toLowerCase().startsWith(args[1].toLowerCase()))
+            if (args[0].equalsIgnoreCase("effects")) {
+                return Arrays.asList("full", "reduced").stream()
+                        .filter(s -> s.startsWith(args[1].toLowerCase()))
                         .collect(Collectors.toList());
             }
+            if (args[0].equalsIgnoreCase("broadcasts")) {
+                return Arrays.asList("on", "off").stream()
+                        .filter(s -> s.startsWith(args[1].toLowerCase()))
+                        .collect(Collectors.toList());
+            }
+            if (args[0].equalsIgnoreCase("stats")) {
+                return "reset".startsWith(args[1].toLowerCase()) ? Arrays.asList("reset") : new ArrayList<>();
+            }
+            if (args[0].equalsIgnoreCase("give") || args[0].equalsIgnoreCase("remove")) {
+                // Range query on the sorted, already lowercased names
+                return plugin.getNames().complete(args[1], false);
+            }
         }
 
         return new ArrayList<>();
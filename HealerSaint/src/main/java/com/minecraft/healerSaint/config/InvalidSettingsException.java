@@ -0,0 +1,20 @@
+package com.minecraft.healerSaint.config;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Thrown when config.yml contains values that cannot be turned into {@link Settings}
+ */
+public class InvalidSettingsException extends Exception {
+    private final List<String> problems;
+
+    public InvalidSettingsException(List<String> problems) {
+        super(String.join("; ", problems));
+        this.problems = Collections.unmodifiableList(problems);
+    }
+
+    public List<String> getProblems() {
+        return problems;
+    }
+}
@@ -0,0 +1,154 @@
+package com.minecraft.healerSaint.config;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, validated definition of one item of the saint kit (a "kit.<id>" section).
+ * The version is derived from every property, so it changes whenever the item does.
+ */
+public final class KitItemSettings {
+    private final String id;
+    private final Material material;
+    private final int amount;
+    private final String name;
+    private final List<String> lore;
+    private final Map<Enchantment, Integer> enchants;
+    private final Set<ItemFlag> flags;
+    private final int version;
+
+    /**
+     * @param id The key of the item under "kit"
+     * @param section The item's section
+     * @param placeholders Values substituted for "{key}" in the name and lore
+     * @param problems Receives one line per invalid value
+     */
+    KitItemSettings(String id, ConfigurationSection section, Map<String, String> placeholders, List<String> problems) {
+        this.id = id;
+        String path = "kit." + id;
+        StringBuilder canonical = new StringBuilder(id);
+
+        String materialName = section.getString("material", "");
+        material = Material.matchMaterial(materialName);
+        if (material == null) {
+            problems.add(path + ".material is not a valid material: " + materialName);
+        }
+        canonical.append('|').append(material);
+
+        amount = section.getInt("amount", 1);
+        if (amount < 1 || amount > 64) {
+            problems.add(path + ".amount must be between 1 and 64");
+        }
+        canonical.append('|').append(amount);
+
+        String rawName = section.getString("name");
+        name = rawName == null ? null : format(rawName, placeholders);
+        canonical.append('|').append(name);
+
+        List<String> lines = new ArrayList<>();
+        for (String line : section.getStringList("lore")) {
+            lines.add(format(line, placeholders));
+        }
+        lore = Collections.unmodifiableList(lines);
+        canonical.append('|').append(lore);
+
+        Map<Enchantment, Integer> enchantMap = new LinkedHashMap<>();
+        ConfigurationSection enchantSection = section.getConfigurationSection("enchants");
+        if (enchantSection != null) {
+            for (String key : enchantSection.getKeys(false)) {
+                Enchantment enchantment = Registry.ENCHANTMENT.get(NamespacedKey.minecraft(key.toLowerCase(Locale.ROOT)));
+                int level = enchantSection.getInt(key);
+                if (enchantment == null) {
+                    problems.add(path + ".enchants." + key + " is not a valid enchantment");
+                } else if (level < 1) {
+                    problems.add(path + ".enchants." + key + " must be at least 1");
+                } else {
+                    enchantMap.put(enchantment, level);
+                    canonical.append('|').append(key.toLowerCase(Locale.ROOT)).append('=').append(level);
+                }
+            }
+        }
+        enchants = Collections.unmodifiableMap(enchantMap);
+
+        Set<ItemFlag> flagSet = EnumSet.noneOf(ItemFlag.class);
+        for (String flag : section.getStringList("flags")) {
+            try {
+                flagSet.add(ItemFlag.valueOf(flag.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                problems.add(path + ".flags contains an invalid flag: " + flag);
+            }
+        }
+        flags = Collections.unmodifiableSet(flagSet);
+        canonical.append('|').append(flags);
+
+        version = canonical.toString().hashCode();
+    }
+
+    private static String format(String text, Map<String, String> placeholders) {
+        for (Map.Entry<String, String> placeholder : placeholders.entrySet()) {
+            text = text.replace("{" + placeholder.getKey() + "}", placeholder.getValue());
+        }
+        return ChatColor.translateAlternateColorCodes('&', text);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Material getMaterial() {
+        return material;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    /**
+     * @return The display name, or null to keep the material's name
+     */
+    public String getName() {
+        return name;
+    }
+
+    public List<String> getLore() {
+        return lore;
+    }
+
+    public Map<Enchantment, Integer> getEnchants() {
+        return enchants;
+    }
+
+    public Set<ItemFlag> getFlags() {
+        return flags;
+    }
+
+    /**
+     * Whether the item differs from a plain stack of its material. Plain items are
+     * not marked, so they keep stacking with ordinary items.
+     * @return true if the item has a name, lore, enchants or flags
+     */
+    public boolean isCustomized() {
+        return name != null || !lore.isEmpty() || !enchants.isEmpty() || !flags.isEmpty();
+    }
+
+    /**
+     * @return A hash of every property, stored on handed out items to detect outdated copies
+     */
+    public int getVersion() {
+        return version;
+    }
+}
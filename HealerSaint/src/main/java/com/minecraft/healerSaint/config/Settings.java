@@ -0,0 +1,475 @@
+package com.minecraft.healerSaint.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable, validated snapshot of config.yml.
+ * Built once per (re)load so hot paths never resolve config paths.
+ */
+public final class Settings {
+    /** Id of the kit item that heals on right-click */
+    public static final String KIT_STAFF = "staff";
+
+    private final int saintChance;
+    private final boolean allowMultipleSaints;
+    private final double healingRadius;
+    private final double healingPerSecond;
+    private final int healingHandCooldownSeconds;
+    private final int resurrectionChance;
+    private final double resurrectionRange;
+    private final int resurrectionCooldownHours;
+    private final int resurrectionPerTick;
+    private final int saintInactivityDays;
+    private final int inactivitySweepBatch;
+    private final int autosaveIntervalSeconds;
+    private final int auraTickBudgetMicros;
+    private final int auraPulsesPerSecond;
+    private final boolean auraAdaptive;
+    private final double auraReduceParticlesMspt;
+    private final double auraHalvePulsesMspt;
+    private final double auraQuarterPulsesMspt;
+    private final int auraLoadRecoverySeconds;
+    private final double effectsViewDistance;
+    private final int effectsParticleBudget;
+    private final boolean statsEnabled;
+    private final int statsDumpIntervalSeconds;
+    private final String storageBackend;
+    private final int broadcastChunkSize;
+    private final int broadcastCoalesceSeconds;
+    private final int broadcastRateLimit;
+    private final String coordination;
+    private final String coordinationDirectory;
+    private final int coordinationPort;
+    private final int coordinationLeaseSeconds;
+    private final Map<String, KitItemSettings> kitItems;
+
+    // Precomputed derived values
+    private final double healingRadiusSquared;
+    private final long healingHandCooldownMillis;
+    private final double resurrectionRangeSquared;
+    private final long resurrectionCooldownMillis;
+    private final long saintInactivityMillis;
+    private final long autosaveIntervalTicks;
+    private final long auraTickBudgetNanos;
+    private final double healingPerPulse;
+    private final long auraPulseIntervalTicks;
+    private final int auraParticlesPerPulse;
+    private final long statsDumpIntervalTicks;
+    private final long broadcastCoalesceTicks;
+    private final long coordinationLeaseMillis;
+
+    private Settings(ConfigurationSection config, List<String> problems) {
+        saintChance = config.getInt("saint_chance", 1000000);
+        allowMultipleSaints = config.getBoolean("allow_multiple_saints", false);
+        healingRadius = config.getDouble("healing_radius", 5.0);
+        healingPerSecond = config.getDouble("healing_per_second", 0.5);
+        healingHandCooldownSeconds = config.getInt("healing_hand_cooldown", 30);
+        resurrectionChance = config.getInt("resurrection_chance", 10);
+        resurrectionRange = config.getDouble("resurrection_range", 10.0);
+        resurrectionCooldownHours = config.getInt("resurrection_cooldown", 2);
+        resurrectionPerTick = config.getInt("resurrection_per_tick", 20);
+        saintInactivityDays = config.getInt("saint_inactivity_days", 30);
+        inactivitySweepBatch = config.getInt("inactivity_sweep_batch", 1000);
+        autosaveIntervalSeconds = config.getInt("autosave_interval", 5);
+        auraTickBudgetMicros = config.getInt("aura_tick_budget", 500);
+        auraPulsesPerSecond = config.getInt("aura_pulses_per_second", 2);
+        auraAdaptive = config.getBoolean("aura_adaptive", true);
+        auraReduceParticlesMspt = config.getDouble("aura_reduce_particles_mspt", 40.0);
+        auraHalvePulsesMspt = config.getDouble("aura_halve_pulses_mspt", 45.0);
+        auraQuarterPulsesMspt = config.getDouble("aura_quarter_pulses_mspt", 50.0);
+        auraLoadRecoverySeconds = config.getInt("aura_load_recovery", 10);
+        effectsViewDistance = config.getDouble("effects_view_distance", 32.0);
+        effectsParticleBudget = config.getInt("effects_particle_budget", 2000);
+        statsEnabled = config.getBoolean("stats_enabled", false);
+        statsDumpIntervalSeconds = config.getInt("stats_dump_interval", 0);
+        storageBackend = String.valueOf(config.getString("storage_backend", "yaml")).toLowerCase(Locale.ROOT);
+        broadcastChunkSize = config.getInt("broadcast_chunk_size", 100);
+        broadcastCoalesceSeconds = config.getInt("broadcast_coalesce_window", 2);
+        broadcastRateLimit = config.getInt("broadcast_rate_limit", 10);
+        coordination = String.valueOf(config.getString("coordination", "none")).toLowerCase(Locale.ROOT);
+        coordinationDirectory = String.valueOf(config.getString("coordination_directory", "coordination"));
+        coordinationPort = config.getInt("coordination_port", 25590);
+        coordinationLeaseSeconds = config.getInt("coordination_lease", 30);
+        kitItems = loadKit(kitSection(config), problems);
+
+        check(problems, saintChance > 0, "saint_chance must be greater than 0");
+        check(problems, healingRadius > 0, "healing_radius must be greater than 0");
+        check(problems, healingPerSecond >= 0, "healing_per_second must not be negative");
+        check(problems, healingHandCooldownSeconds >= 0, "healing_hand_cooldown must not be negative");
+        check(problems, resurrectionChance >= 0 && resurrectionChance <= 100, "resurrection_chance must be between 0 and 100");
+        check(problems, resurrectionRange >= 0, "resurrection_range must not be negative");
+        check(problems, resurrectionCooldownHours >= 0, "resurrection_cooldown must not be negative");
+        check(problems, resurrectionPerTick > 0, "resurrection_per_tick must be greater than 0");
+        check(problems, saintInactivityDays > 0, "saint_inactivity_days must be greater than 0");
+        check(problems, inactivitySweepBatch > 0, "inactivity_sweep_batch must be greater than 0");
+        check(problems, autosaveIntervalSeconds > 0, "autosave_interval must be greater than 0");
+        check(problems, auraTickBudgetMicros > 0, "aura_tick_budget must be greater than 0");
+        check(problems, auraPulsesPerSecond > 0 && 20 % auraPulsesPerSecond == 0, "aura_pulses_per_second must be 1, 2, 4, 5, 10 or 20");
+        check(problems, auraReduceParticlesMspt > 0, "aura_reduce_particles_mspt must be greater than 0");
+        check(problems, auraHalvePulsesMspt >= auraReduceParticlesMspt, "aura_halve_pulses_mspt must not be below aura_reduce_particles_mspt");
+        check(problems, auraQuarterPulsesMspt >= auraHalvePulsesMspt, "aura_quarter_pulses_mspt must not be below aura_halve_pulses_mspt");
+        check(problems, auraLoadRecoverySeconds > 0, "aura_load_recovery must be greater than 0");
+        check(problems, effectsViewDistance > 0, "effects_view_distance must be greater than 0");
+        check(problems, effectsParticleBudget >= 0, "effects_particle_budget must not be negative");
+        check(problems, statsDumpIntervalSeconds >= 0, "stats_dump_interval must not be negative");
+        check(problems, storageBackend.equals("yaml") || storageBackend.equals("sqlite"), "storage_backend must be yaml or sqlite");
+        check(problems, broadcastChunkSize > 0, "broadcast_chunk_size must be greater than 0");
+        check(problems, broadcastCoalesceSeconds >= 0, "broadcast_coalesce_window must not be negative");
+        check(problems, broadcastRateLimit >= 0, "broadcast_rate_limit must not be negative");
+        check(problems, coordination.equals("none") || coordination.equals("file") || coordination.equals("socket"),
+                "coordination must be none, file or socket");
+        check(problems, !coordinationDirectory.isEmpty(), "coordination_directory must not be empty");
+        check(problems, coordinationPort > 0 && coordinationPort <= 65535, "coordination_port must be between 1 and 65535");
+        check(problems, coordinationLeaseSeconds > 0, "coordination_lease must be greater than 0");
+
+        healingRadiusSquared = healingRadius * healingRadius;
+        healingHandCooldownMillis = healingHandCooldownSeconds * 1000L;
+        resurrectionRangeSquared = resurrectionRange * resurrectionRange;
+        resurrectionCooldownMillis = resurrectionCooldownHours * 60L * 60L * 1000L;
+        saintInactivityMillis = saintInactivityDays * 24L * 60L * 60L * 1000L;
+        autosaveIntervalTicks = autosaveIntervalSeconds * 20L;
+        auraTickBudgetNanos = auraTickBudgetMicros * 1000L;
+        // Keep the invalid value from dividing by zero, load() rejects it anyway
+        int pulses = auraPulsesPerSecond > 0 && 20 % auraPulsesPerSecond == 0 ? auraPulsesPerSecond : 1;
+        healingPerPulse = healingPerSecond / pulses;
+        auraPulseIntervalTicks = 20L / pulses;
+        auraParticlesPerPulse = Math.max(1, 3 / pulses);
+        statsDumpIntervalTicks = statsDumpIntervalSeconds * 20L;
+        broadcastCoalesceTicks = broadcastCoalesceSeconds * 20L;
+        coordinationLeaseMillis = coordinationLeaseSeconds * 1000L;
+    }
+
+    private static ConfigurationSection kitSection(ConfigurationSection config) {
+        ConfigurationSection kit = config.getConfigurationSection("kit");
+        if ((kit == null || kit.getKeys(false).isEmpty()) && config.getDefaultSection() != null) {
+            // Configs from before the kit section get the bundled kit
+            kit = config.getDefaultSection().getConfigurationSection("kit");
+        }
+        return kit;
+    }
+
+    private Map<String, KitItemSettings> loadKit(ConfigurationSection kit, List<String> problems) {
+        Map<String, KitItemSettings> items = new LinkedHashMap<>();
+        if (kit == null) {
+            problems.add("kit section is missing");
+            return Collections.unmodifiableMap(items);
+        }
+
+        Map<String, String> placeholders = Collections.singletonMap("cooldown", String.valueOf(healingHandCooldownSeconds));
+        for (String id : kit.getKeys(false)) {
+            ConfigurationSection section = kit.getConfigurationSection(id);
+            if (section == null) {
+                problems.add("kit." + id + " must be a section");
+                continue;
+            }
+            items.put(id, new KitItemSettings(id, section, placeholders, problems));
+        }
+        check(problems, items.containsKey(KIT_STAFF), "kit." + KIT_STAFF + " is missing");
+        return Collections.unmodifiableMap(items);
+    }
+
+    /**
+     * Build a settings snapshot from a config
+     * @param config The loaded config.yml
+     * @return The validated settings
+     * @throws InvalidSettingsException if any value is out of range
+     */
+    public static Settings load(ConfigurationSection config) throws InvalidSettingsException {
+        List<String> problems = new ArrayList<>();
+        Settings settings = new Settings(config, problems);
+        if (!problems.isEmpty()) {
+            throw new InvalidSettingsException(problems);
+        }
+        return settings;
+    }
+
+    /**
+     * Describe which values differ from a previous snapshot
+     * @param previous The snapshot being replaced
+     * @return One "key: old -> new" line per changed value
+     */
+    public List<String> describeChanges(Settings previous) {
+        List<String> changes = new ArrayList<>();
+        compare(changes, "saint_chance", previous.saintChance, saintChance);
+        compare(changes, "allow_multiple_saints", previous.allowMultipleSaints, allowMultipleSaints);
+        compare(changes, "healing_radius", previous.healingRadius, healingRadius);
+        compare(changes, "healing_per_second", previous.healingPerSecond, healingPerSecond);
+        compare(changes, "healing_hand_cooldown", previous.healingHandCooldownSeconds, healingHandCooldownSeconds);
+        compare(changes, "resurrection_chance", previous.resurrectionChance, resurrectionChance);
+        compare(changes, "resurrection_range", previous.resurrectionRange, resurrectionRange);
+        compare(changes, "resurrection_cooldown", previous.resurrectionCooldownHours, resurrectionCooldownHours);
+        compare(changes, "resurrection_per_tick", previous.resurrectionPerTick, resurrectionPerTick);
+        compare(changes, "saint_inactivity_days", previous.saintInactivityDays, saintInactivityDays);
+        compare(changes, "inactivity_sweep_batch", previous.inactivitySweepBatch, inactivitySweepBatch);
+        compare(changes, "autosave_interval", previous.autosaveIntervalSeconds, autosaveIntervalSeconds);
+        compare(changes, "aura_tick_budget", previous.auraTickBudgetMicros, auraTickBudgetMicros);
+        compare(changes, "aura_pulses_per_second", previous.auraPulsesPerSecond, auraPulsesPerSecond);
+        compare(changes, "aura_adaptive", previous.auraAdaptive, auraAdaptive);
+        compare(changes, "aura_reduce_particles_mspt", previous.auraReduceParticlesMspt, auraReduceParticlesMspt);
+        compare(changes, "aura_halve_pulses_mspt", previous.auraHalvePulsesMspt, auraHalvePulsesMspt);
+        compare(changes, "aura_quarter_pulses_mspt", previous.auraQuarterPulsesMspt, auraQuarterPulsesMspt);
+        compare(changes, "aura_load_recovery", previous.auraLoadRecoverySeconds, auraLoadRecoverySeconds);
+        compare(changes, "effects_view_distance", previous.effectsViewDistance, effectsViewDistance);
+        compare(changes, "effects_particle_budget", previous.effectsParticleBudget, effectsParticleBudget);
+        compare(changes, "stats_enabled", previous.statsEnabled, statsEnabled);
+        compare(changes, "stats_dump_interval", previous.statsDumpIntervalSeconds, statsDumpIntervalSeconds);
+        compare(changes, "storage_backend (after a restart)", previous.storageBackend, storageBackend);
+        compare(changes, "broadcast_chunk_size", previous.broadcastChunkSize, broadcastChunkSize);
+        compare(changes, "broadcast_coalesce_window", previous.broadcastCoalesceSeconds, broadcastCoalesceSeconds);
+        compare(changes, "broadcast_rate_limit", previous.broadcastRateLimit, broadcastRateLimit);
+        compare(changes, "coordination (after a restart)", previous.coordination, coordination);
+        compare(changes, "coordination_directory (after a restart)", previous.coordinationDirectory, coordinationDirectory);
+        compare(changes, "coordination_port (after a restart)", previous.coordinationPort, coordinationPort);
+        compare(changes, "coordination_lease", previous.coordinationLeaseSeconds, coordinationLeaseSeconds);
+        for (KitItemSettings item : kitItems.values()) {
+            KitItemSettings old = previous.kitItems.get(item.getId());
+            if (old == null) {
+                changes.add("kit." + item.getId() + ": added");
+            } else if (old.getVersion() != item.getVersion()) {
+                changes.add("kit." + item.getId() + ": changed");
+            }
+        }
+        for (String id : previous.kitItems.keySet()) {
+            if (!kitItems.containsKey(id)) {
+                changes.add("kit." + id + ": removed");
+            }
+        }
+        return changes;
+    }
+
+    private static void check(List<String> problems, boolean valid, String problem) {
+        if (!valid) {
+            problems.add(problem);
+        }
+    }
+
+    private static void compare(List<String> changes, String key, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            changes.add(key + ": " + oldValue + " -> " + newValue);
+        }
+    }
+
+    public int getSaintChance() {
+        return saintChance;
+    }
+
+    public boolean isAllowMultipleSaints() {
+        return allowMultipleSaints;
+    }
+
+    public double getHealingRadius() {
+        return healingRadius;
+    }
+
+    public double getHealingRadiusSquared() {
+        return healingRadiusSquared;
+    }
+
+    public double getHealingPerSecond() {
+        return healingPerSecond;
+    }
+
+    public int getHealingHandCooldownSeconds() {
+        return healingHandCooldownSeconds;
+    }
+
+    public long getHealingHandCooldownMillis() {
+        return healingHandCooldownMillis;
+    }
+
+    public int getResurrectionChance() {
+        return resurrectionChance;
+    }
+
+    public double getResurrectionRange() {
+        return resurrectionRange;
+    }
+
+    public double getResurrectionRangeSquared() {
+        return resurrectionRangeSquared;
+    }
+
+    public long getResurrectionCooldownMillis() {
+        return resurrectionCooldownMillis;
+    }
+
+    /**
+     * Resurrections performed per tick after their respawn, the rest wait for the next tick
+     * @return The limit per tick
+     */
+    public int getResurrectionPerTick() {
+        return resurrectionPerTick;
+    }
+
+    public int getSaintInactivityDays() {
+        return saintInactivityDays;
+    }
+
+    /**
+     * Players the inactivity sweep visits per second
+     * @return The slice size
+     */
+    public int getInactivitySweepBatch() {
+        return inactivitySweepBatch;
+    }
+
+    public long getSaintInactivityMillis() {
+        return saintInactivityMillis;
+    }
+
+    public long getAutosaveIntervalTicks() {
+        return autosaveIntervalTicks;
+    }
+
+    public long getAuraTickBudgetNanos() {
+        return auraTickBudgetNanos;
+    }
+
+    public int getAuraPulsesPerSecond() {
+        return auraPulsesPerSecond;
+    }
+
+    /**
+     * Health restored by one aura pulse, healing_per_second spread over the pulses
+     * @return The health per pulse
+     */
+    public double getHealingPerPulse() {
+        return healingPerPulse;
+    }
+
+    public long getAuraPulseIntervalTicks() {
+        return auraPulseIntervalTicks;
+    }
+
+    /**
+     * Saint particles per pulse, so faster pulses do not show more particles per second
+     * @return The particle count, at least 1
+     */
+    public int getAuraParticlesPerPulse() {
+        return auraParticlesPerPulse;
+    }
+
+    /**
+     * Whether the aura sheds particles and pulses when the server is under load
+     * @return true if adaptive mode is on
+     */
+    public boolean isAuraAdaptive() {
+        return auraAdaptive;
+    }
+
+    public double getAuraReduceParticlesMspt() {
+        return auraReduceParticlesMspt;
+    }
+
+    public double getAuraHalvePulsesMspt() {
+        return auraHalvePulsesMspt;
+    }
+
+    public double getAuraQuarterPulsesMspt() {
+        return auraQuarterPulsesMspt;
+    }
+
+    /**
+     * Seconds of lower load before the aura steps back up one level
+     * @return The recovery time in seconds
+     */
+    public int getAuraLoadRecoverySeconds() {
+        return auraLoadRecoverySeconds;
+    }
+
+    public double getEffectsViewDistance() {
+        return effectsViewDistance;
+    }
+
+    public int getEffectsParticleBudget() {
+        return effectsParticleBudget;
+    }
+
+    public boolean isStatsEnabled() {
+        return statsEnabled;
+    }
+
+    /**
+     * Interval of the stats.prom dump
+     * @return The interval in ticks, 0 if dumping is off
+     */
+    public long getStatsDumpIntervalTicks() {
+        return statsDumpIntervalTicks;
+    }
+
+    /**
+     * Storage backend, only read at startup
+     * @return "yaml" or "sqlite"
+     */
+    public String getStorageBackend() {
+        return storageBackend;
+    }
+
+    /**
+     * Number of players that receive a broadcast per tick
+     * @return The chunk size
+     */
+    public int getBroadcastChunkSize() {
+        return broadcastChunkSize;
+    }
+
+    public long getBroadcastCoalesceTicks() {
+        return broadcastCoalesceTicks;
+    }
+
+    /**
+     * Miracle messages a player receives per minute
+     * @return The limit, 0 for no limit
+     */
+    public int getBroadcastRateLimit() {
+        return broadcastRateLimit;
+    }
+
+    /**
+     * Transport shared with the other servers, only read at startup
+     * @return "none", "file" or "socket"
+     */
+    public String getCoordination() {
+        return coordination;
+    }
+
+    /**
+     * Directory of the file transport, relative to the plugin folder unless absolute
+     * @return The configured path
+     */
+    public String getCoordinationDirectory() {
+        return coordinationDirectory;
+    }
+
+    /**
+     * Loopback port of the socket transport
+     * @return The port
+     */
+    public int getCoordinationPort() {
+        return coordinationPort;
+    }
+
+    /**
+     * How long the claim of the saint slot lasts, so the new roster reaches every server
+     * @return The lease in millis
+     */
+    public long getCoordinationLeaseMillis() {
+        return coordinationLeaseMillis;
+    }
+
+    /**
+     * Items handed to a new saint, in config order
+     * @return The kit items by id, always including {@link #KIT_STAFF}
+     */
+    public Map<String, KitItemSettings> getKitItems() {
+        return kitItems;
+    }
+}
@@ -0,0 +1,207 @@
+package com.minecraft.healerSaint.cooldown;
+
+import com.minecraft.healerSaint.util.UuidLongMap;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Per-player cooldowns stored as unboxed expiry timestamps.
+ * Expired entries are evicted by a hashed timing wheel: every entry sits in the
+ * slot of the second it expires in, so each sweep only visits entries that are due
+ * (plus, once per revolution, entries further away than the wheel span).
+ * Thread-safe: lookups are optimistic reads that only take the read lock if a
+ * writer interfered, so readers on other threads never block the main thread.
+ * <p>
+ * Writes take the write lock rather than being lock-free. Cooldowns start on every
+ * region thread of a region-threaded server and arrive from the coordination thread,
+ * so writers have to be serialized anyway, and the unboxed table cannot be swapped
+ * atomically without copying it per write. Since readers hold no lock on the fast
+ * path, an uncontended write lock is a single CAS; a writer only waits for another
+ * writer or for a reader that fell back to the read lock for one lookup.
+ */
+public class CooldownStore {
+    private static final long RESOLUTION = 1000L;
+    private static final int SLOTS = 512;
+
+    private final StampedLock lock = new StampedLock();
+    private final UuidLongMap expiries = new UuidLongMap();
+
+    // Each slot holds (msb, lsb, expiry) triples
+    private final long[][] wheel = new long[SLOTS][];
+    private final int[] wheelSizes = new int[SLOTS];
+    private long cursor;
+    private volatile boolean dirty;
+
+    public CooldownStore(long now) {
+        this.cursor = now / RESOLUTION;
+    }
+
+    /**
+     * Get the remaining cooldown of a player with a single lookup
+     * @param uuid The player to check
+     * @param now The current time in epoch millis
+     * @return Remaining cooldown in millis, or 0 if not on cooldown
+     */
+    public long remaining(UUID uuid, long now) {
+        long expiry = 0L;
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                expiry = expiries.get(uuid, 0L);
+            } catch (RuntimeException e) {
+                // A concurrent resize can expose a half-built table, validation fails below
+                stamp = 0L;
+            }
+        }
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                expiry = expiries.get(uuid, 0L);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return expiry > now ? expiry - now : 0L;
+    }
+
+    /**
+     * Put a player on cooldown, replacing any running cooldown
+     * @param uuid The player to put on cooldown
+     * @param now The current time in epoch millis
+     * @param duration The cooldown length in millis
+     */
+    public void start(UUID uuid, long now, long duration) {
+        long stamp = lock.writeLock();
+        try {
+            insert(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), now + duration);
+            dirty = true;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Re-insert a cooldown loaded from disk
+     * @param msb Most significant bits of the player's UUID
+     * @param lsb Least significant bits of the player's UUID
+     * @param expiry When the cooldown ends in epoch millis
+     */
+    public void restore(long msb, long lsb, long expiry) {
+        long stamp = lock.writeLock();
+        try {
+            insert(msb, lsb, expiry);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private void insert(long msb, long lsb, long expiry) {
+        expiries.put(msb, lsb, expiry);
+
+        int slot = (int) (ceilTick(expiry) % SLOTS);
+        long[] entries = wheel[slot];
+        int size = wheelSizes[slot];
+        if (entries == null) {
+            entries = wheel[slot] = new long[12];
+        } else if (size + 3 > entries.length) {
+            entries = wheel[slot] = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[size] = msb;
+        entries[size + 1] = lsb;
+        entries[size + 2] = expiry;
+        wheelSizes[slot] = size + 3;
+    }
+
+    /**
+     * Advance the wheel and evict every cooldown that ended
+     * @param now The current time in epoch millis
+     */
+    public void expire(long now) {
+        long target = now / RESOLUTION;
+
+        long stamp = lock.writeLock();
+        try {
+            // One revolution visits every slot, no need to replay more after a long pause
+            for (long tick = Math.max(cursor + 1, target - SLOTS + 1); tick <= target; tick++) {
+                sweep((int) (tick % SLOTS), now);
+            }
+            cursor = Math.max(cursor, target);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    public int size() {
+        long stamp = lock.readLock();
+        try {
+            return expiries.size();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Copy the running cooldowns for persistence and mark the store clean.
+     * A cooldown started while copying marks the store dirty again.
+     * @param now The current time in epoch millis, cooldowns that ended are skipped
+     * @return (msb, lsb, expiry) triples
+     */
+    public long[] snapshot(long now) {
+        dirty = false;
+
+        long stamp = lock.readLock();
+        try {
+            long[] triples = new long[expiries.size() * 3];
+            int size = 0;
+            for (int slot = 0; slot < expiries.capacity(); slot++) {
+                if (expiries.isUsed(slot) && expiries.valueAt(slot) > now) {
+                    triples[size] = expiries.mostBitsAt(slot);
+                    triples[size + 1] = expiries.leastBitsAt(slot);
+                    triples[size + 2] = expiries.valueAt(slot);
+                    size += 3;
+                }
+            }
+            return size == triples.length ? triples : Arrays.copyOf(triples, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void sweep(int slot, long now) {
+        long[] entries = wheel[slot];
+        int size = wheelSizes[slot];
+        int kept = 0;
+        for (int i = 0; i < size; i += 3) {
+            long msb = entries[i];
+            long lsb = entries[i + 1];
+            long expiry = entries[i + 2];
+
+            // Entries replaced by a newer cooldown are stale, drop them
+            if (expiries.get(msb, lsb, Long.MIN_VALUE) != expiry) {
+                continue;
+            }
+
+            // Evicting needs no save, expired entries are skipped on load anyway
+            if (expiry <= now) {
+                expiries.remove(msb, lsb);
+            } else {
+                // More than one revolution away, keep it for the next pass
+                entries[kept] = msb;
+                entries[kept + 1] = lsb;
+                entries[kept + 2] = expiry;
+                kept += 3;
+            }
+        }
+        wheelSizes[slot] = kept;
+    }
+
+    private static long ceilTick(long time) {
+        return Math.floorDiv(time + RESOLUTION - 1, RESOLUTION);
+    }
+}
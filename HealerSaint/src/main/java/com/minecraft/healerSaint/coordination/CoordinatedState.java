@@ -0,0 +1,31 @@
+package com.minecraft.healerSaint.coordination;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * The state a {@link SaintCoordinator} keeps in sync with the other servers.
+ * Remote changes are applied on a transport thread.
+ */
+public interface CoordinatedState {
+    /**
+     * Get the local saint roster
+     * @return An immutable snapshot, in promotion order
+     */
+    Set<UUID> getSaints();
+
+    /**
+     * Replace the roster with a newer one from another server
+     * @param roster The new roster, in promotion order
+     */
+    void applyRemoteRoster(Set<UUID> roster);
+
+    /**
+     * Apply a cooldown started on another server
+     * @param store {@link SaintCoordinator#HEALING_COOLDOWNS} or {@link SaintCoordinator#RESURRECTION_COOLDOWNS}
+     * @param msb Most significant bits of the player's UUID
+     * @param lsb Least significant bits of the player's UUID
+     * @param expiry When it ends in epoch millis
+     */
+    void applyRemoteCooldown(int store, long msb, long lsb, long expiry);
+}
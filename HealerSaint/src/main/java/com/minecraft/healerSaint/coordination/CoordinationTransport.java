@@ -0,0 +1,52 @@
+package com.minecraft.healerSaint.coordination;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Publish/subscribe channel between the servers behind one proxy, plus the lease
+ * that decides which server may crown the next saint. Messages are opaque to the
+ * transport; every other server receives every message, a server may or may not
+ * receive its own.
+ * Receiving is push based, messages arrive on a transport thread as soon as they are written.
+ */
+public interface CoordinationTransport {
+    /**
+     * Connect and start delivering messages
+     * @param receiver Called on a transport thread for every message
+     * @param connected Called on a transport thread whenever messages can be published,
+     *                  once connected and again after every reconnect
+     * @throws IOException if the transport cannot be opened
+     */
+    void start(Consumer<byte[]> receiver, Runnable connected) throws IOException;
+
+    /**
+     * Send a message to every server. Blocks on I/O, never call it on a server thread.
+     * @param message The message to send
+     * @throws IOException if it could not be sent
+     */
+    void publish(byte[] message) throws IOException;
+
+    /**
+     * Claim the saint slot lease. Succeeds if nobody holds it, it ran out, or the
+     * owner already holds it, which then extends it. Blocks on I/O.
+     * @param owner The claiming server
+     * @param duration How long the lease lasts in millis
+     * @return true if the owner holds the lease now
+     * @throws IOException if the lease could not be reached
+     */
+    boolean claimLease(UUID owner, long duration) throws IOException;
+
+    /**
+     * Give the saint slot lease up early, if the owner holds it. Blocks on I/O.
+     * @param owner The releasing server
+     * @throws IOException if the lease could not be reached
+     */
+    void releaseLease(UUID owner) throws IOException;
+
+    /**
+     * Stop delivering messages and release every resource
+     */
+    void close();
+}
@@ -0,0 +1,243 @@
+package com.minecraft.healerSaint.coordination;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Coordination through a directory every server can reach. Messages are appended
+ * as [length:4][message] frames to messages.log under an exclusive file lock, and
+ * readers are woken by the file system's change notifications rather than polling.
+ * The lease is a [owner msb:8][owner lsb:8][until:8] record in the lease file,
+ * read and replaced under the same kind of lock.
+ * <p>
+ * Once the log outgrows {@link #MAX_LOG_SIZE} the next writer truncates it. A reader
+ * that had not caught up loses those frames; rosters carry the full set and heal on
+ * the next change, a lost cooldown delta only shortens a cooldown on that server.
+ */
+public class FileTransport implements CoordinationTransport {
+    private static final String LOG_FILE = "messages.log";
+    private static final String LEASE_FILE = "lease";
+    private static final long MAX_LOG_SIZE = 1L << 20;
+    private static final int MAX_MESSAGE_SIZE = 1 << 20;
+    private static final int LEASE_SIZE = 24;
+
+    // File locks belong to the whole JVM, taking one a channel of this JVM holds throws
+    // instead of waiting, so transports sharing a JVM take turns on this monitor first
+    private static final Object JVM_LOCK = new Object();
+
+    private final Path directory;
+    private final Logger logger;
+    private FileChannel log;
+    private FileChannel lease;
+    private WatchService watcher;
+    private Thread reader;
+    private Consumer<byte[]> receiver;
+    private long offset;
+
+    public FileTransport(Path directory, Logger logger) {
+        this.directory = directory;
+        this.logger = logger;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver, Runnable connected) throws IOException {
+        this.receiver = receiver;
+        Files.createDirectories(directory);
+        log = FileChannel.open(directory.resolve(LOG_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        lease = FileChannel.open(directory.resolve(LEASE_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        // Only messages written from now on are of interest
+        offset = log.size();
+
+        watcher = directory.getFileSystem().newWatchService();
+        directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        reader = new Thread(this::watch, "HealerSaint-Coordination");
+        reader.setDaemon(true);
+        reader.start();
+
+        // The directory is always reachable, there is no reconnect
+        connected.run();
+    }
+
+    private void watch() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || LOG_FILE.equals(String.valueOf(event.context()))) {
+                        changed = true;
+                    }
+                }
+                if (changed) {
+                    readNew();
+                }
+                if (!key.reset()) {
+                    logger.severe("Coordination directory " + directory + " is gone, stopped receiving");
+                    return;
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Closed
+        }
+    }
+
+    private void readNew() {
+        try {
+            long size = log.size();
+            if (size < offset) {
+                // Truncated by a writer, start over
+                offset = 0;
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(4);
+            while (offset + 4 <= size) {
+                header.clear();
+                readFully(header, offset);
+                int length = header.getInt(0);
+                if (length < 0 || length > MAX_MESSAGE_SIZE) {
+                    logger.severe(LOG_FILE + " is corrupt, skipping to its end");
+                    offset = size;
+                    return;
+                }
+                if (offset + 4 + length > size) {
+                    // Half written, the next notification brings the rest
+                    return;
+                }
+
+                ByteBuffer message = ByteBuffer.allocate(length);
+                readFully(message, offset + 4);
+                offset += 4 + length;
+                try {
+                    receiver.accept(message.array());
+                } catch (RuntimeException e) {
+                    // Dropped, the messages after it are still read
+                    logger.log(Level.WARNING, "Dropped a malformed coordination message", e);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not read " + LOG_FILE + "!", e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (log.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of " + LOG_FILE);
+            }
+        }
+    }
+
+    @Override
+    public void publish(byte[] message) throws IOException {
+        ByteBuffer frame = ByteBuffer.allocate(4 + message.length);
+        frame.putInt(message.length).put(message).flip();
+
+        synchronized (JVM_LOCK) {
+            try (FileLock ignored = log.lock()) {
+                long size = log.size();
+                if (size > MAX_LOG_SIZE) {
+                    log.truncate(0);
+                    size = 0;
+                }
+                while (frame.hasRemaining()) {
+                    size += log.write(frame, size);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean claimLease(UUID owner, long duration) throws IOException {
+        long now = System.currentTimeMillis();
+        synchronized (JVM_LOCK) {
+            try (FileLock ignored = lease.lock()) {
+                ByteBuffer record = readLease();
+                if (record != null) {
+                    UUID holder = new UUID(record.getLong(), record.getLong());
+                    long until = record.getLong();
+                    if (until > now && !holder.equals(owner)) {
+                        return false;
+                    }
+                }
+                writeLease(owner, now + duration);
+                return true;
+            }
+        }
+    }
+
+    @Override
+    public void releaseLease(UUID owner) throws IOException {
+        synchronized (JVM_LOCK) {
+            try (FileLock ignored = lease.lock()) {
+                ByteBuffer record = readLease();
+                if (record != null && new UUID(record.getLong(), record.getLong()).equals(owner)) {
+                    // Expired right away, anyone may claim it
+                    writeLease(owner, 0L);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return The lease record, or null if nobody claimed the lease yet
+     */
+    private ByteBuffer readLease() throws IOException {
+        if (lease.size() < LEASE_SIZE) {
+            return null;
+        }
+        ByteBuffer record = ByteBuffer.allocate(LEASE_SIZE);
+        while (record.hasRemaining() && lease.read(record, record.position()) >= 0) {
+            // Read the whole record
+        }
+        record.flip();
+        return record;
+    }
+
+    private void writeLease(UUID owner, long until) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(LEASE_SIZE);
+        record.putLong(owner.getMostSignificantBits()).putLong(owner.getLeastSignificantBits()).putLong(until).flip();
+        while (record.hasRemaining()) {
+            lease.write(record, record.position());
+        }
+        lease.force(false);
+    }
+
+    @Override
+    public void close() {
+        try {
+            if (watcher != null) {
+                watcher.close();
+            }
+            if (reader != null) {
+                reader.join(1000L);
+            }
+            if (log != null) {
+                log.close();
+            }
+            if (lease != null) {
+                lease.close();
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not close the coordination files!", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
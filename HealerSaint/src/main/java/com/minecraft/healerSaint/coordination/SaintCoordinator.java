@@ -0,0 +1,309 @@
+package com.minecraft.healerSaint.coordination;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.config.Settings;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the saint roster and cooldowns of several servers behind one proxy in sync.
+ * Every roster change is published as a full, versioned roster; the highest version
+ * wins, ties go to the higher server id. Cooldowns are published as deltas when they
+ * start. A new saint may only be crowned by the server holding the saint slot lease.
+ * <p>
+ * Messages are [type:1][origin msb:8][origin lsb:8] followed by
+ * HELLO: nothing, peers answer with their roster;
+ * ROSTER: [version:8][count:4] and count [msb:8][lsb:8] saints;
+ * COOLDOWN: [store:1][msb:8][lsb:8][expiry:8].
+ * Sending happens on a background thread, receiving on the transport's thread.
+ */
+public class SaintCoordinator {
+    public static final int HEALING_COOLDOWNS = 0;
+    public static final int RESURRECTION_COOLDOWNS = 1;
+
+    private static final byte HELLO = 0;
+    private static final byte ROSTER = 1;
+    private static final byte COOLDOWN = 2;
+    private static final int HEADER_SIZE = 17;
+    private static final int ROSTER_SIZE = 12;
+    private static final int COOLDOWN_SIZE = 25;
+
+    private final UUID serverId = UUID.randomUUID();
+    private final CoordinationTransport transport;
+    private final String transportName;
+    private final LongSupplier leaseMillis;
+    private final Logger logger;
+    private final ExecutorService sender;
+    private volatile CoordinatedState state;
+
+    // Guarded by this
+    private long rosterVersion;
+    private UUID rosterOrigin = serverId;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+
+    public SaintCoordinator(HealerSaint plugin) {
+        this(createTransport(plugin), plugin.getSettings().getCoordination(),
+                () -> plugin.getSettings().getCoordinationLeaseMillis(), plugin.getLogger());
+    }
+
+    /**
+     * @param transport The transport, or null to run on its own
+     * @param transportName The transport's name, for the log
+     * @param leaseMillis How long a claimed saint slot lasts
+     * @param logger Logger for transport errors
+     */
+    SaintCoordinator(CoordinationTransport transport, String transportName, LongSupplier leaseMillis, Logger logger) {
+        this.transport = transport;
+        this.transportName = transportName;
+        this.leaseMillis = leaseMillis;
+        this.logger = logger;
+        this.sender = transport == null ? null : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HealerSaint-Coordination-Sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static CoordinationTransport createTransport(HealerSaint plugin) {
+        Settings settings = plugin.getSettings();
+        switch (settings.getCoordination()) {
+            case "file":
+                Path directory = plugin.getDataFolder().toPath().resolve(settings.getCoordinationDirectory());
+                return new FileTransport(directory, plugin.getLogger());
+            case "socket":
+                return new SocketTransport(settings.getCoordinationPort(), plugin.getLogger());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Whether another server can be reached at all
+     * @return false if coordination is off
+     */
+    public boolean isActive() {
+        return transport != null;
+    }
+
+    /**
+     * Open the transport, the rosters are exchanged once it is connected
+     * @param state The local roster and cooldowns to keep in sync
+     */
+    public void start(CoordinatedState state) {
+        if (transport == null) {
+            return;
+        }
+        this.state = state;
+        try {
+            transport.start(this::receive, this::connected);
+            logger.info("Coordinating saints through the " + transportName + " transport as " + serverId);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not start the " + transportName
+                    + " coordination, this server runs on its own!", e);
+        }
+    }
+
+    /**
+     * Publish the roster after a local change
+     * @param saints The new roster
+     */
+    public synchronized void rosterChanged(Set<UUID> saints) {
+        if (transport == null) {
+            return;
+        }
+        rosterVersion++;
+        rosterOrigin = serverId;
+        send(encodeRoster(saints));
+    }
+
+    /**
+     * Publish a cooldown that just started
+     * @param store {@link #HEALING_COOLDOWNS} or {@link #RESURRECTION_COOLDOWNS}
+     * @param uuid The player on cooldown
+     * @param expiry When it ends in epoch millis
+     */
+    public void cooldownStarted(int store, UUID uuid, long expiry) {
+        if (transport == null) {
+            return;
+        }
+        ByteBuffer message = header(COOLDOWN, 25);
+        message.put((byte) store).putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).putLong(expiry);
+        send(message.array());
+    }
+
+    /**
+     * Claim the right to crown the next saint. Blocks on the transport, so only
+     * call it off the server threads (the saint roll happens during async pre-login).
+     * @return true if this server may crown a saint, always true without coordination
+     */
+    public boolean claimSaintSlot() {
+        if (transport == null) {
+            return true;
+        }
+        try {
+            return transport.claimLease(serverId, leaseMillis.getAsLong());
+        } catch (IOException e) {
+            // Without the lease, crowning could give the network a second saint
+            logger.log(Level.WARNING, "Could not claim the saint slot, skipping this saint roll", e);
+            return false;
+        }
+    }
+
+    /**
+     * Give up a saint slot claimed by {@link #claimSaintSlot()} that was not used,
+     * so other servers may crown a saint before the lease runs out. Safe on any thread.
+     */
+    public void releaseSaintSlot() {
+        if (transport == null) {
+            return;
+        }
+        sender.execute(() -> {
+            try {
+                transport.releaseLease(serverId);
+            } catch (IOException e) {
+                // The lease runs out on its own
+                logger.log(Level.FINE, "Could not release the saint slot", e);
+            }
+        });
+    }
+
+    UUID getServerId() {
+        return serverId;
+    }
+
+    public long getReceived() {
+        return received.get();
+    }
+
+    public long getSent() {
+        return sent.get();
+    }
+
+    /**
+     * Stop sending and receiving, messages not sent yet are dropped
+     */
+    public void shutdown() {
+        if (transport == null) {
+            return;
+        }
+        sender.shutdown();
+        try {
+            sender.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        transport.close();
+    }
+
+    private synchronized void connected() {
+        // Ask for the other rosters and offer ours, messages sent while disconnected were lost
+        send(header(HELLO, 0).array());
+        send(encodeRoster(state.getSaints()));
+    }
+
+    private void receive(byte[] bytes) {
+        if (bytes.length < HEADER_SIZE) {
+            return;
+        }
+        ByteBuffer message = ByteBuffer.wrap(bytes);
+        byte type = message.get();
+        UUID origin = new UUID(message.getLong(), message.getLong());
+        if (origin.equals(serverId)) {
+            return;
+        }
+        received.incrementAndGet();
+
+        // A malformed message is dropped, it must not end the transport's thread
+        try {
+            switch (type) {
+                case HELLO:
+                    // A server started, let it catch up
+                    synchronized (this) {
+                        send(encodeRoster(state.getSaints()));
+                    }
+                    break;
+                case ROSTER:
+                    if (message.remaining() >= ROSTER_SIZE) {
+                        receiveRoster(origin, message);
+                    }
+                    break;
+                case COOLDOWN:
+                    if (message.remaining() >= COOLDOWN_SIZE) {
+                        int store = message.get();
+                        state.applyRemoteCooldown(store, message.getLong(), message.getLong(), message.getLong());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "Dropped a coordination message from " + origin, e);
+        }
+    }
+
+    private synchronized void receiveRoster(UUID origin, ByteBuffer message) {
+        long version = message.getLong();
+        if (version < rosterVersion || (version == rosterVersion && origin.compareTo(rosterOrigin) <= 0)) {
+            // Older than ours, or the same version that lost the tie
+            return;
+        }
+
+        int count = message.getInt();
+        if (count < 0 || count * 16L > message.remaining()) {
+            logger.warning("Dropped a roster from " + origin + " with " + count + " saints in "
+                    + message.remaining() + " bytes");
+            return;
+        }
+        Set<UUID> saints = new LinkedHashSet<>();
+        for (int i = 0; i < count; i++) {
+            saints.add(new UUID(message.getLong(), message.getLong()));
+        }
+        rosterVersion = version;
+        rosterOrigin = origin;
+        state.applyRemoteRoster(saints);
+    }
+
+    private byte[] encodeRoster(Set<UUID> saints) {
+        ByteBuffer message = header(ROSTER, 12 + saints.size() * 16);
+        message.putLong(rosterVersion).putInt(saints.size());
+        for (UUID saint : saints) {
+            message.putLong(saint.getMostSignificantBits()).putLong(saint.getLeastSignificantBits());
+        }
+        // Answer with the roster as its author sent it, so every server breaks ties on the same origin
+        if (!rosterOrigin.equals(serverId)) {
+            message.putLong(1, rosterOrigin.getMostSignificantBits()).putLong(9, rosterOrigin.getLeastSignificantBits());
+        }
+        return message.array();
+    }
+
+    private ByteBuffer header(byte type, int bodySize) {
+        ByteBuffer message = ByteBuffer.allocate(HEADER_SIZE + bodySize);
+        message.put(type).putLong(serverId.getMostSignificantBits()).putLong(serverId.getLeastSignificantBits());
+        return message;
+    }
+
+    private void send(byte[] message) {
+        sender.execute(() -> {
+            try {
+                transport.publish(message);
+                sent.incrementAndGet();
+            } catch (IOException e) {
+                logger.log(Level.FINE, "Could not publish a coordination message", e);
+            }
+        });
+    }
+}
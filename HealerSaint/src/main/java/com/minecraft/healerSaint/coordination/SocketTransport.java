@@ -0,0 +1,364 @@
+package com.minecraft.healerSaint.coordination;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.BindException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Coordination over a loopback socket, for servers on one machine. The first server
+ * to bind the port becomes the hub: it relays every message to the other servers and
+ * holds the lease. The others connect to it, and when the hub goes away one of them
+ * binds the port and takes over. Frames are [length:4][type:1][body]. Every bind and
+ * connect is reported, so the servers exchange their rosters again after a takeover.
+ * <p>
+ * The lease only lives in the hub's memory, so a new hub starts without one. The
+ * roster of a saint crowned under the old lease has normally reached every server
+ * by then, which is what keeps the others from crowning one.
+ */
+public class SocketTransport implements CoordinationTransport {
+    private static final byte MESSAGE = 0;
+    private static final byte CLAIM = 1;
+    private static final byte CLAIM_REPLY = 2;
+    private static final byte RELEASE = 3;
+    private static final int MAX_FRAME_SIZE = 1 << 20;
+    private static final int CONNECT_TIMEOUT = 1000;
+    private static final long RECONNECT_DELAY = 1000L;
+    private static final long CLAIM_TIMEOUT = 2000L;
+
+    private final InetSocketAddress address;
+    private final Logger logger;
+    private volatile boolean closed;
+    private Thread thread;
+    private Consumer<byte[]> receiver;
+    private Runnable connected;
+
+    // Hub side
+    private volatile ServerSocket server;
+    private final Set<Connection> clients = ConcurrentHashMap.newKeySet();
+    private UUID leaseOwner;
+    private long leaseUntil;
+
+    // Client side
+    private volatile Connection hub;
+    private final Map<Long, CompletableFuture<Boolean>> claims = new ConcurrentHashMap<>();
+    private final AtomicLong nextClaim = new AtomicLong();
+
+    public SocketTransport(int port, Logger logger) {
+        this.address = new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        this.logger = logger;
+    }
+
+    @Override
+    public void start(Consumer<byte[]> receiver, Runnable connected) {
+        this.receiver = receiver;
+        this.connected = connected;
+        thread = new Thread(this::run, "HealerSaint-Coordination");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                ServerSocket bound = bind();
+                if (bound != null) {
+                    serve(bound);
+                } else {
+                    connect();
+                }
+            } catch (IOException e) {
+                if (!closed) {
+                    logger.log(Level.FINE, "Coordination connection lost", e);
+                }
+            }
+
+            // Back off before binding or connecting again, not to poll for messages
+            try {
+                Thread.sleep(RECONNECT_DELAY);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private ServerSocket bind() throws IOException {
+        ServerSocket socket = new ServerSocket();
+        try {
+            socket.bind(address);
+            return socket;
+        } catch (BindException e) {
+            // Another server is the hub
+            socket.close();
+            return null;
+        }
+    }
+
+    private void serve(ServerSocket bound) throws IOException {
+        server = bound;
+        logger.info("Coordination hub listening on " + address);
+        connected.run();
+        try {
+            while (!closed) {
+                Connection client = new Connection(bound.accept());
+                clients.add(client);
+                Thread clientThread = new Thread(() -> relay(client), "HealerSaint-Coordination-Client");
+                clientThread.setDaemon(true);
+                clientThread.start();
+            }
+        } finally {
+            server = null;
+            bound.close();
+            for (Connection client : clients) {
+                client.close();
+            }
+            clients.clear();
+        }
+    }
+
+    private void relay(Connection client) {
+        try {
+            while (!closed) {
+                byte[] frame = client.read();
+                ByteBuffer body = ByteBuffer.wrap(frame, 1, frame.length - 1);
+                try {
+                    if (frame[0] == MESSAGE) {
+                        byte[] message = new byte[body.remaining()];
+                        body.get(message);
+                        for (Connection other : clients) {
+                            if (other != client) {
+                                other.trySend(MESSAGE, message);
+                            }
+                        }
+                        receiver.accept(message);
+                    } else if (frame[0] == CLAIM) {
+                        long id = body.getLong();
+                        UUID owner = new UUID(body.getLong(), body.getLong());
+                        boolean granted = claimLocally(owner, body.getLong());
+                        client.send(CLAIM_REPLY, ByteBuffer.allocate(9).putLong(id).put((byte) (granted ? 1 : 0)).array());
+                    } else if (frame[0] == RELEASE) {
+                        releaseLocally(new UUID(body.getLong(), body.getLong()));
+                    }
+                } catch (RuntimeException e) {
+                    dropped(e);
+                }
+            }
+        } catch (IOException e) {
+            // Client left
+        } finally {
+            clients.remove(client);
+            client.close();
+        }
+    }
+
+    private void connect() throws IOException {
+        Socket socket = new Socket();
+        try {
+            socket.connect(address, CONNECT_TIMEOUT);
+        } catch (IOException e) {
+            socket.close();
+            throw e;
+        }
+
+        Connection connection = new Connection(socket);
+        hub = connection;
+        connected.run();
+        try {
+            while (!closed) {
+                byte[] frame = connection.read();
+                ByteBuffer body = ByteBuffer.wrap(frame, 1, frame.length - 1);
+                try {
+                    if (frame[0] == MESSAGE) {
+                        byte[] message = new byte[body.remaining()];
+                        body.get(message);
+                        receiver.accept(message);
+                    } else if (frame[0] == CLAIM_REPLY) {
+                        CompletableFuture<Boolean> claim = claims.remove(body.getLong());
+                        if (claim != null) {
+                            claim.complete(body.get() == 1);
+                        }
+                    }
+                } catch (RuntimeException e) {
+                    dropped(e);
+                }
+            }
+        } finally {
+            hub = null;
+            connection.close();
+            // Claims in flight are lost with the hub
+            for (CompletableFuture<Boolean> claim : claims.values()) {
+                claim.complete(false);
+            }
+            claims.clear();
+        }
+    }
+
+    @Override
+    public void publish(byte[] message) throws IOException {
+        if (server != null) {
+            for (Connection client : clients) {
+                client.trySend(MESSAGE, message);
+            }
+            return;
+        }
+
+        Connection connection = hub;
+        if (connection == null) {
+            throw new IOException("Not connected to the coordination hub");
+        }
+        connection.send(MESSAGE, message);
+    }
+
+    @Override
+    public boolean claimLease(UUID owner, long duration) throws IOException {
+        if (server != null) {
+            return claimLocally(owner, duration);
+        }
+
+        Connection connection = hub;
+        if (connection == null) {
+            throw new IOException("Not connected to the coordination hub");
+        }
+
+        long id = nextClaim.incrementAndGet();
+        CompletableFuture<Boolean> claim = new CompletableFuture<>();
+        claims.put(id, claim);
+        connection.send(CLAIM, ByteBuffer.allocate(32).putLong(id)
+                .putLong(owner.getMostSignificantBits()).putLong(owner.getLeastSignificantBits())
+                .putLong(duration).array());
+        try {
+            return claim.get(CLAIM_TIMEOUT, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            claims.remove(id);
+            throw new IOException("No lease reply from the coordination hub", e);
+        } catch (InterruptedException e) {
+            claims.remove(id);
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Override
+    public void releaseLease(UUID owner) throws IOException {
+        if (server != null) {
+            releaseLocally(owner);
+            return;
+        }
+
+        Connection connection = hub;
+        if (connection == null) {
+            throw new IOException("Not connected to the coordination hub");
+        }
+        connection.send(RELEASE, ByteBuffer.allocate(16)
+                .putLong(owner.getMostSignificantBits()).putLong(owner.getLeastSignificantBits()).array());
+    }
+
+    /**
+     * A frame that could not be handled is dropped, its connection stays up
+     */
+    private void dropped(RuntimeException e) {
+        logger.log(Level.WARNING, "Dropped a malformed coordination frame", e);
+    }
+
+    private synchronized void releaseLocally(UUID owner) {
+        if (owner.equals(leaseOwner)) {
+            leaseOwner = null;
+        }
+    }
+
+    private synchronized boolean claimLocally(UUID owner, long duration) {
+        long now = System.currentTimeMillis();
+        if (leaseOwner != null && leaseUntil > now && !leaseOwner.equals(owner)) {
+            return false;
+        }
+        leaseOwner = owner;
+        leaseUntil = now + duration;
+        return true;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        ServerSocket bound = server;
+        if (bound != null) {
+            try {
+                bound.close();
+            } catch (IOException e) {
+                // Closing anyway
+            }
+        }
+        Connection connection = hub;
+        if (connection != null) {
+            connection.close();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private final class Connection {
+        private final Socket socket;
+        private final DataInputStream in;
+        private final DataOutputStream out;
+
+        private Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+
+        private byte[] read() throws IOException {
+            int length = in.readInt();
+            if (length < 1 || length > MAX_FRAME_SIZE) {
+                throw new IOException("Invalid coordination frame of " + length + " bytes");
+            }
+            byte[] frame = new byte[length];
+            in.readFully(frame);
+            return frame;
+        }
+
+        private synchronized void send(byte type, byte[] body) throws IOException {
+            out.writeInt(body.length + 1);
+            out.writeByte(type);
+            out.write(body);
+            out.flush();
+        }
+
+        private void trySend(byte type, byte[] body) {
+            try {
+                send(type, body);
+            } catch (IOException e) {
+                // Its relay thread notices and drops it
+                close();
+            }
+        }
+
+        private void close() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Closing anyway
+            }
+        }
+    }
+}
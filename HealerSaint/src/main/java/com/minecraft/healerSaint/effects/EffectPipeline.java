@@ -0,0 +1,263 @@
+package com.minecraft.healerSaint.effects;
+
+import org.bukkit.Location;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.persistence.PersistentDataType;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.config.Settings;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the particle and sound effects requested during a tick and sends them
+ * once per tick: identical particles in the same block are merged, particles are
+ * only sent to viewers within the view distance, the total per tick is capped,
+ * and players with reduced effects get a fraction of the particles.
+ * Main thread only. On region-threaded servers there is no single tick to batch
+ * in, so effects are sent right away on the calling region's thread and are
+ * neither merged, culled, budgeted nor counted.
+ */
+public class EffectPipeline {
+    private static final int REDUCED_DIVISOR = 4;
+
+    private final HealerSaint plugin;
+    private final NamespacedKey reducedKey;
+    private final Set<UUID> reducedPlayers = ConcurrentHashMap.newKeySet();
+    private final boolean immediate;
+
+    private final List<ParticleRequest> particles = new ArrayList<>();
+    private final List<ParticleRequest> pool = new ArrayList<>();
+    private final Map<Long, ParticleRequest> byBlock = new HashMap<>();
+    private final List<SoundRequest> sounds = new ArrayList<>();
+
+    // Scratch location for flushing
+    private final Location scratch = new Location(null, 0, 0, 0);
+    private int budgetLeft;
+
+    private long sentParticles;
+    private long droppedParticles;
+    private long sentPackets;
+    private long sentSounds;
+
+    public EffectPipeline(HealerSaint plugin) {
+        this.plugin = plugin;
+        this.reducedKey = new NamespacedKey(plugin, "reduced_effects");
+        this.immediate = plugin.getScheduler().isRegionThreaded();
+    }
+
+    /**
+     * Queue a particle effect for every player that can see it
+     */
+    public void spawn(Particle particle, Location at, int count,
+                      double offsetX, double offsetY, double offsetZ, double extra) {
+        if (immediate) {
+            at.getWorld().spawnParticle(particle, at, count, offsetX, offsetY, offsetZ, extra);
+            return;
+        }
+
+        long key = blockKey(at);
+        ParticleRequest existing = byBlock.get(key);
+        if (existing != null && existing.viewer == null && existing.particle == particle
+                && existing.world.equals(at.getWorld())) {
+            existing.count += count;
+            return;
+        }
+
+        ParticleRequest request = obtain(null, particle, at, count, offsetX, offsetY, offsetZ, extra);
+        byBlock.put(key, request);
+    }
+
+    /**
+     * Queue a particle effect only one player can see
+     */
+    public void spawnFor(Player viewer, Particle particle, Location at, int count,
+                         double offsetX, double offsetY, double offsetZ, double extra) {
+        if (immediate) {
+            if (count > 1 && reducedPlayers.contains(viewer.getUniqueId())) {
+                count = Math.max(1, count / REDUCED_DIVISOR);
+            }
+            viewer.spawnParticle(particle, at.getX(), at.getY(), at.getZ(), count, offsetX, offsetY, offsetZ, extra);
+            return;
+        }
+        obtain(viewer, particle, at, count, offsetX, offsetY, offsetZ, extra);
+    }
+
+    /**
+     * Queue a sound for one player, played at their own location
+     */
+    public void playSound(Player listener, Sound sound, float volume, float pitch) {
+        if (immediate) {
+            listener.playSound(listener.getLocation(), sound, volume, pitch);
+            return;
+        }
+        sounds.add(new SoundRequest(listener, sound, volume, pitch));
+    }
+
+    /**
+     * Send everything queued during this tick
+     */
+    public void flush() {
+        Settings settings = plugin.getSettings();
+        budgetLeft = settings.getEffectsParticleBudget();
+        double viewDistance = settings.getEffectsViewDistance();
+
+        for (int i = 0; i < particles.size(); i++) {
+            ParticleRequest request = particles.get(i);
+            if (request.viewer != null) {
+                if (request.viewer.isOnline()) {
+                    send(request.viewer, request);
+                }
+            } else {
+                scratch.setWorld(request.world);
+                scratch.setX(request.x);
+                scratch.setY(request.y);
+                scratch.setZ(request.z);
+                plugin.getPlayerIndex().forEachWithin(scratch, viewDistance, viewer -> send(viewer, request));
+            }
+            request.viewer = null;
+            request.world = null;
+            pool.add(request);
+        }
+        particles.clear();
+        byBlock.clear();
+
+        for (int i = 0; i < sounds.size(); i++) {
+            SoundRequest request = sounds.get(i);
+            if (request.listener.isOnline()) {
+                request.listener.playSound(request.listener.getLocation(), request.sound, request.volume, request.pitch);
+                sentSounds++;
+            }
+        }
+        sounds.clear();
+    }
+
+    public boolean hasReducedEffects(Player player) {
+        return reducedPlayers.contains(player.getUniqueId());
+    }
+
+    /**
+     * Change a player's effect preference. It is stored on the player, so it survives relogs.
+     * @param player The player to update
+     * @param reduced true to receive fewer particles
+     */
+    public void setReducedEffects(Player player, boolean reduced) {
+        if (reduced) {
+            reducedPlayers.add(player.getUniqueId());
+            player.getPersistentDataContainer().set(reducedKey, PersistentDataType.BYTE, (byte) 1);
+        } else {
+            reducedPlayers.remove(player.getUniqueId());
+            player.getPersistentDataContainer().remove(reducedKey);
+        }
+    }
+
+    /**
+     * Cache the stored preference of a player that joined
+     * @param player The player that joined
+     */
+    public void loadPreferences(Player player) {
+        if (player.getPersistentDataContainer().has(reducedKey, PersistentDataType.BYTE)) {
+            reducedPlayers.add(player.getUniqueId());
+        }
+    }
+
+    public void forgetPreferences(Player player) {
+        reducedPlayers.remove(player.getUniqueId());
+    }
+
+    public long getSentParticles() {
+        return sentParticles;
+    }
+
+    public long getDroppedParticles() {
+        return droppedParticles;
+    }
+
+    public long getSentPackets() {
+        return sentPackets;
+    }
+
+    public long getSentSounds() {
+        return sentSounds;
+    }
+
+    private void send(Player viewer, ParticleRequest request) {
+        int count = request.count;
+        if (count > 1 && reducedPlayers.contains(viewer.getUniqueId())) {
+            count = Math.max(1, count / REDUCED_DIVISOR);
+        }
+
+        if (count > budgetLeft) {
+            droppedParticles += count;
+            return;
+        }
+
+        budgetLeft -= count;
+        sentParticles += count;
+        sentPackets++;
+        viewer.spawnParticle(request.particle, request.x, request.y, request.z, count,
+                request.offsetX, request.offsetY, request.offsetZ, request.extra);
+    }
+
+    private ParticleRequest obtain(Player viewer, Particle particle, Location at, int count,
+                                   double offsetX, double offsetY, double offsetZ, double extra) {
+        ParticleRequest request = pool.isEmpty() ? new ParticleRequest() : pool.remove(pool.size() - 1);
+        request.viewer = viewer;
+        request.particle = particle;
+        request.world = at.getWorld();
+        request.x = at.getX();
+        request.y = at.getY();
+        request.z = at.getZ();
+        request.count = count;
+        request.offsetX = offsetX;
+        request.offsetY = offsetY;
+        request.offsetZ = offsetZ;
+        request.extra = extra;
+        particles.add(request);
+        return request;
+    }
+
+    private static long blockKey(Location at) {
+        return ((long) (at.getBlockX() & 0x3FFFFFF) << 38)
+                | ((long) (at.getBlockZ() & 0x3FFFFFF) << 12)
+                | (at.getBlockY() & 0xFFF);
+    }
+
+    private static final class ParticleRequest {
+        private Player viewer;
+        private Particle particle;
+        private World world;
+        private double x;
+        private double y;
+        private double z;
+        private int count;
+        private double offsetX;
+        private double offsetY;
+        private double offsetZ;
+        private double extra;
+    }
+
+    private static final class SoundRequest {
+        private final Player listener;
+        private final Sound sound;
+        private final float volume;
+        private final float pitch;
+
+        private SoundRequest(Player listener, Sound sound, float volume, float pitch) {
+            this.listener = listener;
+            this.sound = sound;
+            this.volume = volume;
+            this.pitch = pitch;
+        }
+    }
+}
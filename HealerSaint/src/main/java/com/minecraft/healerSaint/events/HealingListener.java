@@ -1,20 +1,25 @@
 package com.minecraft.healerSaint.events;
 
 import org.bukkit.*;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.entity.PlayerDeathEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
 import org.bukkit.inventory.EquipmentSlot;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.api.SaintHealEvent;
+import com.minecraft.healerSaint.api.SaintResurrectEvent;
+import com.minecraft.healerSaint.managers.SaintManager;
+import com.minecraft.healerSaint.stats.PluginStats;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
 
 public class HealingListener implements Listener {
     private final HealerSaint plugin;
@@ -25,6 +30,24 @@ public class HealingListener implements Listener {
 
     @EventHandler
     public void onPlayerInteract(PlayerInteractEntityEvent event) {
+        long start = plugin.getStats().start();
+        handleHealingHand(event);
+        plugin.getStats().stop(PluginStats.Timer.INTERACT, start);
+    }
+
+    @EventHandler
+    public void onPlayerDeath(PlayerDeathEvent event) {
+        long start = plugin.getStats().start();
+        handleResurrection(event);
+        plugin.getStats().stop(PluginStats.Timer.DEATH, start);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        plugin.getResurrections().respawned(event.getPlayer());
+    }
+
+    private void handleHealingHand(PlayerInteractEntityEvent event) {
         // Make sure it's the main hand and the entity is a player
         if (event.getHand() != EquipmentSlot.HAND || !(event.getRightClicked() instanceof Player)) {
             return;
@@ -40,32 +63,45 @@ public class HealingListener implements Listener {
 
         // Check if the healer is holding the saint's staff
         ItemStack heldItem = healer.getInventory().getItemInMainHand();
-        if (heldItem.getType() != Material.STICK || !heldItem.hasItemMeta() ||
-                !heldItem.getItemMeta().hasDisplayName() ||
-                !heldItem.getItemMeta().getDisplayName().contains("Saint's Staff")) {
+        if (!plugin.getKit().isStaff(heldItem)) {
             return;
         }
 
         // Check if healing is on cooldown
-        if (plugin.getSaintManager().isHealingOnCooldown(healer)) {
-            int remaining = plugin.getSaintManager().getRemainingHealingCooldown(healer);
+        long remainingMillis = plugin.getSaintManager().getRemainingHealingCooldownMillis(healer);
+        if (remainingMillis > 0) {
+            long remaining = (remainingMillis + 999) / 1000;
             healer.sendMessage(ChatColor.RED + "Healing Hand is on cooldown! " + remaining + " seconds remaining.");
+            plugin.getStats().increment(PluginStats.Counter.COOLDOWN_REJECTIONS);
             return;
         }
 
         // Calculate amount to heal (5 hearts = 10 health points)
         double healAmount = 10.0;
 
+        // Let other plugins change or cancel the heal, only if any listens
+        if (SaintHealEvent.hasListeners()) {
+            double[] amounts = {healAmount};
+            SaintHealEvent healEvent = new SaintHealEvent(healer, SaintHealEvent.Source.HEALING_HAND,
+                    new Player[]{target}, amounts, 1);
+            Bukkit.getPluginManager().callEvent(healEvent);
+            if (healEvent.isCancelled() || amounts[0] <= 0) {
+                return;
+            }
+            healAmount = amounts[0];
+        }
+
         // Apply healing
         double newHealth = Math.min(target.getHealth() + healAmount, target.getMaxHealth());
         target.setHealth(newHealth);
+        plugin.getStats().increment(PluginStats.Counter.HEALS);
 
         // Set cooldown
         plugin.getSaintManager().setHealingCooldown(healer);
 
         // Visual and sound effects
-        target.getWorld().spawnParticle(Particle.HEART, target.getLocation().add(0, 1, 0), 10, 0.5, 0.5, 0.5, 0.1);
-        target.playSound(target.getLocation(), Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 1.5f);
+        plugin.getEffects().spawn(Particle.HEART, target.getLocation().add(0, 1, 0), 10, 0.5, 0.5, 0.5, 0.1);
+        plugin.getEffects().playSound(target, Sound.ENTITY_PLAYER_LEVELUP, 0.5f, 1.5f);
 
         // Messages
         healer.sendMessage(ChatColor.GREEN + "You have healed " + target.getName() + " for 5 hearts!");
@@ -73,27 +109,28 @@ public class HealingListener implements Listener {
                 ChatColor.GOLD + "Saint " + healer.getName() + ChatColor.GREEN + "!");
     }
 
-    @EventHandler
-    public void onPlayerDeath(PlayerDeathEvent event) {
+    private void handleResurrection(PlayerDeathEvent event) {
         Player deadPlayer = event.getEntity();
-        UUID currentSaintUUID = plugin.getSaintManager().getCurrentSaint();
+        SaintManager saintManager = plugin.getSaintManager();
 
-        // Check if there is a current saint
-        if (currentSaintUUID == null) {
+        // Check if there is a saint at all
+        if (saintManager.getSaints().isEmpty()) {
             return;
         }
 
-        Player saint = Bukkit.getPlayer(currentSaintUUID);
-
-        // Check if saint is online and nearby
-        if (saint == null || !saint.isOnline() || saint.equals(deadPlayer) ||
-                !saint.getWorld().equals(deadPlayer.getWorld()) ||
-                saint.getLocation().distance(deadPlayer.getLocation()) > plugin.getConfig().getDouble("resurrection_range", 10.0)) {
+        // Find the nearest online saint within range
+        Player saint = plugin.getScheduler().isRegionThreaded()
+                ? findNearbySaint(deadPlayer, plugin.getSettings().getResurrectionRange())
+                : plugin.getPlayerIndex().findNearest(deadPlayer.getLocation(),
+                        plugin.getSettings().getResurrectionRange(),
+                        candidate -> candidate != deadPlayer && saintManager.isSaint(candidate));
+        if (saint == null) {
             return;
         }
 
         // Check if resurrection is on cooldown for this player
         if (plugin.getSaintManager().isResurrectionOnCooldown(deadPlayer.getUniqueId())) {
+            plugin.getStats().increment(PluginStats.Counter.COOLDOWN_REJECTIONS);
             return;
         }
 
@@ -111,40 +148,46 @@ public class HealingListener implements Listener {
             savedItems.add(drops.remove(0));
         }
 
+        // Let other plugins change or cancel the resurrection, only if any listens
+        if (SaintResurrectEvent.hasListeners()) {
+            SaintResurrectEvent resurrectEvent = new SaintResurrectEvent(deadPlayer, saint, savedItems);
+            Bukkit.getPluginManager().callEvent(resurrectEvent);
+            if (resurrectEvent.isCancelled()) {
+                drops.addAll(0, savedItems);
+                return;
+            }
+        }
+
         // Set resurrection on cooldown
         plugin.getSaintManager().setResurrectionCooldown(deadPlayer.getUniqueId());
+        plugin.getStats().increment(PluginStats.Counter.RESURRECTIONS);
+
+        // Performed once the player respawned
+        plugin.getResurrections().add(deadPlayer, saint, savedItems);
+    }
 
-        // Schedule resurrection after respawn
-        new BukkitRunnable() {
-            @Override
-            public void run() {
-                // Make sure player is still online
-                if (deadPlayer.isOnline()) {
-                    // Return saved items to player
-                    for (ItemStack item : savedItems) {
-                        if (item != null && item.getType() != Material.AIR) {
-                            deadPlayer.getInventory().addItem(item);
-                        }
-                    }
-
-                    // Visual and sound effects
-                    deadPlayer.getWorld().spawnParticle(Particle.TOTEM_OF_UNDYING, deadPlayer.getLocation(), 50, 0.5, 1, 0.5, 0.1);
-                    deadPlayer.playSound(deadPlayer.getLocation(), Sound.ITEM_TOTEM_USE, 1.0f, 1.0f);
-
-                    // Messages
-                    saint.sendMessage(ChatColor.GOLD + "Your holy power has resurrected " +
-                            deadPlayer.getName() + " with half of their items!");
-                    deadPlayer.sendMessage(ChatColor.GOLD + "You have been resurrected by " +
-                            ChatColor.GOLD + "Saint " + saint.getName() +
-                            ChatColor.GOLD + " with half of your items!");
-
-                    // Broadcast message
-                    String message = ChatColor.GOLD + "✝ " + ChatColor.YELLOW + "Saint " +
-                            saint.getName() + " has performed a miracle, resurrecting " +
-                            deadPlayer.getName() + "! ✝";
-                    Bukkit.broadcastMessage(message);
-                }
+    /**
+     * Find the nearest saint around a player without the main-thread player index
+     * @param player The player to search around
+     * @param range The search range in blocks
+     * @return The nearest saint within range, or null if none
+     */
+    private Player findNearbySaint(Player player, double range) {
+        Location center = player.getLocation();
+        double rangeSquared = range * range;
+        Player nearest = null;
+        double nearestDistance = Double.MAX_VALUE;
+
+        for (Entity entity : player.getNearbyEntities(range, range, range)) {
+            if (!(entity instanceof Player) || !plugin.getSaintManager().isSaint((Player) entity)) {
+                continue;
             }
-        }.runTaskLater(plugin, 5L); // Run 5 ticks after death (respawn happens at this point)
+            double distance = entity.getLocation().distanceSquared(center);
+            if (distance <= rangeSquared && distance < nearestDistance) {
+                nearest = (Player) entity;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
     }
 }
\ No newline at end of file
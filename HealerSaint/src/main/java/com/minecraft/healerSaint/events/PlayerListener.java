@@ -3,14 +3,16 @@ package com.minecraft.healerSaint.events;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLoginEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
 
 import com.minecraft.healerSaint.HealerSaint;
-
-import java.util.UUID;
+import com.minecraft.healerSaint.stats.PluginStats;
 
 public class PlayerListener implements Listener {
     private final HealerSaint plugin;
@@ -19,32 +21,45 @@ public class PlayerListener implements Listener {
         this.plugin = plugin;
     }
 
-    @EventHandler
-    public void onPlayerJoin(PlayerJoinEvent event) {
-        Player player = event.getPlayer();
+    @EventHandler(priority = EventPriority.HIGHEST)
+    public void onAsyncPreLogin(AsyncPlayerPreLoginEvent event) {
+        // Registry lookup and saint roll happen here, off the main thread
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            plugin.getSaintManager().prefetch(event.getUniqueId());
+        }
+    }
 
-        // Check if this player should become a saint
-        boolean becameSaint = plugin.getSaintManager().checkNewSaint(player);
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onAsyncPreLoginResult(AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) {
+            plugin.getSaintManager().discardPrefetch(event.getUniqueId());
+        }
+    }
 
-        // If player is already a saint but doesn't have effects (e.g., after restart)
-        UUID currentSaint = plugin.getSaintManager().getCurrentSaint();
-        if (currentSaint != null && player.getUniqueId().equals(currentSaint) && !becameSaint) {
-            plugin.applySaintEffects(player);
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerLogin(PlayerLoginEvent event) {
+        if (event.getResult() != PlayerLoginEvent.Result.ALLOWED) {
+            plugin.getSaintManager().discardPrefetch(event.getPlayer().getUniqueId());
         }
     }
 
     @EventHandler
-    public void onPlayerQuit(PlayerQuitEvent event) {
-        Player player = event.getPlayer();
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        long start = plugin.getStats().start();
+        handleJoin(event.getPlayer());
+        plugin.getStats().stop(PluginStats.Timer.JOIN, start);
+    }
 
-        // If player is a saint, remove visual effects (but don't revoke saint status)
-        if (plugin.getSaintManager().isSaint(player)) {
-            plugin.removeSaintEffects(player);
-        }
+    @EventHandler
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        long start = plugin.getStats().start();
+        handleQuit(event.getPlayer());
+        plugin.getStats().stop(PluginStats.Timer.QUIT, start);
     }
 
     @EventHandler
     public void onPlayerChat(AsyncPlayerChatEvent event) {
+        long start = plugin.getStats().start();
         Player player = event.getPlayer();
 
         // If player is a saint, format their chat messages
@@ -53,5 +68,58 @@ public class PlayerListener implements Listener {
                     ChatColor.RESET + ": " + ChatColor.YELLOW + "%s";
             event.setFormat(format);
         }
+        plugin.getStats().stop(PluginStats.Timer.CHAT, start);
+    }
+
+    private void handleJoin(Player player) {
+        plugin.getNames().put(player.getUniqueId(), player.getName(), true);
+
+        // Cache the player's effect and broadcast preferences
+        plugin.getEffects().loadPreferences(player);
+        plugin.getBroadcasts().loadPreferences(player);
+
+        // Check if this player should become a saint
+        boolean becameSaint = plugin.getSaintManager().checkNewSaint(player);
+
+        // Only after the check, a last-seen time also makes the player known
+        plugin.getSaintManager().recordSeen(player);
+
+        // If player is already a saint but doesn't have effects (e.g., after restart)
+        if (!becameSaint && plugin.getSaintManager().isSaint(player)) {
+            plugin.applySaintEffects(player);
+
+            // Only saints ever received kits, so renamed sticks of other players are never upgraded
+            int upgraded = plugin.getKit().upgrade(player.getInventory());
+            if (upgraded > 0) {
+                plugin.getLogger().info("Upgraded " + upgraded + " outdated saint kit item(s) of " + player.getName());
+            }
+
+            // Promoted while offline; saints from before the marker only get a kit if they lost their staff
+            if (!plugin.getKit().hasReceived(player)) {
+                if (plugin.getKit().hasStaff(player.getInventory())) {
+                    plugin.getKit().setReceived(player, true);
+                } else {
+                    plugin.giveSaintKit(player);
+                    player.sendMessage(ChatColor.GOLD + "You were chosen as the Healer Saint while you were away!");
+                }
+            }
+        } else if (!becameSaint && plugin.getKit().hasReceived(player)) {
+            // Demoted while offline
+            plugin.removeSaintEffects(player);
+            plugin.getKit().setReceived(player, false);
+            player.sendMessage(ChatColor.RED + "You are no longer the Healer Saint.");
+        }
+    }
+
+    private void handleQuit(Player player) {
+        plugin.getSaintManager().recordSeen(player);
+        plugin.getNames().setOnline(player.getUniqueId(), false);
+        plugin.getEffects().forgetPreferences(player);
+        plugin.getBroadcasts().forgetPreferences(player);
+
+        // If player is a saint, remove visual effects (but don't revoke saint status)
+        if (plugin.getSaintManager().isSaint(player)) {
+            plugin.removeSaintEffects(player);
+        }
     }
 }
\ No newline at end of file
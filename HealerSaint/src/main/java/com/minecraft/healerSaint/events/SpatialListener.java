@@ -0,0 +1,92 @@
+package com.minecraft.healerSaint.events;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+public class SpatialListener implements Listener {
+    private final HealerSaint plugin;
+
+    public SpatialListener(HealerSaint plugin) {
+        this.plugin = plugin;
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerJoin(PlayerJoinEvent event) {
+        plugin.getPlayerIndex().update(event.getPlayer(), event.getPlayer().getLocation());
+        plugin.getAuraTracker().moved(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerQuit(PlayerQuitEvent event) {
+        plugin.getPlayerIndex().remove(event.getPlayer());
+        plugin.getAuraTracker().remove(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerMove(PlayerMoveEvent event) {
+        moved(event.getPlayer(), event.getFrom(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMove(VehicleMoveEvent event) {
+        // Players riding a vehicle get no move events of their own
+        movePassengers(event.getVehicle(), event.getFrom(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onPlayerTeleport(PlayerTeleportEvent event) {
+        if (event.getTo() != null) {
+            plugin.getPlayerIndex().update(event.getPlayer(), event.getTo());
+            plugin.getAuraTracker().moved(event.getPlayer(), event.getTo());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerChangedWorld(PlayerChangedWorldEvent event) {
+        plugin.getPlayerIndex().update(event.getPlayer(), event.getPlayer().getLocation());
+        plugin.getAuraTracker().moved(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onPlayerRespawn(PlayerRespawnEvent event) {
+        plugin.getPlayerIndex().update(event.getPlayer(), event.getRespawnLocation());
+        plugin.getAuraTracker().moved(event.getPlayer(), event.getRespawnLocation());
+    }
+
+    private void movePassengers(Entity vehicle, Location from, Location to) {
+        for (Entity passenger : vehicle.getPassengers()) {
+            if (passenger instanceof Player) {
+                moved((Player) passenger, from, to);
+            }
+            // e.g. a player on a horse that is carried by a boat
+            movePassengers(passenger, from, to);
+        }
+    }
+
+    private void moved(Player player, Location from, Location to) {
+        // Most moves stay inside the same block, skip them without touching the index or the auras
+        if (to == null || (from.getBlockX() == to.getBlockX() && from.getBlockY() == to.getBlockY()
+                && from.getBlockZ() == to.getBlockZ())) {
+            return;
+        }
+
+        // The index is only re-bucketed when the chunk changes
+        if ((from.getBlockX() >> 4) != (to.getBlockX() >> 4) || (from.getBlockZ() >> 4) != (to.getBlockZ() >> 4)) {
+            plugin.getPlayerIndex().update(player, to);
+        }
+        plugin.getAuraTracker().moved(player, to);
+    }
+}
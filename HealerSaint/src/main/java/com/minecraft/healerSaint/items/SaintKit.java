@@ -0,0 +1,230 @@
+package com.minecraft.healerSaint.items;
+
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.config.KitItemSettings;
+import com.minecraft.healerSaint.config.Settings;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The saint kit, including the Saint's Staff. The items are built once per config
+ * snapshot and handed out as clones. Customized items carry their kit id and
+ * version in the PDC, so copies made from an older template are recognised and
+ * replaced. Real staffs also carry the namespaced staff marker, which an anvil
+ * rename cannot add. Players who received the kit are marked in their own PDC, so
+ * saints promoted or demoted while offline are settled at their next login.
+ */
+public class SaintKit {
+    private static final String LEGACY_NAME = "Saint's Staff";
+
+    private final NamespacedKey staffKey;
+    private final NamespacedKey idKey;
+    private final NamespacedKey versionKey;
+    private final NamespacedKey receivedKey;
+
+    private volatile Templates templates;
+
+    public SaintKit(HealerSaint plugin) {
+        this.staffKey = new NamespacedKey(plugin, "saint_staff");
+        this.idKey = new NamespacedKey(plugin, "saint_kit");
+        this.versionKey = new NamespacedKey(plugin, "saint_kit_version");
+        this.receivedKey = new NamespacedKey(plugin, "saint_kit_received");
+        rebuild(plugin.getSettings());
+    }
+
+    /**
+     * Rebuild the templates from a settings snapshot
+     * @param settings The new settings
+     * @return true if any item differs from the previous templates
+     */
+    public boolean rebuild(Settings settings) {
+        Map<String, ItemStack> items = new HashMap<>();
+        List<ItemStack> ordered = new ArrayList<>();
+        Map<String, Integer> versions = new HashMap<>();
+        for (KitItemSettings item : settings.getKitItems().values()) {
+            ItemStack template = build(item);
+            items.put(item.getId(), template);
+            ordered.add(template);
+            versions.put(item.getId(), item.getVersion());
+        }
+
+        Templates previous = templates;
+        templates = new Templates(items, Collections.unmodifiableList(ordered), versions);
+        return previous != null && !previous.versions.equals(versions);
+    }
+
+    /**
+     * Creates the Saint's Staff item
+     * @return A copy of the staff template
+     */
+    public ItemStack createStaff() {
+        return templates.staff().clone();
+    }
+
+    /**
+     * Give every kit item to a player
+     * @param player The player to give the kit to
+     */
+    public void give(Player player) {
+        for (ItemStack template : templates.ordered) {
+            player.getInventory().addItem(template.clone());
+        }
+        setReceived(player, true);
+    }
+
+    /**
+     * Check whether a player received the kit since they last became a saint
+     * @param player The player to check
+     * @return true if the player carries the received marker
+     */
+    public boolean hasReceived(Player player) {
+        return player.getPersistentDataContainer().has(receivedKey, PersistentDataType.BYTE);
+    }
+
+    /**
+     * Mark or unmark a player as having received the kit
+     * @param player The player to update
+     * @param received false once the player is no saint anymore
+     */
+    public void setReceived(Player player, boolean received) {
+        if (received) {
+            player.getPersistentDataContainer().set(receivedKey, PersistentDataType.BYTE, (byte) 1);
+        } else {
+            player.getPersistentDataContainer().remove(receivedKey);
+        }
+    }
+
+    /**
+     * Check if an inventory holds a Saint's Staff
+     * @param inventory The inventory to search
+     * @return true if any stack is a staff
+     */
+    public boolean hasStaff(Inventory inventory) {
+        for (ItemStack item : inventory.getContents()) {
+            if (isStaff(item)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if an item is a Saint's Staff. Items of another type, or without meta,
+     * are rejected without touching the meta; otherwise the meta is read once.
+     * @param item The item to check
+     * @return true if the item carries the staff marker
+     */
+    public boolean isStaff(ItemStack item) {
+        if (item == null || item.getType() != templates.staff().getType() || !item.hasItemMeta()) {
+            return false;
+        }
+        return item.getItemMeta().getPersistentDataContainer().has(staffKey, PersistentDataType.INTEGER);
+    }
+
+    /**
+     * Replace kit items made from an older template, and staffs from before the kit
+     * was versioned (marked, or only recognised by name). Amounts are kept.
+     * @param inventory The inventory to upgrade
+     * @return The number of stacks replaced
+     */
+    public int upgrade(Inventory inventory) {
+        Templates current = templates;
+        ItemStack[] contents = inventory.getContents();
+        int upgraded = 0;
+        for (int slot = 0; slot < contents.length; slot++) {
+            ItemStack item = contents[slot];
+            if (item == null || !item.hasItemMeta()) {
+                continue;
+            }
+
+            ItemStack replacement = current.items.get(outdatedId(item.getType(), item.getItemMeta(), current));
+            if (replacement == null) {
+                continue;
+            }
+
+            ItemStack copy = replacement.clone();
+            copy.setAmount(Math.min(item.getAmount(), copy.getMaxStackSize()));
+            inventory.setItem(slot, copy);
+            upgraded++;
+        }
+        return upgraded;
+    }
+
+    /**
+     * @return The id of the kit item this outdated item should become, or null if it is current or no kit item
+     */
+    private String outdatedId(Material type, ItemMeta meta, Templates current) {
+        PersistentDataContainer data = meta.getPersistentDataContainer();
+        String id = data.get(idKey, PersistentDataType.STRING);
+        if (id != null) {
+            Integer version = data.get(versionKey, PersistentDataType.INTEGER);
+            Integer expected = current.versions.get(id);
+            return expected != null && !expected.equals(version) ? id : null;
+        }
+
+        // Staffs from before the kit templates
+        if (data.has(staffKey, PersistentDataType.INTEGER)
+                || (type == Material.STICK && meta.hasDisplayName() && meta.getDisplayName().contains(LEGACY_NAME))) {
+            return Settings.KIT_STAFF;
+        }
+        return null;
+    }
+
+    private ItemStack build(KitItemSettings item) {
+        ItemStack stack = new ItemStack(item.getMaterial(), item.getAmount());
+        boolean staff = item.getId().equals(Settings.KIT_STAFF);
+        if (!staff && !item.isCustomized()) {
+            return stack;
+        }
+
+        ItemMeta meta = stack.getItemMeta();
+        if (item.getName() != null) {
+            meta.setDisplayName(item.getName());
+        }
+        if (!item.getLore().isEmpty()) {
+            meta.setLore(item.getLore());
+        }
+        item.getEnchants().forEach((enchantment, level) -> meta.addEnchant(enchantment, level, true));
+        meta.addItemFlags(item.getFlags().toArray(new ItemFlag[0]));
+
+        PersistentDataContainer data = meta.getPersistentDataContainer();
+        data.set(idKey, PersistentDataType.STRING, item.getId());
+        data.set(versionKey, PersistentDataType.INTEGER, item.getVersion());
+        if (staff) {
+            data.set(staffKey, PersistentDataType.INTEGER, item.getVersion());
+        }
+
+        stack.setItemMeta(meta);
+        return stack;
+    }
+
+    private static final class Templates {
+        private final Map<String, ItemStack> items;
+        private final List<ItemStack> ordered;
+        private final Map<String, Integer> versions;
+
+        private Templates(Map<String, ItemStack> items, List<ItemStack> ordered, Map<String, Integer> versions) {
+            this.items = items;
+            this.ordered = ordered;
+            this.versions = versions;
+        }
+
+        private ItemStack staff() {
+            return items.get(Settings.KIT_STAFF);
+        }
+    }
+}
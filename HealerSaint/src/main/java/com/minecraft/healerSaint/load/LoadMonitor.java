@@ -0,0 +1,207 @@
+package com.minecraft.healerSaint.load;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.config.Settings;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.util.Locale;
+
+/**
+ * Samples the server's tick duration (MSPT) and sheds aura work when it climbs:
+ * first the particles, then the pulse rate, raising the heal of each pulse so
+ * healing per second stays the same. Levels go up as soon as a threshold is
+ * crossed and come back down one at a time, after aura_load_recovery seconds
+ * below 90% of the level's threshold.
+ * <p>
+ * MSPT comes from Paper's average tick time where available, otherwise from the
+ * CPU time the sampling thread spent per tick.
+ */
+public class LoadMonitor {
+    public static final int NORMAL = 0;
+    public static final int REDUCED_PARTICLES = 1;
+    public static final int HALF_PULSES = 2;
+    public static final int QUARTER_PULSES = 3;
+
+    private static final String[] LEVEL_NAMES = {"normal", "reduced particles", "half pulse rate", "quarter pulse rate"};
+    private static final int EVALUATE_TICKS = 20;
+    private static final double RECOVERY_FACTOR = 0.9;
+    // Weight of the newest sample, about a one second average
+    private static final double SMOOTHING = 0.05;
+
+    private final HealerSaint plugin;
+    private Method averageTickTime;
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private long lastCpuTime = -1;
+    private double sampledMspt;
+    private int tick;
+    private int calmSeconds;
+    private volatile double mspt;
+    private volatile int level = NORMAL;
+
+    public LoadMonitor(HealerSaint plugin) {
+        this.plugin = plugin;
+        this.averageTickTime = findAverageTickTime();
+    }
+
+    private static Method findAverageTickTime() {
+        try {
+            return Server.class.getMethod("getAverageTickTime");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Record one tick and re-evaluate the level once per second. Runs every tick.
+     */
+    public void sample() {
+        if (averageTickTime == null && threads.isCurrentThreadCpuTimeSupported()) {
+            long cpuTime = threads.getCurrentThreadCpuTime();
+            if (lastCpuTime >= 0) {
+                double tickMillis = (cpuTime - lastCpuTime) / 1_000_000.0;
+                sampledMspt += (tickMillis - sampledMspt) * SMOOTHING;
+            }
+            lastCpuTime = cpuTime;
+        }
+
+        if (++tick < EVALUATE_TICKS) {
+            return;
+        }
+        tick = 0;
+        mspt = readMspt();
+        evaluate(plugin.getSettings());
+    }
+
+    private double readMspt() {
+        if (averageTickTime != null) {
+            try {
+                return ((Number) averageTickTime.invoke(Bukkit.getServer())).doubleValue();
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // Not available on this server after all (e.g. region-threaded), sample instead
+                plugin.getLogger().warning("Average tick time unavailable, sampling tick CPU time instead");
+                averageTickTime = null;
+            }
+        }
+        return sampledMspt;
+    }
+
+    private void evaluate(Settings settings) {
+        if (!settings.isAuraAdaptive()) {
+            calmSeconds = 0;
+            setLevel(NORMAL);
+            return;
+        }
+
+        int target = NORMAL;
+        for (int candidate = QUARTER_PULSES; candidate > NORMAL; candidate--) {
+            if (mspt >= threshold(settings, candidate)) {
+                target = candidate;
+                break;
+            }
+        }
+
+        if (target > level) {
+            calmSeconds = 0;
+            setLevel(target);
+        } else if (level > NORMAL && mspt < threshold(settings, level) * RECOVERY_FACTOR) {
+            // Step back one level at a time, so a short calm does not bring back the full load
+            if (++calmSeconds >= settings.getAuraLoadRecoverySeconds()) {
+                calmSeconds = 0;
+                setLevel(level - 1);
+            }
+        } else {
+            calmSeconds = 0;
+        }
+    }
+
+    private static double threshold(Settings settings, int level) {
+        switch (level) {
+            case REDUCED_PARTICLES:
+                return settings.getAuraReduceParticlesMspt();
+            case HALF_PULSES:
+                return settings.getAuraHalvePulsesMspt();
+            default:
+                return settings.getAuraQuarterPulsesMspt();
+        }
+    }
+
+    private void setLevel(int next) {
+        int previous = level;
+        if (next == previous) {
+            return;
+        }
+        level = next;
+        plugin.getLogger().info(String.format(Locale.ROOT, "Aura load level %s -> %s at %.1f MSPT",
+                LEVEL_NAMES[previous], LEVEL_NAMES[next], mspt));
+        if (pulseMultiplier(previous) != pulseMultiplier(next)) {
+            plugin.auraRateChanged();
+        }
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public String getLevelName() {
+        return LEVEL_NAMES[level];
+    }
+
+    /**
+     * The last sampled tick duration
+     * @return The average milliseconds per tick
+     */
+    public double getMspt() {
+        return mspt;
+    }
+
+    /**
+     * Ticks between two pulses of a saint at the current level
+     * @param settings The live settings
+     * @return The configured interval, stretched while shedding pulses
+     */
+    public long getPulseIntervalTicks(Settings settings) {
+        return settings.getAuraPulseIntervalTicks() * pulseMultiplier(level);
+    }
+
+    /**
+     * Health one pulse restores at the current level, so healing per second stays the same
+     * @param settings The live settings
+     * @return The configured heal per pulse, raised while shedding pulses
+     */
+    public double getHealingPerPulse(Settings settings) {
+        return settings.getHealingPerPulse() * pulseMultiplier(level);
+    }
+
+    /**
+     * Particles around a saint per pulse at the current level
+     * @param settings The live settings
+     * @return The configured count, 1 with reduced particles, 0 at the lowest pulse rate
+     */
+    public int getAuraParticlesPerPulse(Settings settings) {
+        if (level >= QUARTER_PULSES) {
+            return 0;
+        }
+        return level >= REDUCED_PARTICLES ? 1 : settings.getAuraParticlesPerPulse();
+    }
+
+    /**
+     * Whether healed players get a heart particle
+     * @return false once particles are reduced
+     */
+    public boolean showsHealParticles() {
+        return level == NORMAL;
+    }
+
+    private static int pulseMultiplier(int level) {
+        if (level >= QUARTER_PULSES) {
+            return 4;
+        }
+        return level >= HALF_PULSES ? 2 : 1;
+    }
+}
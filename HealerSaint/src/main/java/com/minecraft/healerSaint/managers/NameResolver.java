@@ -0,0 +1,148 @@
+package com.minecraft.healerSaint.managers;
+
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+
+/**
+ * Resolves player names to UUIDs and back, for players who may be offline. Online
+ * players and names already in the {@link com.minecraft.healerSaint.util.NameIndex}
+ * are answered at once; anything else is looked up through the server on a
+ * background thread, because the server may have to read its user cache or ask
+ * the session servers. Every name found is added to the index and the storage.
+ */
+public class NameResolver {
+    // A name that could not be found is looked up again after this long
+    private static final long RETRY_MILLIS = 60 * 1000L;
+    private static final long IN_FLIGHT = Long.MAX_VALUE;
+
+    private final HealerSaint plugin;
+    private final ExecutorService lookups;
+
+    // Players whose name is being looked up, or could not be found: when the next lookup may start
+    private final Map<UUID, Long> pendingNames = new ConcurrentHashMap<>();
+
+    public NameResolver(HealerSaint plugin) {
+        this.plugin = plugin;
+        this.lookups = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HealerSaint-Names");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Find a player by name, ignoring case
+     * @param name The name to resolve
+     * @return The player's UUID, or null if no player of that name ever joined.
+     *         Completes on the global thread.
+     */
+    public CompletableFuture<UUID> resolve(String name) {
+        Player online = Bukkit.getPlayerExact(name);
+        if (online != null) {
+            return CompletableFuture.completedFuture(online.getUniqueId());
+        }
+        UUID cached = plugin.getNames().find(name);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
+        CompletableFuture<UUID> result = new CompletableFuture<>();
+        try {
+            lookups.execute(() -> {
+                UUID uuid = lookup(name);
+                plugin.getScheduler().runGlobalLater(() -> result.complete(uuid), 1L);
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            result.complete(null);
+        }
+        return result;
+    }
+
+    /**
+     * Get a player's name without blocking. An unknown name is looked up in the
+     * background, so a later call can return it.
+     * @param uuid The player's UUID
+     * @return The last known name, or null if it is not known yet
+     */
+    public String getName(UUID uuid) {
+        String name = plugin.getNames().getName(uuid);
+        if (name == null && startLookup(uuid)) {
+            try {
+                lookups.execute(() -> lookupName(uuid));
+            } catch (RejectedExecutionException e) {
+                // Shutting down
+                pendingNames.remove(uuid);
+            }
+        }
+        return name;
+    }
+
+    private boolean startLookup(UUID uuid) {
+        Long retryAt = pendingNames.get(uuid);
+        if (retryAt == null) {
+            return pendingNames.putIfAbsent(uuid, IN_FLIGHT) == null;
+        }
+        return retryAt <= System.currentTimeMillis() && pendingNames.replace(uuid, retryAt, IN_FLIGHT);
+    }
+
+    private void lookupName(UUID uuid) {
+        boolean found = false;
+        try {
+            String name = Bukkit.getOfflinePlayer(uuid).getName();
+            if (name != null) {
+                remember(uuid, name);
+                found = true;
+            }
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not look up the name of player " + uuid, e);
+        } finally {
+            if (found) {
+                pendingNames.remove(uuid);
+            } else {
+                pendingNames.put(uuid, System.currentTimeMillis() + RETRY_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Stop looking up names, lookups in flight are abandoned
+     */
+    public void shutdown() {
+        lookups.shutdownNow();
+    }
+
+    private UUID lookup(String name) {
+        try {
+            OfflinePlayer player = Bukkit.getOfflinePlayer(name);
+            UUID uuid = player.getUniqueId();
+
+            // The server makes up a profile for names it has never seen
+            if (!player.hasPlayedBefore() && !plugin.getSaintManager().isKnownPlayer(uuid)) {
+                return null;
+            }
+            remember(uuid, player.getName() != null ? player.getName() : name);
+            return uuid;
+        } catch (RuntimeException e) {
+            plugin.getLogger().log(Level.WARNING, "Could not look up player " + name, e);
+            return null;
+        }
+    }
+
+    private void remember(UUID uuid, String name) {
+        plugin.getNames().putOffline(uuid, name);
+        plugin.getSaintManager().recordName(uuid, name);
+    }
+}
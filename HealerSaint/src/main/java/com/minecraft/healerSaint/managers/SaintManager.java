@@ -1,65 +1,175 @@
 package com.minecraft.healerSaint.managers;
 
+import org.bukkit.Bukkit;
 import org.bukkit.ChatColor;
 import org.bukkit.entity.Player;
-import org.bukkit.configuration.file.FileConfiguration;
-import org.bukkit.configuration.file.YamlConfiguration;
 
 import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.config.Settings;
+import com.minecraft.healerSaint.coordination.CoordinatedState;
+import com.minecraft.healerSaint.coordination.SaintCoordinator;
+import com.minecraft.healerSaint.cooldown.CooldownStore;
+import com.minecraft.healerSaint.stats.PluginStats;
+import com.minecraft.healerSaint.storage.DataWriter;
+import com.minecraft.healerSaint.storage.SaintStorage;
+import com.minecraft.healerSaint.storage.SqlStorage;
+import com.minecraft.healerSaint.storage.StorageMigrator;
+import com.minecraft.healerSaint.storage.YamlStorage;
 
 import java.io.File;
-import java.io.IOException;
-import java.util.HashMap;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
-
-public class SaintManager {
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+/**
+ * Owns the saint and cooldown state. The saint set is an immutable snapshot swapped
+ * atomically on every change, and the cooldown stores are thread-safe, so async chat
+ * threads and region threads read them without locking. Persistence goes through
+ * the configured {@link SaintStorage} backend.
+ */
+public class SaintManager implements CoordinatedState {
     private final HealerSaint plugin;
-    private final File dataFile;
-    private FileConfiguration data;
+    private final DataWriter writer;
+    private final SaintStorage storage;
+    private volatile boolean dirty;
+
+    // Immutable, in promotion order; replaced as a whole on every change
+    private final AtomicReference<Set<UUID>> saints = new AtomicReference<>(Collections.emptySet());
+    private final CooldownStore healingCooldowns = new CooldownStore(System.currentTimeMillis());
+    private final CooldownStore resurrectionCooldowns = new CooldownStore(System.currentTimeMillis());
 
-    private UUID currentSaint;
-    private Map<UUID, Long> healingCooldowns = new HashMap<>();
-    private Map<UUID, Long> resurrectionCooldowns = new HashMap<>();
+    // Login decisions made off the main thread, consumed by the join that follows
+    private static final long PREFETCH_TTL_MILLIS = 60_000L;
+    private final Map<UUID, Prefetch> prefetched = new ConcurrentHashMap<>();
 
     private Random random = new Random();
 
+    /**
+     * @param plugin The plugin
+     * @throws IllegalStateException if the configured storage cannot be opened
+     */
     public SaintManager(HealerSaint plugin) {
         this.plugin = plugin;
-        this.dataFile = new File(plugin.getDataFolder(), "data.yml");
-
-        // Create data file if it doesn't exist
-        if (!dataFile.exists()) {
-            try {
-                plugin.getDataFolder().mkdirs();
-                dataFile.createNewFile();
-            } catch (IOException e) {
-                plugin.getLogger().severe("Could not create data.yml!");
-                e.printStackTrace();
+        this.writer = new DataWriter(plugin.getLogger());
+        this.storage = openStorage();
+
+        // Load saints
+        saints.set(Collections.unmodifiableSet(storage.loadSaints()));
+
+        // Load cooldowns that were still running at shutdown
+        storage.loadCooldowns(System.currentTimeMillis(), healingCooldowns, resurrectionCooldowns);
+    }
+
+    private SaintStorage openStorage() {
+        File folder = plugin.getDataFolder();
+        folder.mkdirs();
+        if (!plugin.getSettings().getStorageBackend().equals("sqlite")) {
+            return new YamlStorage(folder, writer, plugin.getLogger());
+        }
+
+        File database = new File(folder, "data.db");
+        SqlStorage sql;
+        try {
+            sql = new SqlStorage(database.toPath(), plugin.getLogger());
+            // First start on SQLite, copy the YAML data over
+            if (!sql.isMigrated() && StorageMigrator.hasYamlData(folder)
+                    && StorageMigrator.migrate(folder, sql, plugin.getLogger())) {
+                sql.markMigrated();
             }
+        } catch (SQLException e) {
+            writer.close();
+            throw new IllegalStateException("Could not open " + database.getName(), e);
         }
+        return sql;
+    }
 
-        // Load data
-        this.data = YamlConfiguration.loadConfiguration(dataFile);
+    /**
+     * Look up a logging-in player and roll their saint chance, off the main thread
+     * @param uuid The player logging in
+     */
+    public void prefetch(UUID uuid) {
+        long now = System.currentTimeMillis();
 
-        // Load current saint
-        if (data.contains("current_saint")) {
-            String uuidString = data.getString("current_saint");
-            if (uuidString != null && !uuidString.isEmpty()) {
-                this.currentSaint = UUID.fromString(uuidString);
+        // Drop decisions of logins that never reached the join
+        prefetched.values().removeIf(entry -> {
+            if (now - entry.created <= PREFETCH_TTL_MILLIS) {
+                return false;
             }
+            releaseSlot(entry);
+            return true;
+        });
+
+        // Only players new to the registry roll, so returning players neither count as
+        // rolls nor hold the saint slot
+        boolean known = storage.isKnownPlayer(uuid);
+        boolean saint = !known && rollForSaint();
+
+        // With a single saint, a winning roll also needs the network-wide saint slot
+        boolean claimed = false;
+        if (saint && needsSaintSlot()) {
+            saint = plugin.getCoordinator().claimSaintSlot();
+            claimed = saint;
+        }
+        prefetched.put(uuid, new Prefetch(known, saint, claimed, now));
+    }
+
+    /**
+     * Forget the prefetched data of a login that was denied
+     * @param uuid The player whose login was denied
+     */
+    public void discardPrefetch(UUID uuid) {
+        Prefetch prefetch = prefetched.remove(uuid);
+        if (prefetch != null) {
+            releaseSlot(prefetch);
+        }
+    }
+
+    private void releaseSlot(Prefetch prefetch) {
+        if (prefetch.claimed) {
+            // The slot was won for a saint that is not crowned, let the other servers crown one
+            plugin.getCoordinator().releaseSaintSlot();
         }
     }
 
+    /**
+     * Whether crowning needs the network-wide saint slot: only one saint, and coordination on
+     */
+    private boolean needsSaintSlot() {
+        return plugin.getCoordinator().isActive() && !plugin.getSettings().isAllowMultipleSaints()
+                && saints.get().isEmpty();
+    }
+
     /**
      * Checks if a player should become a Healer Saint
      * @param player The player to check
      * @return true if the player becomes a Saint, false otherwise
      */
     public boolean checkNewSaint(Player player) {
+        // Use what was decided during login, or decide now if the login was not seen
+        Prefetch prefetch = prefetched.remove(player.getUniqueId());
+        boolean crowned = checkNewSaint(player, prefetch);
+        if (!crowned && prefetch != null) {
+            releaseSlot(prefetch);
+        }
+        return crowned;
+    }
+
+    private boolean checkNewSaint(Player player, Prefetch prefetch) {
+        boolean known = prefetch != null ? prefetch.known : storage.isKnownPlayer(player.getUniqueId());
+
         // If there's already a saint and config doesn't allow multiple, return false
-        if (currentSaint != null && !plugin.getConfig().getBoolean("allow_multiple_saints", false)) {
+        Settings settings = plugin.getSettings();
+        if (!saints.get().isEmpty() && !settings.isAllowMultipleSaints()) {
             return false;
         }
 
@@ -68,37 +178,37 @@ public class SaintManager {
             return false;
         }
 
-        // Get chance from config (default to 1,000,000)
-        int chance = plugin.getConfig().getInt("saint_chance", 1000000);
-
         // Check if this player has joined before
-        if (!player.hasPlayedBefore() || !data.contains("players." + player.getUniqueId().toString())) {
-            // Player is new, roll the dice
-            int roll = random.nextInt(chance);
-
-            // If roll is 0 (1 in chance), player becomes a saint
-            if (roll == 0) {
+        if (!player.hasPlayedBefore() || !known) {
+            // Player is new, roll the dice unless it was rolled during login.
+            // The saint slot lease cannot be claimed on the main thread, so skip the roll if it needs one
+            if (prefetch != null ? prefetch.saint : !needsSaintSlot() && rollForSaint()) {
                 setSaint(player);
                 return true;
             }
 
             // Record that this player has joined
-            data.set("players." + player.getUniqueId().toString(), System.currentTimeMillis());
-            saveData();
+            storage.recordPlayer(player.getUniqueId(), System.currentTimeMillis());
         }
 
         return false;
     }
 
+    private boolean rollForSaint() {
+        // Get chance from config (default to 1,000,000)
+        int roll = random.nextInt(plugin.getSettings().getSaintChance());
+        plugin.getStats().increment(PluginStats.Counter.SAINT_ROLLS);
+
+        // If roll is 0 (1 in chance), player becomes a saint
+        return roll == 0;
+    }
+
     /**
-     * Sets a player as the Healer Saint
+     * Sets a player as the Healer Saint. Runs on the player's own thread, as it changes their inventory.
      * @param player The player to set as Saint
      */
     public void setSaint(Player player) {
-        // Save the new saint's UUID
-        currentSaint = player.getUniqueId();
-        data.set("current_saint", currentSaint.toString());
-        saveData();
+        promote(player.getUniqueId());
 
         // Give saint kit and effects
         plugin.giveSaintKit(player);
@@ -109,23 +219,160 @@ public class SaintManager {
     }
 
     /**
-     * Removes a player's Saint status
+     * Sets an offline player as the Healer Saint. They receive the kit and effects at their next login.
+     * @param uuid The player to set as Saint
+     * @param name The player's name, for the announcement
+     */
+    public void setSaint(UUID uuid, String name) {
+        promote(uuid);
+        plugin.announceSaint(name);
+    }
+
+    private void promote(UUID uuid) {
+        // Without multiple saints, the new saint replaces the old one
+        if (!plugin.getSettings().isAllowMultipleSaints()) {
+            for (UUID previous : saints.get()) {
+                if (previous.equals(uuid) || !update(previous, false)) {
+                    continue;
+                }
+                storage.recordHistory(previous, "removed", System.currentTimeMillis());
+
+                // An online former saint is changed on their own thread, not the one promoting
+                Player online = Bukkit.getPlayer(previous);
+                if (online != null) {
+                    plugin.getScheduler().runAtEntityLater(online, () -> demoted(online), 1L);
+                }
+            }
+        }
+
+        // Save the new saint's UUID
+        update(uuid, true);
+        storage.recordHistory(uuid, "promoted", System.currentTimeMillis());
+        markDirty();
+    }
+
+    /**
+     * Removes a player's Saint status. Runs on the player's own thread, as it changes their effects.
      * @param player The player to remove Saint status from
      */
     public void removeSaint(Player player) {
-        // Only proceed if this player is actually the current saint
-        if (player.getUniqueId().equals(currentSaint)) {
-            // Remove saint effects
-            plugin.removeSaintEffects(player);
-
+        // Only proceed if this player is actually a saint
+        if (update(player.getUniqueId(), false)) {
             // Update data
-            currentSaint = null;
-            data.set("current_saint", null);
-            saveData();
+            storage.recordHistory(player.getUniqueId(), "removed", System.currentTimeMillis());
+            markDirty();
+            demoted(player);
+        }
+    }
+
+    private void demoted(Player player) {
+        // Remove saint effects, a later promotion hands out a new kit
+        plugin.removeSaintEffects(player);
+        plugin.getKit().setReceived(player, false);
+
+        // Inform the player
+        player.sendMessage(ChatColor.RED + "You are no longer the Healer Saint.");
+    }
 
-            // Inform the player
-            player.sendMessage(ChatColor.RED + "You are no longer the Healer Saint.");
+    /**
+     * Removes an offline player's Saint status. Their kit marker is cleared at their next login.
+     * @param uuid The player to remove Saint status from
+     * @return true if the player was a saint
+     */
+    public boolean removeSaint(UUID uuid) {
+        if (!update(uuid, false)) {
+            return false;
         }
+        storage.recordHistory(uuid, "removed", System.currentTimeMillis());
+        markDirty();
+        return true;
+    }
+
+    /**
+     * Record that a player is online now. Saints are only demoted for inactivity
+     * after saint_inactivity_days without a join or quit.
+     * @param player The player that joined or quit
+     */
+    public void recordSeen(Player player) {
+        storage.recordLastSeen(player.getUniqueId(), System.currentTimeMillis());
+        storage.recordName(player.getUniqueId(), player.getName());
+    }
+
+    /**
+     * Check whether a player ever joined while the plugin ran
+     * @param uuid The player to check
+     * @return true if the player is in the registry
+     */
+    public boolean isKnownPlayer(UUID uuid) {
+        return storage.isKnownPlayer(uuid);
+    }
+
+    /**
+     * Remember the name of a player resolved while offline
+     * @param uuid The player
+     * @param name The player's name
+     */
+    public void recordName(UUID uuid, String name) {
+        storage.recordName(uuid, name);
+    }
+
+    /**
+     * Visit the last known name of every player
+     * @param visitor Receives (uuid, name) per player
+     */
+    public void loadNames(BiConsumer<UUID, String> visitor) {
+        storage.loadNames(visitor);
+    }
+
+    /**
+     * Scan one slice of the player registry and demote the offline saints in it
+     * that were last seen more than saint_inactivity_days ago
+     * @param cursor Where the previous slice ended, 0 to start a pass
+     * @param limit Maximum number of players to visit
+     * @return Where the next slice starts, or 0 once the pass is complete
+     */
+    public int sweepInactive(int cursor, int limit) {
+        long now = System.currentTimeMillis();
+        Set<UUID> current = saints.get();
+        if (cursor == 0) {
+            // Saints from before last-seen tracking start their inactivity period now
+            for (UUID saint : current) {
+                if (storage.getLastSeen(saint) < 0) {
+                    storage.recordLastSeen(saint, now);
+                }
+            }
+        }
+
+        // Compare bits, so the visitor allocates nothing for the players that are no saint
+        long[] bits = new long[current.size() * 2];
+        int i = 0;
+        for (UUID saint : current) {
+            bits[i++] = saint.getMostSignificantBits();
+            bits[i++] = saint.getLeastSignificantBits();
+        }
+
+        long cutoff = now - plugin.getSettings().getSaintInactivityMillis();
+        List<UUID> inactive = new ArrayList<>();
+        int next = storage.scanPlayers(cursor, limit, (msb, lsb, lastSeen) -> {
+            if (lastSeen >= cutoff) {
+                return;
+            }
+            for (int j = 0; j < bits.length; j += 2) {
+                if (bits[j] == msb && bits[j + 1] == lsb) {
+                    inactive.add(new UUID(msb, lsb));
+                }
+            }
+        });
+
+        for (UUID uuid : inactive) {
+            // Online saints are active, their last-seen time is only updated on join and quit
+            if (Bukkit.getPlayer(uuid) == null && update(uuid, false)) {
+                storage.recordHistory(uuid, "inactive", now);
+                markDirty();
+                plugin.getLogger().info("Removed Healer Saint " + uuid + " after " + plugin.getSettings().getSaintInactivityDays() + " days of inactivity");
+            }
+        }
+        return next;
     }
 
     /**
@@ -134,15 +381,52 @@ public class SaintManager {
      * @return true if the player is the Healer Saint, false otherwise
      */
     public boolean isSaint(Player player) {
-        return player.getUniqueId().equals(currentSaint);
+        return saints.get().contains(player.getUniqueId());
+    }
+
+    /**
+     * Check if a player is a Healer Saint
+     * @param uuid The UUID of the player to check
+     * @return true if the player is a Healer Saint, false otherwise
+     */
+    public boolean isSaint(UUID uuid) {
+        return saints.get().contains(uuid);
     }
 
     /**
-     * Get the current Healer Saint
-     * @return The UUID of the current Saint, or null if none exists
+     * Get all Healer Saints, online or not
+     * @return An immutable snapshot of the Saints' UUIDs, in promotion order
      */
-    public UUID getCurrentSaint() {
-        return currentSaint;
+    @Override
+    public Set<UUID> getSaints() {
+        return saints.get();
+    }
+
+    /**
+     * Publish a copy of the saint set with one saint added or removed
+     * @param uuid The saint to change
+     * @param add true to add, false to remove
+     * @return true if the set changed
+     */
+    private boolean update(UUID uuid, boolean add) {
+        while (true) {
+            Set<UUID> current = saints.get();
+            if (current.contains(uuid) == add) {
+                return false;
+            }
+
+            Set<UUID> next = new LinkedHashSet<>(current);
+            if (add) {
+                next.add(uuid);
+            } else {
+                next.remove(uuid);
+            }
+            Set<UUID> published = Collections.unmodifiableSet(next);
+            if (saints.compareAndSet(current, published)) {
+                plugin.getCoordinator().rosterChanged(published);
+                return true;
+            }
+        }
     }
 
     /**
@@ -151,14 +435,7 @@ public class SaintManager {
      * @return true if on cooldown, false otherwise
      */
     public boolean isHealingOnCooldown(Player player) {
-        if (!healingCooldowns.containsKey(player.getUniqueId())) {
-            return false;
-        }
-
-        long cooldownTime = plugin.getConfig().getInt("healing_hand_cooldown", 30) * 1000L;
-        long lastUsed = healingCooldowns.get(player.getUniqueId());
-
-        return System.currentTimeMillis() - lastUsed < cooldownTime;
+        return getRemainingHealingCooldownMillis(player) > 0;
     }
 
     /**
@@ -166,7 +443,10 @@ public class SaintManager {
      * @param player The Healer Saint to set on cooldown
      */
     public void setHealingCooldown(Player player) {
-        healingCooldowns.put(player.getUniqueId(), System.currentTimeMillis());
+        long now = System.currentTimeMillis();
+        long duration = plugin.getSettings().getHealingHandCooldownMillis();
+        healingCooldowns.start(player.getUniqueId(), now, duration);
+        plugin.getCoordinator().cooldownStarted(SaintCoordinator.HEALING_COOLDOWNS, player.getUniqueId(), now + duration);
     }
 
     /**
@@ -175,15 +455,16 @@ public class SaintManager {
      * @return Remaining cooldown in seconds
      */
     public int getRemainingHealingCooldown(Player player) {
-        if (!healingCooldowns.containsKey(player.getUniqueId())) {
-            return 0;
-        }
-
-        long cooldownTime = plugin.getConfig().getInt("healing_hand_cooldown", 30) * 1000L;
-        long lastUsed = healingCooldowns.get(player.getUniqueId());
-        long remaining = cooldownTime - (System.currentTimeMillis() - lastUsed);
+        return (int) (getRemainingHealingCooldownMillis(player) / 1000);
+    }
 
-        return Math.max(0, (int) (remaining / 1000));
+    /**
+     * Get remaining cooldown time for Healing Hand with a single lookup
+     * @param player The Healer Saint to check
+     * @return Remaining cooldown in milliseconds, 0 if not on cooldown
+     */
+    public long getRemainingHealingCooldownMillis(Player player) {
+        return healingCooldowns.remaining(player.getUniqueId(), System.currentTimeMillis());
     }
 
     /**
@@ -192,15 +473,7 @@ public class SaintManager {
      * @return true if on cooldown, false otherwise
      */
     public boolean isResurrectionOnCooldown(UUID targetUUID) {
-        if (!resurrectionCooldowns.containsKey(targetUUID)) {
-            return false;
-        }
-
-        long cooldownHours = plugin.getConfig().getInt("resurrection_cooldown", 2);
-        long cooldownTime = cooldownHours * 60 * 60 * 1000L; // Convert hours to milliseconds
-        long lastResurrection = resurrectionCooldowns.get(targetUUID);
-
-        return System.currentTimeMillis() - lastResurrection < cooldownTime;
+        return resurrectionCooldowns.remaining(targetUUID, System.currentTimeMillis()) > 0;
     }
 
     /**
@@ -208,7 +481,67 @@ public class SaintManager {
      * @param targetUUID The UUID of the player who was resurrected
      */
     public void setResurrectionCooldown(UUID targetUUID) {
-        resurrectionCooldowns.put(targetUUID, System.currentTimeMillis());
+        long now = System.currentTimeMillis();
+        long duration = plugin.getSettings().getResurrectionCooldownMillis();
+        resurrectionCooldowns.start(targetUUID, now, duration);
+        plugin.getCoordinator().cooldownStarted(SaintCoordinator.RESURRECTION_COOLDOWNS, targetUUID, now + duration);
+    }
+
+    /**
+     * Start a cooldown that started on another server
+     * @param store {@link SaintCoordinator#HEALING_COOLDOWNS} or {@link SaintCoordinator#RESURRECTION_COOLDOWNS}
+     * @param msb Most significant bits of the player's UUID
+     * @param lsb Least significant bits of the player's UUID
+     * @param expiry When the cooldown ends in epoch millis
+     */
+    @Override
+    public void applyRemoteCooldown(int store, long msb, long lsb, long expiry) {
+        if (expiry <= System.currentTimeMillis()) {
+            return;
+        }
+        if (store == SaintCoordinator.HEALING_COOLDOWNS) {
+            healingCooldowns.restore(msb, lsb, expiry);
+        } else if (store == SaintCoordinator.RESURRECTION_COOLDOWNS) {
+            resurrectionCooldowns.restore(msb, lsb, expiry);
+        }
+    }
+
+    /**
+     * Replace the saint roster with a newer one from another server
+     * @param roster The new roster, in promotion order
+     */
+    @Override
+    public void applyRemoteRoster(Set<UUID> roster) {
+        Set<UUID> previous = saints.getAndSet(Collections.unmodifiableSet(roster));
+        if (previous.equals(roster)) {
+            return;
+        }
+        markDirty();
+
+        // Saints gained or lost while online here get their effects changed on their own thread
+        plugin.getScheduler().runGlobalLater(() -> {
+            for (UUID uuid : previous) {
+                Player player = roster.contains(uuid) ? null : Bukkit.getPlayer(uuid);
+                if (player != null) {
+                    plugin.getScheduler().runAtEntityLater(player, () -> plugin.removeSaintEffects(player), 1L);
+                }
+            }
+            for (UUID uuid : roster) {
+                Player player = previous.contains(uuid) ? null : Bukkit.getPlayer(uuid);
+                if (player != null) {
+                    plugin.getScheduler().runAtEntityLater(player, () -> plugin.applySaintEffects(player), 1L);
+                }
+            }
+        }, 1L);
+    }
+
+    /**
+     * Evict every cooldown that ended
+     */
+    public void expireCooldowns() {
+        long now = System.currentTimeMillis();
+        healingCooldowns.expire(now);
+        resurrectionCooldowns.expire(now);
     }
 
     /**
@@ -216,38 +549,95 @@ public class SaintManager {
      * @return true if resurrection succeeds, false otherwise
      */
     public boolean rollForResurrection() {
-        int chance = plugin.getConfig().getInt("resurrection_chance", 10);
+        int chance = plugin.getSettings().getResurrectionChance();
         int roll = random.nextInt(100);
 
         return roll < chance;
     }
 
     /**
-     * Save data to file
+     * Mark data as changed. It is written by the next autosave or flush.
      */
-    public void saveData() {
-        try {
-            data.save(dataFile);
-        } catch (IOException e) {
-            plugin.getLogger().severe("Could not save data.yml!");
-            e.printStackTrace();
+    public void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * Save data if anything changed since the last save
+     */
+    public void saveIfDirty() {
+        PluginStats stats = plugin.getStats();
+        long start = stats.start();
+
+        if (healingCooldowns.isDirty() || resurrectionCooldowns.isDirty()) {
+            storage.saveCooldowns(System.currentTimeMillis(), healingCooldowns, resurrectionCooldowns);
         }
+        saveData();
+
+        stats.stop(PluginStats.Timer.SAVE, start);
     }
 
     /**
-     * Reload data from file
+     * Hand the saint roster, if changed, and everything else queued to the storage
+     * @return A future completed once it is on disk
      */
-    public void reloadData() {
-        this.data = YamlConfiguration.loadConfiguration(dataFile);
+    public synchronized CompletableFuture<Void> saveData() {
+        if (dirty) {
+            dirty = false;
+            storage.saveSaints(saints.get());
+        }
+        return storage.flush();
+    }
 
-        // Reload current saint
-        if (data.contains("current_saint")) {
-            String uuidString = data.getString("current_saint");
-            if (uuidString != null && !uuidString.isEmpty()) {
-                this.currentSaint = UUID.fromString(uuidString);
-            } else {
-                this.currentSaint = null;
-            }
+    /**
+     * Get the background writer, for other components that write files
+     * @return The writer owning all disk writes
+     */
+    public DataWriter getDataWriter() {
+        return writer;
+    }
+
+    /**
+     * Write pending data and stop the background writer
+     */
+    public void shutdown() {
+        saveIfDirty();
+        storage.close();
+        writer.close();
+    }
+
+    /**
+     * Reload the saint roster from the storage, without waiting for the disk.
+     * The roster is read on the writer thread and swapped in on the global thread.
+     * @return A future completed once the reloaded roster is in place
+     */
+    public synchronized CompletableFuture<Void> reloadData() {
+        // Let pending changes reach the disk first, otherwise they would be lost
+        Set<UUID> saved = saints.get();
+        CompletableFuture<Void> reloaded = new CompletableFuture<>();
+        saveData()
+                .thenApplyAsync(ignored -> Collections.unmodifiableSet(storage.loadSaints()), writer::execute)
+                .thenAccept(loaded -> plugin.getScheduler().runGlobalLater(() -> {
+                    // A change made while reading is newer than the file, keep it
+                    if (saints.compareAndSet(saved, loaded) && !saved.equals(loaded)) {
+                        plugin.getCoordinator().rosterChanged(loaded);
+                    }
+                    reloaded.complete(null);
+                }, 1L));
+        return reloaded;
+    }
+
+    private static final class Prefetch {
+        private final boolean known;
+        private final boolean saint;
+        private final boolean claimed;
+        private final long created;
+
+        private Prefetch(boolean known, boolean saint, boolean claimed, long created) {
+            this.known = known;
+            this.saint = saint;
+            this.claimed = claimed;
+            this.created = created;
         }
     }
 }
\ No newline at end of file
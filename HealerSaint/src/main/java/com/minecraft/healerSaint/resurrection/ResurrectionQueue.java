@@ -0,0 +1,176 @@
+package com.minecraft.healerSaint.resurrection;
+
+import org.bukkit.ChatColor;
+import org.bukkit.Material;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.scheduler.TaskScheduler;
+import com.minecraft.healerSaint.stats.PluginStats;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntSupplier;
+
+/**
+ * Resurrections waiting for the dead player to respawn. A death only records the
+ * saved items; the respawn moves the entry to the ready queue, which one repeating
+ * task drains up to resurrection_per_tick entries at a time. Deaths, respawns and
+ * quits may be reported from any thread, {@link #drain()} runs on a single (global) thread.
+ */
+public class ResurrectionQueue {
+    // Players that stay dead this long (e.g. quit on the death screen) lose the saved items
+    private static final long PENDING_TTL_MILLIS = 10 * 60 * 1000L;
+    private static final int EXPIRY_CHECK_TICKS = 20;
+
+    private final TaskScheduler scheduler;
+    private final PluginStats stats;
+    private final IntSupplier perTick;
+    private final Performer performer;
+    private final Map<UUID, Resurrection> awaitingRespawn = new ConcurrentHashMap<>();
+    private final Queue<Resurrection> ready = new ConcurrentLinkedQueue<>();
+    private int tick;
+
+    public ResurrectionQueue(HealerSaint plugin) {
+        this(plugin.getScheduler(), plugin.getStats(), () -> plugin.getSettings().getResurrectionPerTick(),
+                (player, saint, savedItems) -> perform(plugin, player, saint, savedItems));
+    }
+
+    /**
+     * @param scheduler The scheduler, resurrections run on the player's thread when it is region-threaded
+     * @param stats Where the drain time and expired resurrections are counted
+     * @param perTick Resurrections performed per drain
+     * @param performer Gives the saved items back to a respawned player
+     */
+    ResurrectionQueue(TaskScheduler scheduler, PluginStats stats, IntSupplier perTick, Performer performer) {
+        this.scheduler = scheduler;
+        this.stats = stats;
+        this.perTick = perTick;
+        this.performer = performer;
+    }
+
+    /**
+     * Record a resurrection granted at death, performed once the player respawned
+     * @param dead The player that died
+     * @param saint The saint performing the miracle
+     * @param savedItems The items given back after the respawn
+     */
+    public void add(Player dead, Player saint, List<ItemStack> savedItems) {
+        awaitingRespawn.put(dead.getUniqueId(), new Resurrection(saint, savedItems, System.currentTimeMillis()));
+    }
+
+    /**
+     * Queue the pending resurrection of a player that respawned, if any
+     * @param player The player that respawned
+     */
+    public void respawned(Player player) {
+        Resurrection resurrection = awaitingRespawn.remove(player.getUniqueId());
+        if (resurrection != null) {
+            resurrection.player = player;
+            ready.add(resurrection);
+        }
+    }
+
+    /**
+     * Perform up to resurrection_per_tick ready resurrections
+     */
+    public void drain() {
+        long start = stats.start();
+
+        if (++tick >= EXPIRY_CHECK_TICKS) {
+            tick = 0;
+            expire(System.currentTimeMillis());
+        }
+
+        int budget = perTick.getAsInt();
+        Resurrection resurrection;
+        while (budget > 0 && (resurrection = ready.poll()) != null) {
+            Resurrection next = resurrection;
+            if (scheduler.isRegionThreaded()) {
+                // The player's inventory may only be touched on its own region thread
+                scheduler.runAtEntityLater(next.player, () -> perform(next), 1L);
+            } else {
+                perform(next);
+            }
+            budget--;
+        }
+
+        stats.stop(PluginStats.Timer.RESURRECT, start);
+    }
+
+    public int getAwaitingRespawn() {
+        return awaitingRespawn.size();
+    }
+
+    public int getReady() {
+        return ready.size();
+    }
+
+    private void expire(long now) {
+        Iterator<Resurrection> pending = awaitingRespawn.values().iterator();
+        while (pending.hasNext()) {
+            if (now - pending.next().diedAt > PENDING_TTL_MILLIS) {
+                pending.remove();
+                stats.increment(PluginStats.Counter.RESURRECTIONS_EXPIRED);
+            }
+        }
+    }
+
+    private void perform(Resurrection resurrection) {
+        // Make sure player is still online
+        if (resurrection.player.isOnline()) {
+            performer.perform(resurrection.player, resurrection.saint, resurrection.savedItems);
+        }
+    }
+
+    private static void perform(HealerSaint plugin, Player player, Player saint, List<ItemStack> savedItems) {
+        // Return saved items to player
+        for (ItemStack item : savedItems) {
+            if (item != null && item.getType() != Material.AIR) {
+                player.getInventory().addItem(item);
+            }
+        }
+
+        // Visual and sound effects
+        plugin.getEffects().spawn(Particle.TOTEM_OF_UNDYING, player.getLocation(), 50, 0.5, 1, 0.5, 0.1);
+        plugin.getEffects().playSound(player, Sound.ITEM_TOTEM_USE, 1.0f, 1.0f);
+
+        // Messages
+        saint.sendMessage(ChatColor.GOLD + "Your holy power has resurrected " +
+                player.getName() + " with half of their items!");
+        player.sendMessage(ChatColor.GOLD + "You have been resurrected by " +
+                ChatColor.GOLD + "Saint " + saint.getName() +
+                ChatColor.GOLD + " with half of your items!");
+
+        // Broadcast message, merged with the saint's other resurrections during a death storm
+        plugin.getBroadcasts().miracle(saint, player);
+    }
+
+    /**
+     * Performs a resurrection on the respawned player's thread
+     */
+    interface Performer {
+        void perform(Player player, Player saint, List<ItemStack> savedItems);
+    }
+
+    private static final class Resurrection {
+        private final Player saint;
+        private final List<ItemStack> savedItems;
+        private final long diedAt;
+        private Player player;
+
+        private Resurrection(Player saint, List<ItemStack> savedItems, long diedAt) {
+            this.saint = saint;
+            this.savedItems = savedItems;
+            this.diedAt = diedAt;
+        }
+    }
+}
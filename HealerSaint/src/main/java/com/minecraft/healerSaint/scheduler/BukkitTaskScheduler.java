@@ -0,0 +1,57 @@
+package com.minecraft.healerSaint.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * The standard single main thread scheduler. Entity tasks run on the main thread as well.
+ */
+public class BukkitTaskScheduler implements TaskScheduler {
+    private final Plugin plugin;
+
+    public BukkitTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return false;
+    }
+
+    @Override
+    public ScheduledTask runGlobalTimer(Runnable task, long delay, long period) {
+        BukkitTask handle = Bukkit.getScheduler().runTaskTimer(plugin, task, delay, period);
+        return handle::cancel;
+    }
+
+    @Override
+    public ScheduledTask runGlobalLater(Runnable task, long delay) {
+        BukkitTask handle = Bukkit.getScheduler().runTaskLater(plugin, task, delay);
+        return handle::cancel;
+    }
+
+    @Override
+    public ScheduledTask runAtEntityLater(Entity entity, Runnable task, long delay) {
+        BukkitTask handle = Bukkit.getScheduler().runTaskLater(plugin, task, delay);
+        return handle::cancel;
+    }
+
+    @Override
+    public ScheduledTask runAtEntityTimer(Entity entity, Runnable task, Runnable retired, long delay, long period) {
+        BukkitTask[] handle = new BukkitTask[1];
+        handle[0] = Bukkit.getScheduler().runTaskTimer(plugin, () -> {
+            // Mirror the entity scheduler, which retires tasks of removed entities
+            if (!entity.isValid()) {
+                handle[0].cancel();
+                if (retired != null) {
+                    retired.run();
+                }
+                return;
+            }
+            task.run();
+        }, delay, period);
+        return handle[0]::cancel;
+    }
+}
@@ -0,0 +1,116 @@
+package com.minecraft.healerSaint.scheduler;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Server;
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.function.Consumer;
+
+/**
+ * Scheduler for region-threaded (Folia) servers. The plugin compiles against the
+ * Spigot API, so the Paper region schedulers are called through reflection; the
+ * methods are resolved once when the scheduler is created.
+ */
+public class FoliaTaskScheduler implements TaskScheduler {
+    private static final String REGIONIZED_SERVER = "io.papermc.paper.threadedregions.RegionizedServer";
+    private static final String PACKAGE = "io.papermc.paper.threadedregions.scheduler.";
+
+    private static final ScheduledTask RETIRED = () -> {
+    };
+
+    private final Plugin plugin;
+    private final Object globalScheduler;
+    private final Method globalRunAtFixedRate;
+    private final Method globalRunDelayed;
+    private final Method getEntityScheduler;
+    private final Method entityRunDelayed;
+    private final Method entityRunAtFixedRate;
+    private final Method cancel;
+
+    public FoliaTaskScheduler(Plugin plugin) {
+        this.plugin = plugin;
+        try {
+            Class<?> globalType = Class.forName(PACKAGE + "GlobalRegionScheduler");
+            Class<?> entityType = Class.forName(PACKAGE + "EntityScheduler");
+            Class<?> taskType = Class.forName(PACKAGE + "ScheduledTask");
+
+            globalScheduler = Server.class.getMethod("getGlobalRegionScheduler").invoke(Bukkit.getServer());
+            globalRunAtFixedRate = globalType.getMethod("runAtFixedRate", Plugin.class, Consumer.class, long.class, long.class);
+            globalRunDelayed = globalType.getMethod("runDelayed", Plugin.class, Consumer.class, long.class);
+            getEntityScheduler = Entity.class.getMethod("getScheduler");
+            entityRunDelayed = entityType.getMethod("runDelayed", Plugin.class, Consumer.class, Runnable.class, long.class);
+            entityRunAtFixedRate = entityType.getMethod("runAtFixedRate", Plugin.class, Consumer.class, Runnable.class, long.class, long.class);
+            cancel = taskType.getMethod("cancel");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Region-threaded server without the expected scheduler API", e);
+        }
+    }
+
+    /**
+     * Check whether the server runs regions on separate threads
+     * @return true on Folia and its forks
+     */
+    public static boolean isSupported() {
+        try {
+            Class.forName(REGIONIZED_SERVER);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return true;
+    }
+
+    @Override
+    public ScheduledTask runGlobalTimer(Runnable task, long delay, long period) {
+        Consumer<Object> body = handle -> task.run();
+        return wrap(invoke(globalRunAtFixedRate, globalScheduler, plugin, body, delay, period));
+    }
+
+    @Override
+    public ScheduledTask runGlobalLater(Runnable task, long delay) {
+        Consumer<Object> body = handle -> task.run();
+        return wrap(invoke(globalRunDelayed, globalScheduler, plugin, body, delay));
+    }
+
+    @Override
+    public ScheduledTask runAtEntityLater(Entity entity, Runnable task, long delay) {
+        Consumer<Object> body = handle -> task.run();
+        Object scheduler = invoke(getEntityScheduler, entity);
+        return wrap(invoke(entityRunDelayed, scheduler, plugin, body, null, delay));
+    }
+
+    @Override
+    public ScheduledTask runAtEntityTimer(Entity entity, Runnable task, Runnable retired, long delay, long period) {
+        Consumer<Object> body = handle -> task.run();
+        Object scheduler = invoke(getEntityScheduler, entity);
+        return wrap(invoke(entityRunAtFixedRate, scheduler, plugin, body, retired, delay, period));
+    }
+
+    private ScheduledTask wrap(Object handle) {
+        // The entity schedulers return null for entities that are already removed
+        if (handle == null) {
+            return RETIRED;
+        }
+        return () -> invoke(cancel, handle);
+    }
+
+    private static Object invoke(Method method, Object target, Object... args) {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.minecraft.healerSaint.scheduler;
+
+/**
+ * Handle to a task started through a {@link TaskScheduler}
+ */
+public interface ScheduledTask {
+    void cancel();
+}
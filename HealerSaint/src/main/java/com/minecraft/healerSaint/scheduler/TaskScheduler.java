@@ -0,0 +1,66 @@
+package com.minecraft.healerSaint.scheduler;
+
+import org.bukkit.entity.Entity;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * Schedules the plugin's tasks on whatever threading model the server uses.
+ * On a standard server everything runs on the main thread; on a region-threaded
+ * (Folia) server entity tasks run on the thread owning the entity's region and
+ * global tasks on the global region thread.
+ */
+public interface TaskScheduler {
+    /**
+     * Pick the scheduler matching the running server
+     * @param plugin The owning plugin
+     * @return The Folia scheduler on region-threaded servers, the Bukkit scheduler otherwise
+     */
+    static TaskScheduler create(Plugin plugin) {
+        return FoliaTaskScheduler.isSupported() ? new FoliaTaskScheduler(plugin) : new BukkitTaskScheduler(plugin);
+    }
+
+    /**
+     * Whether tasks may run on several threads at once.
+     * Main-thread-only structures must not be shared between entity tasks when this is true.
+     * @return true on region-threaded servers
+     */
+    boolean isRegionThreaded();
+
+    /**
+     * Run a task repeatedly, not bound to any entity or region
+     * @param task The task to run
+     * @param delay Ticks before the first run, at least 1
+     * @param period Ticks between runs
+     * @return The handle to cancel the task
+     */
+    ScheduledTask runGlobalTimer(Runnable task, long delay, long period);
+
+    /**
+     * Run a task once, not bound to any entity or region. Safe to call from any thread.
+     * @param task The task to run
+     * @param delay Ticks before the run, at least 1
+     * @return The handle to cancel the task
+     */
+    ScheduledTask runGlobalLater(Runnable task, long delay);
+
+    /**
+     * Run a task once, on the thread that owns the entity
+     * @param entity The entity the task works on
+     * @param task The task to run
+     * @param delay Ticks before the run, at least 1
+     * @return The handle to cancel the task
+     */
+    ScheduledTask runAtEntityLater(Entity entity, Runnable task, long delay);
+
+    /**
+     * Run a task repeatedly, on the thread that owns the entity, until it is
+     * cancelled or the entity is removed
+     * @param entity The entity the task works on
+     * @param task The task to run
+     * @param retired Run instead once the entity was removed, may be null
+     * @param delay Ticks before the first run, at least 1
+     * @param period Ticks between runs
+     * @return The handle to cancel the task
+     */
+    ScheduledTask runAtEntityTimer(Entity entity, Runnable task, Runnable retired, long delay, long period);
+}
@@ -0,0 +1,12 @@
+package com.minecraft.healerSaint.spatial;
+
+import org.bukkit.entity.Player;
+
+/**
+ * Notified by the {@link AuraTracker} when a player enters or leaves a saint's aura
+ */
+public interface AuraListener {
+    void onEnter(Player saint, Player member);
+
+    void onLeave(Player saint, Player member);
+}
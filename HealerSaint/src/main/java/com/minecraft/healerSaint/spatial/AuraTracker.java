@@ -0,0 +1,181 @@
+package com.minecraft.healerSaint.spatial;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Keeps the set of players inside each saint's aura. Membership is only
+ * re-evaluated when a player crosses a block boundary, teleports, changes world,
+ * respawns or quits, so a pulse just iterates the known members.
+ * Main thread only, kept up to date by {@link com.minecraft.healerSaint.events.SpatialListener}.
+ */
+public class AuraTracker {
+    private final HealerSaint plugin;
+    private final Map<UUID, Aura> auras = new HashMap<>();
+    private final List<AuraListener> listeners = new ArrayList<>();
+
+    // Scratch state, main thread only
+    private final Location scratch = new Location(null, 0, 0, 0);
+    private final Set<Player> inRange = new HashSet<>();
+
+    public AuraTracker(HealerSaint plugin) {
+        this.plugin = plugin;
+    }
+
+    public void addListener(AuraListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Start tracking the aura of a saint
+     * @param saint The saint, who must be online
+     */
+    public void addSaint(Player saint) {
+        if (!auras.containsKey(saint.getUniqueId())) {
+            auras.put(saint.getUniqueId(), new Aura(saint));
+        }
+        refresh(auras.get(saint.getUniqueId()), saint.getLocation());
+    }
+
+    /**
+     * Stop tracking the aura of a saint, every member leaves it
+     * @param saint The former saint
+     */
+    public void removeSaint(Player saint) {
+        Aura aura = auras.remove(saint.getUniqueId());
+        if (aura == null) {
+            return;
+        }
+        for (Player member : aura.members) {
+            fireLeave(saint, member);
+        }
+        aura.members.clear();
+    }
+
+    /**
+     * Re-evaluate the auras a player is in, and their own aura if they are a saint
+     * @param player The player that moved
+     * @param to Where the player is now
+     */
+    public void moved(Player player, Location to) {
+        Aura own = auras.get(player.getUniqueId());
+        if (own != null) {
+            refresh(own, to);
+        }
+
+        double radiusSquared = plugin.getSettings().getHealingRadiusSquared();
+        for (Aura aura : auras.values()) {
+            if (aura == own) {
+                continue;
+            }
+            Location center = aura.saint.getLocation(scratch);
+            boolean inside = center.getWorld().equals(to.getWorld()) && center.distanceSquared(to) <= radiusSquared;
+            if (inside && aura.members.add(player)) {
+                fireEnter(aura.saint, player);
+            } else if (!inside && aura.members.remove(player)) {
+                fireLeave(aura.saint, player);
+            }
+        }
+    }
+
+    /**
+     * Forget a player that quit, including their aura if they are a saint
+     * @param player The player that quit
+     */
+    public void remove(Player player) {
+        removeSaint(player);
+        for (Aura aura : auras.values()) {
+            if (aura.members.remove(player)) {
+                fireLeave(aura.saint, player);
+            }
+        }
+    }
+
+    /**
+     * Re-evaluate every aura, e.g. after the healing radius changed
+     */
+    public void rebuild() {
+        for (Aura aura : auras.values()) {
+            refresh(aura, aura.saint.getLocation());
+        }
+    }
+
+    /**
+     * Get the players inside a saint's aura
+     * @param saintUUID The saint
+     * @return The members, empty if the saint is not tracked. Only valid until the next update
+     */
+    public Collection<Player> getMembers(UUID saintUUID) {
+        Aura aura = auras.get(saintUUID);
+        return aura == null ? Collections.emptySet() : Collections.unmodifiableSet(aura.members);
+    }
+
+    /**
+     * @return The number of players inside an aura, counted once per aura
+     */
+    public int size() {
+        int size = 0;
+        for (Aura aura : auras.values()) {
+            size += aura.members.size();
+        }
+        return size;
+    }
+
+    private void refresh(Aura aura, Location center) {
+        inRange.clear();
+        plugin.getPlayerIndex().forEachWithin(center, plugin.getSettings().getHealingRadius(), player -> {
+            // The saint does not heal themselves
+            if (player != aura.saint) {
+                inRange.add(player);
+            }
+        });
+
+        aura.members.removeIf(member -> {
+            if (inRange.contains(member)) {
+                return false;
+            }
+            fireLeave(aura.saint, member);
+            return true;
+        });
+        for (Player player : inRange) {
+            if (aura.members.add(player)) {
+                fireEnter(aura.saint, player);
+            }
+        }
+        inRange.clear();
+    }
+
+    private void fireEnter(Player saint, Player member) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onEnter(saint, member);
+        }
+    }
+
+    private void fireLeave(Player saint, Player member) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).onLeave(saint, member);
+        }
+    }
+
+    private static final class Aura {
+        private final Player saint;
+        private final Set<Player> members = new LinkedHashSet<>();
+
+        private Aura(Player saint) {
+            this.saint = saint;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.minecraft.healerSaint.spatial;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * Per-world uniform grid that buckets items by the chunk they are in.
+ * Range queries only visit the chunks overlapping the range. Not thread-safe.
+ * @param <T> The indexed item type
+ */
+public class ChunkGrid<T> {
+    private final Map<UUID, Map<Long, List<T>>> worlds = new HashMap<>();
+    private final Map<T, Cell> cells = new HashMap<>();
+
+    /**
+     * Move an item to the chunk it is now in
+     * @param item The item to index
+     * @param world The world the item is in
+     * @param chunkX The chunk X coordinate
+     * @param chunkZ The chunk Z coordinate
+     * @return true if the item changed chunk (or was not indexed yet)
+     */
+    public boolean update(T item, UUID world, int chunkX, int chunkZ) {
+        long key = key(chunkX, chunkZ);
+        Cell cell = cells.get(item);
+        if (cell != null) {
+            if (cell.key == key && cell.world.equals(world)) {
+                return false;
+            }
+            unlink(item, cell);
+        } else {
+            cell = new Cell();
+            cells.put(item, cell);
+        }
+
+        cell.world = world;
+        cell.key = key;
+        worlds.computeIfAbsent(world, w -> new HashMap<>())
+                .computeIfAbsent(key, k -> new ArrayList<>(4))
+                .add(item);
+        return true;
+    }
+
+    public void remove(T item) {
+        Cell cell = cells.remove(item);
+        if (cell != null) {
+            unlink(item, cell);
+        }
+    }
+
+    public boolean contains(T item) {
+        return cells.containsKey(item);
+    }
+
+    public int size() {
+        return cells.size();
+    }
+
+    public void clear() {
+        worlds.clear();
+        cells.clear();
+    }
+
+    /**
+     * Visit every item in the chunks overlapping a square around a point.
+     * Callers still need an exact distance check.
+     * @param world The world to search
+     * @param x The block X of the centre
+     * @param z The block Z of the centre
+     * @param radius The search radius in blocks
+     * @param visitor Called for each candidate
+     */
+    public void forEachNear(UUID world, double x, double z, double radius, Consumer<T> visitor) {
+        Map<Long, List<T>> buckets = worlds.get(world);
+        if (buckets == null) {
+            return;
+        }
+
+        int minX = (int) Math.floor(x - radius) >> 4;
+        int maxX = (int) Math.floor(x + radius) >> 4;
+        int minZ = (int) Math.floor(z - radius) >> 4;
+        int maxZ = (int) Math.floor(z + radius) >> 4;
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cz = minZ; cz <= maxZ; cz++) {
+                List<T> bucket = buckets.get(key(cx, cz));
+                if (bucket != null) {
+                    for (int i = 0; i < bucket.size(); i++) {
+                        visitor.accept(bucket.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    private void unlink(T item, Cell cell) {
+        Map<Long, List<T>> buckets = worlds.get(cell.world);
+        if (buckets == null) {
+            return;
+        }
+
+        List<T> bucket = buckets.get(cell.key);
+        if (bucket != null) {
+            bucket.remove(item);
+            if (bucket.isEmpty()) {
+                buckets.remove(cell.key);
+            }
+        }
+        if (buckets.isEmpty()) {
+            worlds.remove(cell.world);
+        }
+    }
+
+    private static long key(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xffffffffL);
+    }
+
+    private static final class Cell {
+        private UUID world;
+        private long key;
+    }
+}
@@ -0,0 +1,73 @@
+package com.minecraft.healerSaint.spatial;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Chunk-bucketed index of online players (saints included), kept up to date
+ * by {@link com.minecraft.healerSaint.events.SpatialListener}.
+ */
+public class PlayerIndex {
+    private final ChunkGrid<Player> grid = new ChunkGrid<>();
+
+    // Scratch location for distance checks, main thread only
+    private final Location scratch = new Location(null, 0, 0, 0);
+
+    /**
+     * Re-bucket a player if they moved to another chunk
+     * @param player The player that moved
+     * @param to Where the player is now
+     */
+    public void update(Player player, Location to) {
+        grid.update(player, to.getWorld().getUID(), to.getBlockX() >> 4, to.getBlockZ() >> 4);
+    }
+
+    public void remove(Player player) {
+        grid.remove(player);
+    }
+
+    public int size() {
+        return grid.size();
+    }
+
+    /**
+     * Visit every indexed player within a radius of a location
+     * @param center The centre of the search
+     * @param radius The radius in blocks
+     * @param visitor Called for each player in range
+     */
+    public void forEachWithin(Location center, double radius, Consumer<Player> visitor) {
+        double radiusSquared = radius * radius;
+        grid.forEachNear(center.getWorld().getUID(), center.getX(), center.getZ(), radius, player -> {
+            if (player.getLocation(scratch).distanceSquared(center) <= radiusSquared) {
+                visitor.accept(player);
+            }
+        });
+    }
+
+    /**
+     * Find the closest indexed player within a radius that matches a filter
+     * @param center The centre of the search
+     * @param radius The radius in blocks
+     * @param filter Which players are eligible
+     * @return The nearest eligible player, or null if none is in range
+     */
+    public Player findNearest(Location center, double radius, Predicate<Player> filter) {
+        Player[] nearest = new Player[1];
+        double[] best = {radius * radius};
+        grid.forEachNear(center.getWorld().getUID(), center.getX(), center.getZ(), radius, player -> {
+            if (!filter.test(player)) {
+                return;
+            }
+            double distanceSquared = player.getLocation(scratch).distanceSquared(center);
+            if (distanceSquared <= best[0]) {
+                best[0] = distanceSquared;
+                nearest[0] = player;
+            }
+        });
+        return nearest[0];
+    }
+}
@@ -0,0 +1,177 @@
+package com.minecraft.healerSaint.stats;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Latency histograms and counters for the plugin's hot paths.
+ * While disabled, {@link #start()} skips the clock read and every record call
+ * returns after one volatile read.
+ */
+public class PluginStats {
+    public enum Timer {
+        AURA("aura_tick"),
+        SAVE("save"),
+        INTERACT("interact_event"),
+        DEATH("death_event"),
+        JOIN("join_event"),
+        QUIT("quit_event"),
+        CHAT("chat_event"),
+        RESURRECT("resurrection_drain");
+
+        private final String metric;
+
+        Timer(String metric) {
+            this.metric = metric;
+        }
+    }
+
+    public enum Counter {
+        HEALS("heals"),
+        RESURRECTIONS("resurrections"),
+        SAINT_ROLLS("saint_rolls"),
+        COOLDOWN_REJECTIONS("cooldown_rejections"),
+        RESURRECTIONS_EXPIRED("resurrections_expired");
+
+        private final String metric;
+
+        Counter(String metric) {
+            this.metric = metric;
+        }
+    }
+
+    private final Map<Timer, LatencyHistogram> timers = new EnumMap<>(Timer.class);
+    private final Map<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private final List<Gauge> gauges = new ArrayList<>();
+    private volatile boolean enabled;
+
+    public PluginStats() {
+        for (Timer timer : Timer.values()) {
+            timers.put(timer, new LatencyHistogram());
+        }
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Start timing a section
+     * @return The start time to pass to {@link #stop}, or 0 when disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0L;
+    }
+
+    public void stop(Timer timer, long start) {
+        if (start != 0L) {
+            timers.get(timer).record(System.nanoTime() - start);
+        }
+    }
+
+    public void increment(Counter counter) {
+        if (enabled) {
+            counters.get(counter).increment();
+        }
+    }
+
+    /**
+     * Expose a value owned by another component, read only when stats are shown or dumped
+     * @param metric The metric name, without prefix
+     * @param value Supplies the current value
+     */
+    public void gauge(String metric, LongSupplier value) {
+        gauges.add(new Gauge(metric, value));
+    }
+
+    public void reset() {
+        for (LatencyHistogram histogram : timers.values()) {
+            histogram.reset();
+        }
+        for (LongAdder adder : counters.values()) {
+            adder.reset();
+        }
+    }
+
+    /**
+     * Human-readable summary for /saint stats
+     * @return One line per timer, counter and gauge
+     */
+    public List<String> summary() {
+        List<String> lines = new ArrayList<>();
+        for (Map.Entry<Timer, LatencyHistogram> entry : timers.entrySet()) {
+            LatencyHistogram histogram = entry.getValue();
+            long count = histogram.getCount();
+            lines.add(String.format(Locale.ROOT, "%s: n=%d mean=%.1fus p50=%.1fus p99=%.1fus max=%.1fus",
+                    entry.getKey().metric, count,
+                    count == 0 ? 0.0 : histogram.getSumNanos() / (double) count / 1000.0,
+                    histogram.percentileNanos(0.50) / 1000.0,
+                    histogram.percentileNanos(0.99) / 1000.0,
+                    histogram.getMaxNanos() / 1000.0));
+        }
+        for (Map.Entry<Counter, LongAdder> entry : counters.entrySet()) {
+            lines.add(entry.getKey().metric + ": " + entry.getValue().sum());
+        }
+        for (Gauge gauge : gauges) {
+            lines.add(gauge.metric + ": " + gauge.value.getAsLong());
+        }
+        return lines;
+    }
+
+    /**
+     * Render every metric in the Prometheus text exposition format
+     * @return The scrape-friendly text
+     */
+    public String toPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        for (Map.Entry<Timer, LatencyHistogram> entry : timers.entrySet()) {
+            String name = "healersaint_" + entry.getKey().metric + "_seconds";
+            LatencyHistogram histogram = entry.getValue();
+            out.append("# TYPE ").append(name).append(" histogram\n");
+            long cumulative = 0;
+            for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+                cumulative += histogram.getBucket(i);
+                out.append(name).append("_bucket{le=\"")
+                        .append(String.format(Locale.ROOT, "%.9f", (1L << (i + 1)) / 1e9))
+                        .append("\"} ").append(cumulative).append('\n');
+            }
+            out.append(name).append("_bucket{le=\"+Inf\"} ").append(histogram.getCount()).append('\n');
+            out.append(name).append("_sum ")
+                    .append(String.format(Locale.ROOT, "%.9f", histogram.getSumNanos() / 1e9)).append('\n');
+            out.append(name).append("_count ").append(histogram.getCount()).append('\n');
+        }
+        for (Map.Entry<Counter, LongAdder> entry : counters.entrySet()) {
+            String name = "healersaint_" + entry.getKey().metric + "_total";
+            out.append("# TYPE ").append(name).append(" counter\n");
+            out.append(name).append(' ').append(entry.getValue().sum()).append('\n');
+        }
+        for (Gauge gauge : gauges) {
+            String name = "healersaint_" + gauge.metric;
+            out.append("# TYPE ").append(name).append(" gauge\n");
+            out.append(name).append(' ').append(gauge.value.getAsLong()).append('\n');
+        }
+        return out.toString();
+    }
+
+    private static final class Gauge {
+        private final String metric;
+        private final LongSupplier value;
+
+        private Gauge(String metric, LongSupplier value) {
+            this.metric = metric;
+            this.value = value;
+        }
+    }
+}
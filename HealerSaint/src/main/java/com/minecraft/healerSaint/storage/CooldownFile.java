@@ -0,0 +1,83 @@
+package com.minecraft.healerSaint.storage;
+
+import com.minecraft.healerSaint.cooldown.CooldownStore;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binary snapshot of active cooldowns (cooldowns.dat), so a restart does not reset them.
+ * Layout: a header (magic, version) followed by [store:1][uuid msb:8][uuid lsb:8][expiry:8]
+ * records, where store is the index of the store in the arguments.
+ */
+public final class CooldownFile {
+    private static final int MAGIC = 0x48534344; // "HSCD"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 25;
+
+    private CooldownFile() {
+    }
+
+    /**
+     * Load the cooldowns still running into their stores
+     * @param file The snapshot to read
+     * @param now The current time in epoch millis, older cooldowns are skipped
+     * @param logger Logger for read errors
+     * @param stores The stores to fill, in the order they were saved
+     */
+    public static void load(Path file, long now, Logger logger, CooldownStore... stores) {
+        if (!Files.exists(file)) {
+            return;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.severe(file.getFileName() + " is not a valid cooldown file, ignoring it!");
+                return;
+            }
+
+            while (buffer.remaining() >= RECORD_SIZE) {
+                int store = buffer.get();
+                long msb = buffer.getLong();
+                long lsb = buffer.getLong();
+                long expiry = buffer.getLong();
+                if (store >= 0 && store < stores.length && expiry > now) {
+                    stores[store].restore(msb, lsb, expiry);
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not load " + file.getFileName() + "!", e);
+        }
+    }
+
+    /**
+     * Encode the cooldowns of every store that are still running
+     * @param now The current time in epoch millis
+     * @param stores The stores to save
+     * @return The file contents
+     */
+    public static byte[] encode(long now, CooldownStore... stores) {
+        long[][] snapshots = new long[stores.length][];
+        int records = 0;
+        for (int i = 0; i < stores.length; i++) {
+            snapshots[i] = stores[i].snapshot(now);
+            records += snapshots[i].length / 3;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + records * RECORD_SIZE);
+        buffer.putInt(MAGIC).putInt(VERSION);
+        for (int i = 0; i < stores.length; i++) {
+            long[] triples = snapshots[i];
+            for (int j = 0; j < triples.length; j += 3) {
+                buffer.put((byte) i).putLong(triples[j]).putLong(triples[j + 1]).putLong(triples[j + 2]);
+            }
+        }
+        return buffer.array();
+    }
+}
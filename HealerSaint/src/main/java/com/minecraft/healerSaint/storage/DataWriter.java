@@ -0,0 +1,114 @@
+package com.minecraft.healerSaint.storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single background thread that owns all disk writes of the plugin.
+ * Snapshots submitted for the same file are coalesced, so only the latest
+ * one is written, and every write goes through a temp file + atomic rename.
+ */
+public class DataWriter {
+    private final Logger logger;
+    private final ExecutorService executor;
+    private final Map<Path, byte[]> pending = new ConcurrentHashMap<>();
+
+    public DataWriter(Logger logger) {
+        this.logger = logger;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HealerSaint-DataWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queue a full snapshot of a file. If an older snapshot of the same file
+     * is still waiting, it is replaced and never written.
+     * @param target The file to replace
+     * @param contents The new contents of the file
+     */
+    public void writeAtomically(Path target, byte[] contents) {
+        // Only schedule a drain if none is queued for this file yet
+        if (pending.put(target, contents) == null) {
+            executor.execute(() -> {
+                byte[] latest = pending.remove(target);
+                if (latest != null) {
+                    writeNow(target, latest);
+                }
+            });
+        }
+    }
+
+    /**
+     * Run an arbitrary IO job on the writer thread, after everything queued before it
+     * @param job The job to run
+     */
+    public void execute(Runnable job) {
+        executor.execute(() -> {
+            try {
+                job.run();
+            } catch (RuntimeException e) {
+                logger.log(Level.SEVERE, "Background write failed", e);
+            }
+        });
+    }
+
+    /**
+     * Flush-now hook
+     * @return A future completed once every write queued before this call is on disk
+     */
+    public CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(() -> { }, executor);
+    }
+
+    /**
+     * Drain the queue and stop the writer thread. Blocks the caller, so only call it on shutdown.
+     */
+    public void close() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.severe("Timed out waiting for pending data writes!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeNow(Path target, byte[] contents) {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(contents);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not save " + target.getFileName() + "!", e);
+        }
+    }
+}
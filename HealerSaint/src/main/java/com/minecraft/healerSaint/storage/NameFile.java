@@ -0,0 +1,105 @@
+package com.minecraft.healerSaint.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Append-only log of player names (names.dat), so offline players can be found by name.
+ * Layout: a header (magic, version) followed by [uuid msb:8][uuid lsb:8][length:1][utf-8 name]
+ * records. A player's latest record wins.
+ */
+public final class NameFile {
+    private static final int MAGIC = 0x48534E4D; // "HSNM"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_NAME_BYTES = 255;
+
+    private NameFile() {
+    }
+
+    /**
+     * Read every name in the log
+     * @param file The log to read
+     * @param logger Logger for read errors
+     * @param visitor Receives (uuid, name) per record, later records for the same player override earlier ones
+     * @return The number of records read, -1 if the file does not exist or is invalid
+     */
+    public static int load(Path file, Logger logger, BiConsumer<UUID, String> visitor) {
+        if (!Files.exists(file)) {
+            return -1;
+        }
+
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                logger.severe(file.getFileName() + " is not a valid name file, ignoring it!");
+                return -1;
+            }
+
+            int records = 0;
+            while (buffer.remaining() >= 17) {
+                long msb = buffer.getLong();
+                long lsb = buffer.getLong();
+                int length = buffer.get() & 0xFF;
+                if (buffer.remaining() < length) {
+                    // Torn final record
+                    break;
+                }
+                byte[] name = new byte[length];
+                buffer.get(name);
+                visitor.accept(new UUID(msb, lsb), new String(name, StandardCharsets.UTF_8));
+                records++;
+            }
+            return records;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not load " + file.getFileName() + "!", e);
+            return -1;
+        }
+    }
+
+    /**
+     * Encode a header, to start a new log
+     * @return The header bytes
+     */
+    public static byte[] header() {
+        return ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION).array();
+    }
+
+    /**
+     * Encode one record
+     * @param out The stream to append to
+     * @param uuid The player
+     * @param name The player's name, cut to 255 bytes
+     */
+    public static void encode(ByteArrayOutputStream out, UUID uuid, String name) {
+        byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+        int length = Math.min(bytes.length, MAX_NAME_BYTES);
+        ByteBuffer record = ByteBuffer.allocate(17);
+        record.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits()).put((byte) length);
+        out.write(record.array(), 0, record.capacity());
+        out.write(bytes, 0, length);
+    }
+
+    /**
+     * Encode a complete log holding one record per player
+     * @param names The names by player
+     * @return The file contents
+     */
+    public static byte[] encode(Map<UUID, String> names) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(HEADER_SIZE + names.size() * 32);
+        out.write(header(), 0, HEADER_SIZE);
+        for (Map.Entry<UUID, String> entry : names.entrySet()) {
+            encode(out, entry.getKey(), entry.getValue());
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,380 @@
+package com.minecraft.healerSaint.storage;
+
+import com.minecraft.healerSaint.util.UuidLongMap;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Registry of every player that has been rolled for sainthood, with their first-seen
+ * and last-seen times. Backed by an append-only binary log (players.dat) and in-memory
+ * hash indexes.
+ *
+ * File layout: a header (magic, version) followed by fixed-size records of
+ * [tag:1][uuid msb:8][uuid lsb:8][value:8]. A later last-seen record of a player
+ * supersedes the earlier ones. A torn record at the end of the file (crash
+ * mid-append) is ignored and cut off on the next append.
+ * Lookups and appends are synchronized, so login threads can query it.
+ *
+ * Superseded records are dropped by {@link #scan}: once the log holds more than
+ * twice the live records, a scan pass also writes the live records it visits to
+ * players.dat.compact, which replaces the log when the pass completes.
+ */
+public class PlayerRegistry {
+    private static final int MAGIC = 0x48535052; // "HSPR"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 25;
+
+    private static final byte TAG_FIRST_SEEN = 1;
+    private static final byte TAG_LAST_SEEN = 2;
+
+    // Small logs are not worth compacting
+    private static final long COMPACT_MIN_RECORDS = 1024;
+
+    private final Path file;
+    private final DataWriter writer;
+    private final Logger logger;
+    private final Path compactFile;
+    private final UuidLongMap firstSeen;
+    private final UuidLongMap lastSeen;
+
+    // Records appended since the last flush, guarded by this
+    private ByteBuffer pending = ByteBuffer.allocate(RECORD_SIZE * 64);
+
+    // Records in the log including superseded ones, guarded by this
+    private long recordCount;
+
+    // Compaction in progress, guarded by this. Records appended during the pass are
+    // journaled, because the pass may already have visited their slot
+    private boolean compacting;
+    private int compactCapacity;
+    private long compactRecords;
+    private ByteBuffer journal;
+
+    // Valid length of the file, only touched on the writer thread after load
+    private long validLength;
+
+    public PlayerRegistry(Path file, DataWriter writer, Logger logger) {
+        this.file = file;
+        this.writer = writer;
+        this.logger = logger;
+        this.compactFile = file.resolveSibling(file.getFileName() + ".compact");
+        this.firstSeen = new UuidLongMap(estimateRecords());
+        this.lastSeen = new UuidLongMap(firstSeen.capacity() / 2);
+        load();
+    }
+
+    public synchronized boolean contains(UUID uuid) {
+        return firstSeen.containsKey(uuid);
+    }
+
+    /**
+     * Get when a player was first seen
+     * @param uuid The player to look up
+     * @return The first-seen time in epoch millis, or -1 if unknown
+     */
+    public synchronized long getFirstSeen(UUID uuid) {
+        return firstSeen.get(uuid, -1L);
+    }
+
+    /**
+     * Get when a player was last seen
+     * @param uuid The player to look up
+     * @return The last-seen time in epoch millis, the first-seen time if never updated, or -1 if unknown
+     */
+    public synchronized long getLastSeen(UUID uuid) {
+        long time = lastSeen.get(uuid, -1L);
+        return time >= 0 ? time : firstSeen.get(uuid, -1L);
+    }
+
+    public synchronized int size() {
+        return firstSeen.size();
+    }
+
+    /**
+     * Update when a player was last seen, recording them first if they are unknown
+     * @param uuid The player that was seen
+     * @param time The time in epoch millis
+     */
+    public synchronized void touch(UUID uuid, long time) {
+        record(uuid, time);
+        lastSeen.put(uuid, time);
+        append(TAG_LAST_SEEN, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), time);
+    }
+
+    /**
+     * Record a player, unless they are already known
+     * @param uuid The player to record
+     * @param time The first-seen time in epoch millis
+     * @return true if the player was new
+     */
+    public synchronized boolean record(UUID uuid, long time) {
+        if (firstSeen.containsKey(uuid)) {
+            return false;
+        }
+
+        firstSeen.put(uuid, time);
+        append(TAG_FIRST_SEEN, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), time);
+        return true;
+    }
+
+    /**
+     * Visit a slice of the registry. Consecutive calls, each passing the cursor the
+     * previous one returned, make up a pass over every player; players recorded
+     * during a pass may be missed until the next one.
+     * @param cursor Where the previous slice ended, 0 to start a pass
+     * @param limit Maximum number of players to visit
+     * @param visitor Receives (msb, lsb, last seen) per player
+     * @return Where the next slice starts, or 0 once the pass is complete
+     */
+    public synchronized int scan(int cursor, int limit, RecordVisitor visitor) {
+        if (cursor == 0 && !compacting && recordCount >= COMPACT_MIN_RECORDS
+                && recordCount > 2L * (firstSeen.size() + lastSeen.size())) {
+            startCompaction();
+        }
+        if (compacting && compactCapacity != firstSeen.capacity()) {
+            // A resize moved players behind the cursor, the pass can no longer cover them all
+            abortCompaction();
+        }
+
+        ByteBuffer slice = compacting ? ByteBuffer.allocate(limit * 2 * RECORD_SIZE) : null;
+        int slot = cursor;
+        int visited = 0;
+        while (slot < firstSeen.capacity() && visited < limit) {
+            if (firstSeen.isUsed(slot)) {
+                long msb = firstSeen.mostBitsAt(slot);
+                long lsb = firstSeen.leastBitsAt(slot);
+                long first = firstSeen.valueAt(slot);
+                long last = lastSeen.get(msb, lsb, -1L);
+                visitor.visit(msb, lsb, last >= 0 ? last : first);
+                visited++;
+
+                if (slice != null) {
+                    slice.put(TAG_FIRST_SEEN).putLong(msb).putLong(lsb).putLong(first);
+                    if (last >= 0) {
+                        slice.put(TAG_LAST_SEEN).putLong(msb).putLong(lsb).putLong(last);
+                    }
+                }
+            }
+            slot++;
+        }
+
+        if (slice != null && slice.position() > 0) {
+            slice.flip();
+            compactRecords += slice.remaining() / RECORD_SIZE;
+            writer.execute(() -> appendTo(compactFile, slice));
+        }
+
+        if (slot < firstSeen.capacity()) {
+            return slot;
+        }
+        if (compacting) {
+            finishCompaction();
+        }
+        return 0;
+    }
+
+    /**
+     * Hand records added since the last flush to the background writer
+     */
+    public synchronized void flush() {
+        if (pending.position() == 0) {
+            return;
+        }
+
+        pending.flip();
+        ByteBuffer batch = ByteBuffer.allocate(pending.remaining());
+        batch.put(pending).flip();
+        pending.clear();
+
+        writer.execute(() -> append(batch));
+    }
+
+    private void append(byte tag, long msb, long lsb, long value) {
+        pending = put(pending, tag, msb, lsb, value);
+        recordCount++;
+        if (compacting) {
+            journal = put(journal, tag, msb, lsb, value);
+        }
+    }
+
+    private static ByteBuffer put(ByteBuffer buffer, byte tag, long msb, long lsb, long value) {
+        if (buffer.remaining() < RECORD_SIZE) {
+            ByteBuffer grown = ByteBuffer.allocate(buffer.capacity() * 2);
+            buffer.flip();
+            grown.put(buffer);
+            buffer = grown;
+        }
+        return buffer.put(tag).putLong(msb).putLong(lsb).putLong(value);
+    }
+
+    private void startCompaction() {
+        compacting = true;
+        compactCapacity = firstSeen.capacity();
+        compactRecords = 0;
+        journal = ByteBuffer.allocate(RECORD_SIZE * 64);
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(compactFile);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Could not delete " + compactFile.getFileName() + "!", e);
+            }
+        });
+    }
+
+    private void abortCompaction() {
+        compacting = false;
+        journal = null;
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(compactFile);
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Could not delete " + compactFile.getFileName() + "!", e);
+            }
+        });
+    }
+
+    private void finishCompaction() {
+        journal.flip();
+        ByteBuffer tail = journal;
+        long before = recordCount;
+        recordCount = compactRecords + tail.remaining() / RECORD_SIZE;
+        compacting = false;
+        journal = null;
+
+        // Runs after every append queued so far, whose records are all in the compacted file
+        writer.execute(() -> {
+            appendTo(compactFile, tail);
+            try {
+                Files.move(compactFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                validLength = Files.size(file);
+                logger.info("Compacted " + file.getFileName() + " from " + before + " to " + (validLength - HEADER_SIZE) / RECORD_SIZE + " records");
+            } catch (IOException e) {
+                logger.log(Level.SEVERE, "Could not replace " + file.getFileName() + " with the compacted registry!", e);
+            }
+        });
+    }
+
+    private void appendTo(Path target, ByteBuffer batch) {
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            long position = Math.max(channel.size(), HEADER_SIZE);
+            if (channel.size() < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                channel.write(header, 0);
+            }
+            while (batch.hasRemaining()) {
+                position += channel.write(batch, position);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not append to " + target.getFileName() + "!", e);
+        }
+    }
+
+    private void append(ByteBuffer batch) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (validLength < HEADER_SIZE) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).putInt(MAGIC).putInt(VERSION);
+                header.flip();
+                channel.write(header, 0);
+                validLength = HEADER_SIZE;
+            }
+
+            // Drops a torn tail left by a crash before writing after it
+            channel.truncate(validLength);
+            long position = validLength;
+            while (batch.hasRemaining()) {
+                position += channel.write(batch, position);
+            }
+            channel.force(false);
+            validLength = position;
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not append to " + file.getFileName() + "!", e);
+        }
+    }
+
+    private int estimateRecords() {
+        try {
+            return Files.exists(file) ? (int) Math.min(Integer.MAX_VALUE, Files.size(file) / RECORD_SIZE) : 0;
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void load() {
+        long length = read(file, logger, firstSeen::put, lastSeen::put);
+        if (length < 0) {
+            moveAside();
+        } else {
+            validLength = length;
+            recordCount = Math.max(0, length - HEADER_SIZE) / RECORD_SIZE;
+        }
+    }
+
+    /**
+     * Stream the records of a registry file without keeping them
+     * @param file The registry file
+     * @param logger Logger for read errors
+     * @param firstSeenVisitor Receives (msb, lsb, first seen) per player
+     * @param lastSeenVisitor Receives (msb, lsb, last seen) per last-seen record, in file order
+     * @return The length of the valid part of the file, or -1 if it is not a registry
+     */
+    public static long read(Path file, Logger logger, RecordVisitor firstSeenVisitor, RecordVisitor lastSeenVisitor) {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_SIZE) {
+                return 0;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return -1;
+            }
+
+            while (buffer.remaining() >= RECORD_SIZE) {
+                byte tag = buffer.get();
+                long msb = buffer.getLong();
+                long lsb = buffer.getLong();
+                long value = buffer.getLong();
+                if (tag == TAG_FIRST_SEEN) {
+                    firstSeenVisitor.visit(msb, lsb, value);
+                } else if (tag == TAG_LAST_SEEN) {
+                    lastSeenVisitor.visit(msb, lsb, value);
+                }
+            }
+
+            if (buffer.hasRemaining()) {
+                logger.warning("Ignoring a torn record at the end of " + file.getFileName());
+            }
+            return buffer.position();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not load " + file.getFileName() + "!", e);
+            return 0;
+        }
+    }
+
+    private void moveAside() {
+        Path aside = file.resolveSibling(file.getFileName() + ".invalid");
+        logger.severe(file.getFileName() + " is not a valid player registry, moving it to " + aside.getFileName());
+        try {
+            Files.move(file, aside, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not move " + file.getFileName() + " aside!", e);
+        }
+    }
+}
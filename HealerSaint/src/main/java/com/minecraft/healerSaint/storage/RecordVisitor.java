@@ -0,0 +1,8 @@
+package com.minecraft.healerSaint.storage;
+
+/**
+ * Receives (uuid, value) records while a file or table is streamed, without boxing
+ */
+public interface RecordVisitor {
+    void visit(long msb, long lsb, long value);
+}
@@ -0,0 +1,119 @@
+package com.minecraft.healerSaint.storage;
+
+import com.minecraft.healerSaint.cooldown.CooldownStore;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+/**
+ * Persistence of the saint roster, the player registry, cooldowns and the saint history.
+ * Writes are queued and reach the disk on the next {@link #flush()}; player lookups are
+ * answered from memory and are safe from any thread.
+ */
+public interface SaintStorage {
+    /**
+     * Read the saint roster from disk
+     * @return The saints in promotion order
+     */
+    Set<UUID> loadSaints();
+
+    /**
+     * Replace the stored saint roster
+     * @param saints The saints in promotion order
+     */
+    void saveSaints(Set<UUID> saints);
+
+    boolean isKnownPlayer(UUID uuid);
+
+    /**
+     * Get when a player was first seen
+     * @param uuid The player to look up
+     * @return The first-seen time in epoch millis, or -1 if unknown
+     */
+    long getFirstSeen(UUID uuid);
+
+    /**
+     * Get when a player was last seen
+     * @param uuid The player to look up
+     * @return The last-seen time in epoch millis, the first-seen time if never updated, or -1 if unknown
+     */
+    long getLastSeen(UUID uuid);
+
+    int getPlayerCount();
+
+    /**
+     * Record a player, unless they are already known
+     * @param uuid The player to record
+     * @param firstSeen The first-seen time in epoch millis
+     * @return true if the player was new
+     */
+    boolean recordPlayer(UUID uuid, long firstSeen);
+
+    /**
+     * Update when a player was last seen, recording them first if they are unknown
+     * @param uuid The player that was seen
+     * @param time The time in epoch millis
+     */
+    void recordLastSeen(UUID uuid, long time);
+
+    /**
+     * Remember a player's current name, so they can be found by name while offline.
+     * Does not add the player to the registry, so naming a player who never joined
+     * keeps their first-join roll.
+     * @param uuid The player
+     * @param name The player's name
+     */
+    void recordName(UUID uuid, String name);
+
+    /**
+     * Visit the last known name of every player with one
+     * @param visitor Receives (uuid, name) per player
+     */
+    void loadNames(BiConsumer<UUID, String> visitor);
+
+    /**
+     * Visit a slice of the player registry. Consecutive calls, each passing the
+     * cursor the previous one returned, make up a pass over every player.
+     * Backends may use the pass to compact their files.
+     * @param cursor Where the previous slice ended, 0 to start a pass
+     * @param limit Maximum number of players to visit
+     * @param visitor Receives (msb, lsb, last seen) per player
+     * @return Where the next slice starts, or 0 once the pass is complete
+     */
+    int scanPlayers(int cursor, int limit, RecordVisitor visitor);
+
+    /**
+     * Load the cooldowns still running into their stores
+     * @param now The current time in epoch millis
+     * @param stores The stores to fill, in the order they were saved
+     */
+    void loadCooldowns(long now, CooldownStore... stores);
+
+    /**
+     * Replace the stored cooldowns with the ones still running
+     * @param now The current time in epoch millis
+     * @param stores The stores to save
+     */
+    void saveCooldowns(long now, CooldownStore... stores);
+
+    /**
+     * Append an entry to the saint history
+     * @param uuid The player concerned
+     * @param action What happened, e.g. "promoted"
+     * @param time When it happened in epoch millis
+     */
+    void recordHistory(UUID uuid, String action, long time);
+
+    /**
+     * Write everything queued so far
+     * @return A future completed once it is on disk
+     */
+    CompletableFuture<Void> flush();
+
+    /**
+     * Flush and release the backend
+     */
+    void close();
+}
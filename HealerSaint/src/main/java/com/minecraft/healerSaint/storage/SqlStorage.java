@@ -0,0 +1,562 @@
+package com.minecraft.healerSaint.storage;
+
+import com.minecraft.healerSaint.cooldown.CooldownStore;
+import com.minecraft.healerSaint.util.UuidLongMap;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Embedded SQLite backend (data.db), using the driver that ships with the server.
+ * The connection is only used on its own worker thread. Writes are queued in memory
+ * and written by {@link #flush()} as batched prepared statements in one transaction.
+ * The player registry is mirrored in in-memory indexes for lookups. Last-seen times
+ * and names are updated in place, so there is nothing to compact. Names live in their
+ * own table, so naming a player who never joined does not register them.
+ */
+public class SqlStorage implements SaintStorage {
+    private static final int BATCH_SIZE = 1000;
+    private static final String MIGRATED_KEY = "migrated_from_yaml";
+
+    private final Path file;
+    private final Logger logger;
+    private final ExecutorService executor;
+    private final Connection connection;
+
+    // Guarded by this
+    private final UuidLongMap players;
+    private final UuidLongMap lastSeen;
+    private final Map<UUID, String> names = new HashMap<>();
+    private final Map<UUID, String> pendingNames = new LinkedHashMap<>();
+    private long[] pendingPlayers = new long[3 * 64];
+    private int pendingPlayerSize;
+    private long[] pendingLastSeen = new long[3 * 64];
+    private int pendingLastSeenSize;
+    private final List<HistoryEntry> pendingHistory = new ArrayList<>();
+    private Set<UUID> pendingSaints;
+    private long[][] pendingCooldowns;
+
+    public SqlStorage(Path file, Logger logger) throws SQLException {
+        this.file = file;
+        this.logger = logger;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "HealerSaint-SQL");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            this.connection = call(this::open);
+            this.players = new UuidLongMap(call(() -> queryInt("SELECT COUNT(*) FROM players")));
+            this.lastSeen = new UuidLongMap(players.capacity() / 2);
+            call(() -> {
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery("SELECT msb, lsb, first_seen, last_seen FROM players")) {
+                    while (rows.next()) {
+                        players.put(rows.getLong(1), rows.getLong(2), rows.getLong(3));
+                        long last = rows.getLong(4);
+                        if (!rows.wasNull()) {
+                            lastSeen.put(rows.getLong(1), rows.getLong(2), last);
+                        }
+                    }
+                }
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery("SELECT msb, lsb, name FROM names")) {
+                    while (rows.next()) {
+                        names.put(new UUID(rows.getLong(1), rows.getLong(2)), rows.getString(3));
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            executor.shutdownNow();
+            throw e;
+        }
+    }
+
+    /**
+     * Check whether the YAML files were already copied into this database
+     * @return true once {@link #markMigrated()} was called
+     * @throws SQLException if the database cannot be read
+     */
+    public boolean isMigrated() throws SQLException {
+        return call(() -> {
+            try (PreparedStatement select = connection.prepareStatement("SELECT value FROM meta WHERE key = ?")) {
+                select.setString(1, MIGRATED_KEY);
+                try (ResultSet rows = select.executeQuery()) {
+                    return rows.next();
+                }
+            }
+        });
+    }
+
+    public void markMigrated() throws SQLException {
+        call(() -> {
+            try (PreparedStatement insert = connection.prepareStatement("INSERT OR REPLACE INTO meta (key, value) VALUES (?, ?)")) {
+                insert.setString(1, MIGRATED_KEY);
+                insert.setString(2, Long.toString(System.currentTimeMillis()));
+                insert.executeUpdate();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Set<UUID> loadSaints() {
+        try {
+            return call(() -> {
+                Set<UUID> saints = new LinkedHashSet<>();
+                try (Statement statement = connection.createStatement();
+                     ResultSet rows = statement.executeQuery("SELECT uuid FROM saints ORDER BY position")) {
+                    while (rows.next()) {
+                        saints.add(UUID.fromString(rows.getString(1)));
+                    }
+                }
+                return saints;
+            });
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Could not load the saints from " + file.getFileName() + "!", e);
+            return new LinkedHashSet<>();
+        }
+    }
+
+    @Override
+    public synchronized void saveSaints(Set<UUID> saints) {
+        pendingSaints = new LinkedHashSet<>(saints);
+    }
+
+    @Override
+    public synchronized boolean isKnownPlayer(UUID uuid) {
+        return players.containsKey(uuid);
+    }
+
+    @Override
+    public synchronized long getFirstSeen(UUID uuid) {
+        return players.get(uuid, -1L);
+    }
+
+    @Override
+    public synchronized long getLastSeen(UUID uuid) {
+        long time = lastSeen.get(uuid, -1L);
+        return time >= 0 ? time : players.get(uuid, -1L);
+    }
+
+    @Override
+    public synchronized int getPlayerCount() {
+        return players.size();
+    }
+
+    @Override
+    public synchronized boolean recordPlayer(UUID uuid, long firstSeen) {
+        if (players.containsKey(uuid)) {
+            return false;
+        }
+
+        players.put(uuid, firstSeen);
+        if (pendingPlayerSize + 3 > pendingPlayers.length) {
+            pendingPlayers = Arrays.copyOf(pendingPlayers, pendingPlayers.length * 2);
+        }
+        pendingPlayers[pendingPlayerSize] = uuid.getMostSignificantBits();
+        pendingPlayers[pendingPlayerSize + 1] = uuid.getLeastSignificantBits();
+        pendingPlayers[pendingPlayerSize + 2] = firstSeen;
+        pendingPlayerSize += 3;
+        return true;
+    }
+
+    @Override
+    public synchronized void recordLastSeen(UUID uuid, long time) {
+        recordPlayer(uuid, time);
+        lastSeen.put(uuid, time);
+        if (pendingLastSeenSize + 3 > pendingLastSeen.length) {
+            pendingLastSeen = Arrays.copyOf(pendingLastSeen, pendingLastSeen.length * 2);
+        }
+        pendingLastSeen[pendingLastSeenSize] = uuid.getMostSignificantBits();
+        pendingLastSeen[pendingLastSeenSize + 1] = uuid.getLeastSignificantBits();
+        pendingLastSeen[pendingLastSeenSize + 2] = time;
+        pendingLastSeenSize += 3;
+    }
+
+    @Override
+    public synchronized void recordName(UUID uuid, String name) {
+        if (!name.equals(names.put(uuid, name))) {
+            pendingNames.put(uuid, name);
+        }
+    }
+
+    @Override
+    public void loadNames(BiConsumer<UUID, String> visitor) {
+        Map<UUID, String> snapshot;
+        synchronized (this) {
+            snapshot = new HashMap<>(names);
+        }
+        snapshot.forEach(visitor);
+    }
+
+    @Override
+    public synchronized int scanPlayers(int cursor, int limit, RecordVisitor visitor) {
+        int slot = cursor;
+        int visited = 0;
+        while (slot < players.capacity() && visited < limit) {
+            if (players.isUsed(slot)) {
+                long msb = players.mostBitsAt(slot);
+                long lsb = players.leastBitsAt(slot);
+                long last = lastSeen.get(msb, lsb, -1L);
+                visitor.visit(msb, lsb, last >= 0 ? last : players.valueAt(slot));
+                visited++;
+            }
+            slot++;
+        }
+        return slot < players.capacity() ? slot : 0;
+    }
+
+    @Override
+    public void loadCooldowns(long now, CooldownStore... stores) {
+        try {
+            call(() -> {
+                try (PreparedStatement select = connection.prepareStatement(
+                        "SELECT store, msb, lsb, expiry FROM cooldowns WHERE expiry > ?")) {
+                    select.setLong(1, now);
+                    try (ResultSet rows = select.executeQuery()) {
+                        while (rows.next()) {
+                            int store = rows.getInt(1);
+                            if (store >= 0 && store < stores.length) {
+                                stores[store].restore(rows.getLong(2), rows.getLong(3), rows.getLong(4));
+                            }
+                        }
+                    }
+                }
+                return null;
+            });
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Could not load the cooldowns from " + file.getFileName() + "!", e);
+        }
+    }
+
+    @Override
+    public synchronized void saveCooldowns(long now, CooldownStore... stores) {
+        long[][] snapshots = new long[stores.length][];
+        for (int i = 0; i < stores.length; i++) {
+            snapshots[i] = stores[i].snapshot(now);
+        }
+        pendingCooldowns = snapshots;
+    }
+
+    @Override
+    public synchronized void recordHistory(UUID uuid, String action, long time) {
+        pendingHistory.add(new HistoryEntry(uuid, action, time));
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        Set<UUID> saints;
+        long[] playerBatch;
+        int playerBatchSize;
+        long[] lastSeenBatch;
+        int lastSeenBatchSize;
+        Map<UUID, String> nameBatch;
+        long[][] cooldowns;
+        List<HistoryEntry> history;
+        synchronized (this) {
+            saints = pendingSaints;
+            playerBatch = pendingPlayers;
+            playerBatchSize = pendingPlayerSize;
+            lastSeenBatch = pendingLastSeen;
+            lastSeenBatchSize = pendingLastSeenSize;
+            nameBatch = new LinkedHashMap<>(pendingNames);
+            cooldowns = pendingCooldowns;
+            history = new ArrayList<>(pendingHistory);
+
+            pendingSaints = null;
+            pendingPlayers = new long[3 * 64];
+            pendingPlayerSize = 0;
+            pendingLastSeen = new long[3 * 64];
+            pendingLastSeenSize = 0;
+            pendingNames.clear();
+            pendingCooldowns = null;
+            pendingHistory.clear();
+        }
+
+        if (saints == null && playerBatchSize == 0 && lastSeenBatchSize == 0 && nameBatch.isEmpty()
+                && cooldowns == null && history.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> {
+            if (!write(saints, playerBatch, playerBatchSize, lastSeenBatch, lastSeenBatchSize,
+                    nameBatch, cooldowns, history)) {
+                requeue(saints, playerBatch, playerBatchSize, lastSeenBatch, lastSeenBatchSize,
+                        nameBatch, cooldowns, history);
+            }
+        }, executor);
+    }
+
+    /**
+     * Put a batch whose transaction failed back in front of what was queued since,
+     * so the next flush writes it again. Saints, cooldowns and names queued since
+     * are newer and win over the ones of the batch.
+     */
+    private synchronized void requeue(Set<UUID> saints, long[] playerBatch, int playerBatchSize,
+                                      long[] lastSeenBatch, int lastSeenBatchSize, Map<UUID, String> nameBatch,
+                                      long[][] cooldowns, List<HistoryEntry> history) {
+        if (pendingSaints == null) {
+            pendingSaints = saints;
+        }
+        if (pendingCooldowns == null) {
+            pendingCooldowns = cooldowns;
+        }
+
+        pendingPlayers = prepend(playerBatch, playerBatchSize, pendingPlayers, pendingPlayerSize);
+        pendingPlayerSize += playerBatchSize;
+        // Last-seen updates run in order, the ones queued since must come last
+        pendingLastSeen = prepend(lastSeenBatch, lastSeenBatchSize, pendingLastSeen, pendingLastSeenSize);
+        pendingLastSeenSize += lastSeenBatchSize;
+
+        Map<UUID, String> since = new LinkedHashMap<>(pendingNames);
+        pendingNames.clear();
+        pendingNames.putAll(nameBatch);
+        pendingNames.putAll(since);
+
+        pendingHistory.addAll(0, history);
+    }
+
+    private static long[] prepend(long[] batch, int batchSize, long[] pending, int pendingSize) {
+        long[] merged = new long[Math.max(3 * 64, batchSize + pendingSize)];
+        System.arraycopy(batch, 0, merged, 0, batchSize);
+        System.arraycopy(pending, 0, merged, batchSize, pendingSize);
+        return merged;
+    }
+
+    @Override
+    public void close() {
+        flush().join();
+        executor.execute(() -> {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Could not close " + file.getFileName() + "!", e);
+            }
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.severe("Timed out waiting for " + file.getFileName() + " to close!");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Connection open() throws SQLException {
+        Connection opened = DriverManager.getConnection("jdbc:sqlite:" + file.toAbsolutePath());
+        try (Statement statement = opened.createStatement()) {
+            statement.execute("PRAGMA journal_mode=WAL");
+            statement.execute("PRAGMA synchronous=NORMAL");
+            statement.execute("CREATE TABLE IF NOT EXISTS saints (position INTEGER PRIMARY KEY, uuid TEXT NOT NULL)");
+            statement.execute("CREATE TABLE IF NOT EXISTS players (msb INTEGER NOT NULL, lsb INTEGER NOT NULL, "
+                    + "first_seen INTEGER NOT NULL, last_seen INTEGER, PRIMARY KEY (msb, lsb)) WITHOUT ROWID");
+            addLastSeenColumn(statement);
+            statement.execute("CREATE TABLE IF NOT EXISTS names (msb INTEGER NOT NULL, lsb INTEGER NOT NULL, "
+                    + "name TEXT NOT NULL, PRIMARY KEY (msb, lsb)) WITHOUT ROWID");
+            statement.execute("CREATE TABLE IF NOT EXISTS cooldowns (store INTEGER NOT NULL, msb INTEGER NOT NULL, "
+                    + "lsb INTEGER NOT NULL, expiry INTEGER NOT NULL, PRIMARY KEY (store, msb, lsb)) WITHOUT ROWID");
+            statement.execute("CREATE TABLE IF NOT EXISTS history (time INTEGER NOT NULL, uuid TEXT NOT NULL, action TEXT NOT NULL)");
+            statement.execute("CREATE TABLE IF NOT EXISTS meta (key TEXT PRIMARY KEY, value TEXT NOT NULL)");
+        }
+        return opened;
+    }
+
+    /**
+     * Databases created before last-seen tracking lack the column
+     */
+    private static void addLastSeenColumn(Statement statement) throws SQLException {
+        try (ResultSet columns = statement.executeQuery("PRAGMA table_info(players)")) {
+            while (columns.next()) {
+                if (columns.getString("name").equals("last_seen")) {
+                    return;
+                }
+            }
+        }
+        statement.execute("ALTER TABLE players ADD COLUMN last_seen INTEGER");
+    }
+
+    /**
+     * @return false if the transaction failed and was rolled back
+     */
+    private boolean write(Set<UUID> saints, long[] playerBatch, int playerBatchSize,
+                       long[] lastSeenBatch, int lastSeenBatchSize, Map<UUID, String> nameBatch,
+                       long[][] cooldowns, List<HistoryEntry> history) {
+        try {
+            connection.setAutoCommit(false);
+            if (saints != null) {
+                try (Statement statement = connection.createStatement();
+                     PreparedStatement insert = connection.prepareStatement("INSERT INTO saints (position, uuid) VALUES (?, ?)")) {
+                    statement.executeUpdate("DELETE FROM saints");
+                    int position = 0;
+                    for (UUID saint : saints) {
+                        insert.setInt(1, position++);
+                        insert.setString(2, saint.toString());
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+
+            if (playerBatchSize > 0) {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT OR IGNORE INTO players (msb, lsb, first_seen) VALUES (?, ?, ?)")) {
+                    for (int i = 0; i < playerBatchSize; i += 3) {
+                        insert.setLong(1, playerBatch[i]);
+                        insert.setLong(2, playerBatch[i + 1]);
+                        insert.setLong(3, playerBatch[i + 2]);
+                        insert.addBatch();
+                        if ((i / 3 + 1) % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+            }
+
+            // After the inserts, so players recorded in this batch are updated too
+            if (lastSeenBatchSize > 0) {
+                try (PreparedStatement update = connection.prepareStatement(
+                        "UPDATE players SET last_seen = ? WHERE msb = ? AND lsb = ?")) {
+                    for (int i = 0; i < lastSeenBatchSize; i += 3) {
+                        update.setLong(1, lastSeenBatch[i + 2]);
+                        update.setLong(2, lastSeenBatch[i]);
+                        update.setLong(3, lastSeenBatch[i + 1]);
+                        update.addBatch();
+                        if ((i / 3 + 1) % BATCH_SIZE == 0) {
+                            update.executeBatch();
+                        }
+                    }
+                    update.executeBatch();
+                }
+            }
+
+            if (!nameBatch.isEmpty()) {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT OR REPLACE INTO names (msb, lsb, name) VALUES (?, ?, ?)")) {
+                    int batched = 0;
+                    for (Map.Entry<UUID, String> entry : nameBatch.entrySet()) {
+                        insert.setLong(1, entry.getKey().getMostSignificantBits());
+                        insert.setLong(2, entry.getKey().getLeastSignificantBits());
+                        insert.setString(3, entry.getValue());
+                        insert.addBatch();
+                        if (++batched % BATCH_SIZE == 0) {
+                            insert.executeBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+            }
+
+            if (cooldowns != null) {
+                try (Statement statement = connection.createStatement();
+                     PreparedStatement insert = connection.prepareStatement(
+                             "INSERT OR REPLACE INTO cooldowns (store, msb, lsb, expiry) VALUES (?, ?, ?, ?)")) {
+                    statement.executeUpdate("DELETE FROM cooldowns");
+                    for (int store = 0; store < cooldowns.length; store++) {
+                        long[] triples = cooldowns[store];
+                        for (int i = 0; i < triples.length; i += 3) {
+                            insert.setInt(1, store);
+                            insert.setLong(2, triples[i]);
+                            insert.setLong(3, triples[i + 1]);
+                            insert.setLong(4, triples[i + 2]);
+                            insert.addBatch();
+                        }
+                    }
+                    insert.executeBatch();
+                }
+            }
+
+            if (!history.isEmpty()) {
+                try (PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO history (time, uuid, action) VALUES (?, ?, ?)")) {
+                    for (HistoryEntry entry : history) {
+                        insert.setLong(1, entry.time);
+                        insert.setString(2, entry.uuid.toString());
+                        insert.setString(3, entry.action);
+                        insert.addBatch();
+                    }
+                    insert.executeBatch();
+                }
+            }
+
+            connection.commit();
+            return true;
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Could not write to " + file.getFileName() + ", retrying on the next save!", e);
+            try {
+                connection.rollback();
+            } catch (SQLException rollback) {
+                logger.log(Level.SEVERE, "Could not roll back " + file.getFileName() + "!", rollback);
+            }
+            return false;
+        } finally {
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Could not end the transaction on " + file.getFileName() + "!", e);
+            }
+        }
+    }
+
+    private int queryInt(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            return rows.next() ? rows.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Run a job on the worker thread and wait for it
+     */
+    private <T> T call(Callable<T> job) throws SQLException {
+        try {
+            return executor.submit(job).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for " + file.getFileName(), e);
+        }
+    }
+
+    private static final class HistoryEntry {
+        private final UUID uuid;
+        private final String action;
+        private final long time;
+
+        private HistoryEntry(UUID uuid, String action, long time) {
+            this.uuid = uuid;
+            this.action = action;
+            this.time = time;
+        }
+    }
+}
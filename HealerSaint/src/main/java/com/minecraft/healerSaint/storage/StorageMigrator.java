@@ -0,0 +1,188 @@
+package com.minecraft.healerSaint.storage;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+
+import com.minecraft.healerSaint.cooldown.CooldownStore;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Copies the YAML backend's files into another backend. data.yml is read as a
+ * stream of parser events, players.dat and names.dat record by record, and the target is
+ * flushed every few thousand players, so the source never has to fit in memory.
+ */
+public final class StorageMigrator {
+    private static final int FLUSH_EVERY = 5000;
+
+    private final File folder;
+    private final SaintStorage target;
+    private final Logger logger;
+    private int players;
+
+    private StorageMigrator(File folder, SaintStorage target, Logger logger) {
+        this.folder = folder;
+        this.target = target;
+        this.logger = logger;
+    }
+
+    /**
+     * Check whether there is anything to migrate
+     * @param folder The plugin's data folder
+     * @return true if data.yml or players.dat exists
+     */
+    public static boolean hasYamlData(File folder) {
+        return new File(folder, "data.yml").exists() || new File(folder, "players.dat").exists();
+    }
+
+    /**
+     * Copy saints, players, names and cooldowns of the YAML backend into a target backend
+     * @param folder The plugin's data folder
+     * @param target The backend to fill
+     * @param logger Logger for progress and errors
+     * @return false if data.yml could not be read
+     */
+    public static boolean migrate(File folder, SaintStorage target, Logger logger) {
+        return new StorageMigrator(folder, target, logger).run();
+    }
+
+    private boolean run() {
+        Set<UUID> saints = new LinkedHashSet<>();
+        File dataFile = new File(folder, "data.yml");
+        if (dataFile.exists()) {
+            try (Reader reader = Files.newBufferedReader(dataFile.toPath(), StandardCharsets.UTF_8)) {
+                streamData(reader, saints);
+            } catch (IOException | RuntimeException e) {
+                logger.log(Level.SEVERE, "Could not migrate data.yml!", e);
+                return false;
+            }
+        }
+
+        PlayerRegistry.read(new File(folder, "players.dat").toPath(), logger,
+                (msb, lsb, firstSeen) -> addPlayer(new UUID(msb, lsb), firstSeen),
+                (msb, lsb, lastSeen) -> target.recordLastSeen(new UUID(msb, lsb), lastSeen));
+        NameFile.load(new File(folder, "names.dat").toPath(), logger, target::recordName);
+
+        long now = System.currentTimeMillis();
+        CooldownStore healing = new CooldownStore(now);
+        CooldownStore resurrection = new CooldownStore(now);
+        CooldownFile.load(new File(folder, "cooldowns.dat").toPath(), now, logger, healing, resurrection);
+
+        target.saveSaints(saints);
+        target.saveCooldowns(now, healing, resurrection);
+        target.flush().join();
+        logger.info("Migrated " + saints.size() + " saints and " + players + " players from the YAML storage");
+        return true;
+    }
+
+    private void addPlayer(UUID uuid, long firstSeen) {
+        if (target.recordPlayer(uuid, firstSeen) && ++players % FLUSH_EVERY == 0) {
+            target.flush().join();
+        }
+    }
+
+    /**
+     * Walk the top-level keys of data.yml: "saints" (list), "current_saint" (legacy
+     * scalar) and "players" (legacy map of uuid to first-seen time). Others are skipped.
+     */
+    private void streamData(Reader reader, Set<UUID> saints) {
+        LoaderOptions options = new LoaderOptions();
+        options.setCodePointLimit(Integer.MAX_VALUE);
+        Iterator<Event> events = new Yaml(options).parse(reader).iterator();
+
+        // Find the root mapping, an empty file has none
+        while (events.hasNext()) {
+            if (events.next() instanceof MappingStartEvent) {
+                break;
+            }
+        }
+
+        while (events.hasNext()) {
+            Event key = events.next();
+            if (!(key instanceof ScalarEvent)) {
+                return;
+            }
+
+            switch (((ScalarEvent) key).getValue()) {
+                case "saints":
+                    if (events.next() instanceof SequenceStartEvent) {
+                        Event item;
+                        while (!((item = events.next()) instanceof SequenceEndEvent)) {
+                            addSaint(saints, item);
+                        }
+                    }
+                    break;
+                case "current_saint":
+                    addSaint(saints, events.next());
+                    break;
+                case "players":
+                    if (events.next() instanceof MappingStartEvent) {
+                        Event player;
+                        while ((player = events.next()) instanceof ScalarEvent) {
+                            Event value = events.next();
+                            if (value instanceof ScalarEvent) {
+                                addLegacyPlayer(((ScalarEvent) player).getValue(), ((ScalarEvent) value).getValue());
+                            } else {
+                                skipValue(events, value);
+                            }
+                        }
+                    }
+                    break;
+                default:
+                    skipValue(events, events.next());
+            }
+        }
+    }
+
+    private void addSaint(Set<UUID> saints, Event event) {
+        if (!(event instanceof ScalarEvent) || ((ScalarEvent) event).getValue().isEmpty()) {
+            return;
+        }
+        String value = ((ScalarEvent) event).getValue();
+        try {
+            saints.add(UUID.fromString(value));
+        } catch (IllegalArgumentException e) {
+            logger.warning("Skipping invalid saint entry in data.yml: " + value);
+        }
+    }
+
+    private void addLegacyPlayer(String key, String value) {
+        try {
+            addPlayer(UUID.fromString(key), Long.parseLong(value));
+        } catch (IllegalArgumentException e) {
+            logger.warning("Skipping invalid player entry in data.yml: " + key);
+        }
+    }
+
+    private static void skipValue(Iterator<Event> events, Event first) {
+        int depth = 0;
+        Event event = first;
+        while (true) {
+            if (event instanceof MappingStartEvent || event instanceof SequenceStartEvent) {
+                depth++;
+            } else if (event instanceof MappingEndEvent || event instanceof SequenceEndEvent) {
+                depth--;
+            }
+            if (depth <= 0) {
+                return;
+            }
+            event = events.next();
+        }
+    }
+}
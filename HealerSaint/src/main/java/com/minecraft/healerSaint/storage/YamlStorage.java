@@ -0,0 +1,261 @@
+package com.minecraft.healerSaint.storage;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import com.minecraft.healerSaint.cooldown.CooldownStore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The file backend: the saint roster in data.yml, the player registry in players.dat,
+ * player names in names.dat, cooldowns in cooldowns.dat and the history as lines of history.log.
+ * All writes go through the plugin's {@link DataWriter}.
+ */
+public class YamlStorage implements SaintStorage {
+    private static final int NAME_COMPACT_MIN_RECORDS = 1024;
+
+    private final File dataFile;
+    private final Path cooldownFile;
+    private final Path historyFile;
+    private final Path nameFile;
+    private final DataWriter writer;
+    private final Logger logger;
+    private final PlayerRegistry registry;
+    private FileConfiguration data;
+
+    // History lines appended since the last flush, guarded by this
+    private final StringBuilder history = new StringBuilder();
+
+    // Latest name per player and the records not appended yet, guarded by this
+    private final Map<UUID, String> names = new HashMap<>();
+    private ByteArrayOutputStream pendingNames = new ByteArrayOutputStream();
+    private boolean rewriteNames;
+
+    public YamlStorage(File folder, DataWriter writer, Logger logger) {
+        this.dataFile = new File(folder, "data.yml");
+        this.cooldownFile = new File(folder, "cooldowns.dat").toPath();
+        this.historyFile = new File(folder, "history.log").toPath();
+        this.nameFile = new File(folder, "names.dat").toPath();
+        this.writer = writer;
+        this.logger = logger;
+
+        // Create data file if it doesn't exist
+        if (!dataFile.exists()) {
+            try {
+                folder.mkdirs();
+                dataFile.createNewFile();
+            } catch (IOException e) {
+                logger.severe("Could not create data.yml!");
+                e.printStackTrace();
+            }
+        }
+
+        this.data = YamlConfiguration.loadConfiguration(dataFile);
+        this.registry = new PlayerRegistry(new File(folder, "players.dat").toPath(), writer, logger);
+        migrateLegacyPlayers();
+
+        // Start a new log if there is none, and drop superseded records once they dominate it
+        int nameRecords = NameFile.load(nameFile, logger, names::put);
+        rewriteNames = nameRecords < 0
+                || (nameRecords >= NAME_COMPACT_MIN_RECORDS && nameRecords > 2 * names.size());
+    }
+
+    @Override
+    public synchronized Set<UUID> loadSaints() {
+        // Re-read the file, so manual edits are picked up on reload
+        data = YamlConfiguration.loadConfiguration(dataFile);
+
+        Set<UUID> saints = new LinkedHashSet<>();
+        for (String uuidString : data.getStringList("saints")) {
+            try {
+                saints.add(UUID.fromString(uuidString));
+            } catch (IllegalArgumentException e) {
+                logger.warning("Skipping invalid saint entry in data.yml: " + uuidString);
+            }
+        }
+
+        // Upgrade the legacy single "current_saint" entry
+        String legacy = data.getString("current_saint");
+        if (legacy != null && !legacy.isEmpty()) {
+            saints.add(UUID.fromString(legacy));
+            saveSaints(saints);
+        }
+        return saints;
+    }
+
+    @Override
+    public synchronized void saveSaints(Set<UUID> saints) {
+        List<String> list = new ArrayList<>(saints.size());
+        for (UUID saint : saints) {
+            list.add(saint.toString());
+        }
+        data.set("saints", list);
+        data.set("current_saint", null);
+        saveData();
+    }
+
+    @Override
+    public boolean isKnownPlayer(UUID uuid) {
+        return registry.contains(uuid);
+    }
+
+    @Override
+    public long getFirstSeen(UUID uuid) {
+        return registry.getFirstSeen(uuid);
+    }
+
+    @Override
+    public long getLastSeen(UUID uuid) {
+        return registry.getLastSeen(uuid);
+    }
+
+    @Override
+    public int getPlayerCount() {
+        return registry.size();
+    }
+
+    @Override
+    public boolean recordPlayer(UUID uuid, long firstSeen) {
+        return registry.record(uuid, firstSeen);
+    }
+
+    @Override
+    public void recordLastSeen(UUID uuid, long time) {
+        registry.touch(uuid, time);
+    }
+
+    @Override
+    public synchronized void recordName(UUID uuid, String name) {
+        if (name.equals(names.put(uuid, name))) {
+            return;
+        }
+        if (!rewriteNames) {
+            NameFile.encode(pendingNames, uuid, name);
+        }
+    }
+
+    @Override
+    public void loadNames(BiConsumer<UUID, String> visitor) {
+        Map<UUID, String> snapshot;
+        synchronized (this) {
+            snapshot = new HashMap<>(names);
+        }
+        snapshot.forEach(visitor);
+    }
+
+    @Override
+    public int scanPlayers(int cursor, int limit, RecordVisitor visitor) {
+        return registry.scan(cursor, limit, visitor);
+    }
+
+    @Override
+    public void loadCooldowns(long now, CooldownStore... stores) {
+        CooldownFile.load(cooldownFile, now, logger, stores);
+    }
+
+    @Override
+    public void saveCooldowns(long now, CooldownStore... stores) {
+        writer.writeAtomically(cooldownFile, CooldownFile.encode(now, stores));
+    }
+
+    @Override
+    public synchronized void recordHistory(UUID uuid, String action, long time) {
+        history.append(time).append(' ').append(uuid).append(' ').append(action).append('\n');
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        registry.flush();
+
+        byte[] lines;
+        synchronized (this) {
+            lines = history.toString().getBytes(StandardCharsets.UTF_8);
+            history.setLength(0);
+        }
+        if (lines.length > 0) {
+            writer.execute(() -> appendHistory(lines));
+        }
+
+        synchronized (this) {
+            if (rewriteNames && !names.isEmpty()) {
+                // Everything up to now in one snapshot, later records are appended to it
+                writer.writeAtomically(nameFile, NameFile.encode(names));
+                rewriteNames = false;
+            } else if (pendingNames.size() > 0) {
+                byte[] records = pendingNames.toByteArray();
+                pendingNames = new ByteArrayOutputStream();
+                writer.execute(() -> append(nameFile, records));
+            }
+        }
+        return writer.flush();
+    }
+
+    @Override
+    public void close() {
+        // The writer is owned and closed by the caller
+        flush();
+    }
+
+    private void saveData() {
+        writer.writeAtomically(dataFile.toPath(), data.saveToString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void appendHistory(byte[] lines) {
+        append(historyFile, lines);
+    }
+
+    private void append(Path file, byte[] bytes) {
+        try {
+            Files.write(file, bytes, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Could not append to " + file.getFileName() + "!", e);
+        }
+    }
+
+    /**
+     * One-time move of the legacy "players.<uuid>" section of data.yml into the player registry
+     */
+    private void migrateLegacyPlayers() {
+        ConfigurationSection players = data.getConfigurationSection("players");
+        if (players == null) {
+            return;
+        }
+
+        int migrated = 0;
+        for (String key : players.getKeys(false)) {
+            try {
+                if (registry.record(UUID.fromString(key), players.getLong(key))) {
+                    migrated++;
+                }
+            } catch (IllegalArgumentException e) {
+                logger.warning("Skipping invalid player entry in data.yml: " + key);
+            }
+        }
+
+        // The registry append is queued before the data.yml snapshot, so the writer
+        // never drops the legacy section before the registry has it
+        registry.flush();
+        data.set("players", null);
+        saveData();
+        logger.info("Migrated " + migrated + " players from data.yml to players.dat");
+    }
+}
@@ -0,0 +1,17 @@
+package com.minecraft.healerSaint.tasks;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+public class AutosaveTask implements Runnable {
+    private final HealerSaint plugin;
+
+    public AutosaveTask(HealerSaint plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void run() {
+        // Coalesce every change since the last run into one snapshot
+        plugin.getSaintManager().saveIfDirty();
+    }
+}
@@ -0,0 +1,16 @@
+package com.minecraft.healerSaint.tasks;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+public class BroadcastTask implements Runnable {
+    private final HealerSaint plugin;
+
+    public BroadcastTask(HealerSaint plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void run() {
+        plugin.getBroadcasts().tick();
+    }
+}
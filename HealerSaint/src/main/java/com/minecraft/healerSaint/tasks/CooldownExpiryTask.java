@@ -0,0 +1,17 @@
+package com.minecraft.healerSaint.tasks;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+public class CooldownExpiryTask implements Runnable {
+    private final HealerSaint plugin;
+
+    public CooldownExpiryTask(HealerSaint plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void run() {
+        // Each run only visits the timing wheel slots that came due since the last one
+        plugin.getSaintManager().expireCooldowns();
+    }
+}
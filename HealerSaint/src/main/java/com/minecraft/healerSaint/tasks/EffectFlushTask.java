@@ -0,0 +1,16 @@
+package com.minecraft.healerSaint.tasks;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+public class EffectFlushTask implements Runnable {
+    private final HealerSaint plugin;
+
+    public EffectFlushTask(HealerSaint plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void run() {
+        plugin.getEffects().flush();
+    }
+}
@@ -0,0 +1,64 @@
+package com.minecraft.healerSaint.tasks;
+
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+
+import com.minecraft.healerSaint.api.SaintHealEvent;
+
+import java.util.Arrays;
+
+/**
+ * The targets of one aura pulse and the health each of them receives, as parallel
+ * arrays reused from pulse to pulse, so a pulse can be handed to listeners as a
+ * single {@link SaintHealEvent}.
+ */
+final class HealBatch {
+    private Player[] targets = new Player[16];
+    private double[] amounts = new double[16];
+    private int size;
+
+    void add(Player target, double amount) {
+        if (size == targets.length) {
+            targets = Arrays.copyOf(targets, size * 2);
+            amounts = Arrays.copyOf(amounts, size * 2);
+        }
+        targets[size] = target;
+        amounts[size] = amount;
+        size++;
+    }
+
+    int size() {
+        return size;
+    }
+
+    Player target(int index) {
+        return targets[index];
+    }
+
+    double amount(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Drop every target, without keeping the players reachable
+     */
+    void clear() {
+        Arrays.fill(targets, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Let listeners change or cancel the pulse. Nothing is built without listeners.
+     * @param saint The saint pulsing
+     * @param source What causes the heal
+     * @return false if a listener cancelled the pulse
+     */
+    boolean fire(Player saint, SaintHealEvent.Source source) {
+        if (size == 0 || !SaintHealEvent.hasListeners()) {
+            return true;
+        }
+        SaintHealEvent event = new SaintHealEvent(saint, source, targets, amounts, size);
+        Bukkit.getPluginManager().callEvent(event);
+        return !event.isCancelled();
+    }
+}
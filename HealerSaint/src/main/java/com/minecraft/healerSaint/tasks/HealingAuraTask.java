@@ -2,77 +2,153 @@ package com.minecraft.healerSaint.tasks;
 
 import org.bukkit.Bukkit;
 import org.bukkit.Particle;
-import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
-import org.bukkit.scheduler.BukkitRunnable;
 
 import com.minecraft.healerSaint.HealerSaint;
-
+import com.minecraft.healerSaint.api.SaintHealEvent;
+import com.minecraft.healerSaint.config.Settings;
+import com.minecraft.healerSaint.load.LoadMonitor;
+import com.minecraft.healerSaint.spatial.AuraTracker;
+import com.minecraft.healerSaint.stats.PluginStats;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 
-public class HealingAuraTask extends BukkitRunnable {
+/**
+ * Runs every tick. Saints are hashed into one of 20 / aura_pulses_per_second shards,
+ * so each saint pulses aura_pulses_per_second times per second but the pulses are
+ * spread evenly. A pulse heals the members known to the {@link AuraTracker}, announced
+ * to other plugins as one {@link SaintHealEvent}. Work is done within a per-tick time
+ * budget; whatever is left carries over to the next tick. Under load the
+ * {@link LoadMonitor} stretches the pulse interval and raises the heal per pulse.
+ * Used on standard servers, region-threaded servers run a {@link SaintAuraTask} per saint.
+ */
+public class HealingAuraTask implements Runnable {
+    public static final int TICKS_PER_SECOND = 20;
+
     private final HealerSaint plugin;
 
+    // Saints whose pulse is due but not started yet
+    private final ArrayDeque<UUID> dueSaints = new ArrayDeque<>();
+    private final Set<UUID> queuedSaints = new HashSet<>();
+
+    // Targets of the pulse in progress
+    private final HealBatch batch = new HealBatch();
+    private int nextTarget;
+
+    private long tick;
+
     public HealingAuraTask(HealerSaint plugin) {
         this.plugin = plugin;
     }
 
     @Override
     public void run() {
-        UUID saintUUID = plugin.getSaintManager().getCurrentSaint();
+        PluginStats stats = plugin.getStats();
+        long start = stats.start();
+
+        Settings settings = plugin.getSettings();
+        LoadMonitor load = plugin.getLoadMonitor();
+        int shards = (int) load.getPulseIntervalTicks(settings);
+        int shard = (int) (tick++ % shards);
+
+        // Queue the saints of this tick's shard, unless their last pulse is still pending
+        for (UUID saintUUID : plugin.getSaintManager().getSaints()) {
+            if (shardOf(saintUUID, shards) == shard && queuedSaints.add(saintUUID)) {
+                dueSaints.add(saintUUID);
+            }
+        }
+
+        long deadline = System.nanoTime() + settings.getAuraTickBudgetNanos();
+        do {
+            if (nextTarget < batch.size()) {
+                heal(plugin, batch.target(nextTarget), batch.amount(nextTarget));
+                nextTarget++;
+            } else if (!startNextPulse(settings, load)) {
+                break;
+            }
+        } while (System.nanoTime() < deadline);
+
+        stats.stop(PluginStats.Timer.AURA, start);
+    }
+
+    /**
+     * Collect the targets of the next due saint
+     * @return false if no saint is due
+     */
+    private boolean startNextPulse(Settings settings, LoadMonitor load) {
+        batch.clear();
+        nextTarget = 0;
 
-        // If there's no saint, do nothing
+        UUID saintUUID = dueSaints.poll();
         if (saintUUID == null) {
-            return;
+            return false;
         }
+        queuedSaints.remove(saintUUID);
 
-        // Get the saint player
+        // If saint is offline, skip them
         Player saint = Bukkit.getPlayer(saintUUID);
-
-        // If saint is offline, do nothing
         if (saint == null || !saint.isOnline()) {
-            return;
+            return true;
         }
 
-        // Get healing radius and amount from config
-        double radius = plugin.getConfig().getDouble("healing_radius", 5.0);
-        double healingPerSecond = plugin.getConfig().getDouble("healing_per_second", 0.5);
-
-        // Get nearby entities
-        for (Entity entity : saint.getNearbyEntities(radius, radius, radius)) {
-            // Only heal players, not mobs
-            if (entity instanceof Player) {
-                Player target = (Player) entity;
-
-                // Skip dead or full health players
-                if (target.isDead() || target.getHealth() >= target.getMaxHealth()) {
-                    continue;
-                }
-
-                // Apply healing
-                double newHealth = Math.min(target.getHealth() + healingPerSecond, target.getMaxHealth());
-                target.setHealth(newHealth);
-
+        // Only the tracked members are visited, the pulse may outlive this tick
+        double amount = load.getHealingPerPulse(settings);
+        for (Player member : plugin.getAuraTracker().getMembers(saintUUID)) {
+            batch.add(member, amount);
+        }
+        if (!batch.fire(saint, SaintHealEvent.Source.AURA)) {
+            batch.clear();
+        }
 
+        // Visual effect for the saint (golden particles)
+        int particles = load.getAuraParticlesPerPulse(settings);
+        if (particles > 0) {
+            plugin.getEffects().spawn(
+                    Particle.END_ROD,
+                    saint.getLocation().add(0, 1, 0),
+                    particles, 0.5, 0.5, 0.5, 0.02
+            );
+        }
+        return true;
+    }
 
-                // Only show particles if player was actually healed
-                if (newHealth > target.getHealth()) {
-                    // Visual effect (small hearts)
-                    target.getWorld().spawnParticle(
-                            Particle.HEART,
+    /**
+     * Heal one aura target, shared with the per-saint tasks of region-threaded servers
+     * @param plugin The plugin
+     * @param target The player in the aura
+     * @param amount Health restored by the pulse
+     */
+    static void heal(HealerSaint plugin, Player target, double amount) {
+        // Skip players that left, died or are at full health since the pulse started
+        if (amount <= 0 || !target.isOnline() || target.isDead()) {
+            return;
+        }
+        double health = target.getHealth();
+        double maxHealth = target.getMaxHealth();
+        if (health >= maxHealth) {
+            return;
+        }
 
-                            target.getLocation().add(0, 1.5, 0),
-                            1, 0.2, 0.2, 0.2, 0
-                    );
-                }
-            }
+        // Apply healing
+        double newHealth = Math.min(health + amount, maxHealth);
+        target.setHealth(newHealth);
+        plugin.getStats().increment(PluginStats.Counter.HEALS);
+
+        // Only show particles if player was actually healed, and the server has room for them
+        if (newHealth > health && plugin.getLoadMonitor().showsHealParticles()) {
+            // Visual effect (small hearts)
+            plugin.getEffects().spawn(
+                    Particle.HEART,
+                    target.getLocation().add(0, 1.5, 0),
+                    1, 0.2, 0.2, 0.2, 0
+            );
         }
+    }
 
-        // Visual effect for the saint (golden particles)
-        saint.getWorld().spawnParticle(
-                Particle.END_ROD,
-                saint.getLocation().add(0, 1, 0),
-                3, 0.5, 0.5, 0.5, 0.02
-        );
+    private static int shardOf(UUID uuid, int shards) {
+        return (uuid.hashCode() & Integer.MAX_VALUE) % shards;
     }
 }
\ No newline at end of file
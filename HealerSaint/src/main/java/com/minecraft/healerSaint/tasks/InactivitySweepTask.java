@@ -0,0 +1,21 @@
+package com.minecraft.healerSaint.tasks;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+/**
+ * Walks the player registry one slice per run, demoting saints that have been
+ * inactive for too long. A full pass takes players / inactivity_sweep_batch runs.
+ */
+public class InactivitySweepTask implements Runnable {
+    private final HealerSaint plugin;
+    private int cursor;
+
+    public InactivitySweepTask(HealerSaint plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void run() {
+        cursor = plugin.getSaintManager().sweepInactive(cursor, plugin.getSettings().getInactivitySweepBatch());
+    }
+}
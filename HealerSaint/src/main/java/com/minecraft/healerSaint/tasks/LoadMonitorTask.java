@@ -0,0 +1,16 @@
+package com.minecraft.healerSaint.tasks;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+public class LoadMonitorTask implements Runnable {
+    private final HealerSaint plugin;
+
+    public LoadMonitorTask(HealerSaint plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void run() {
+        plugin.getLoadMonitor().sample();
+    }
+}
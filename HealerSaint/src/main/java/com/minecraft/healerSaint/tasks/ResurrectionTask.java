@@ -0,0 +1,16 @@
+package com.minecraft.healerSaint.tasks;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+public class ResurrectionTask implements Runnable {
+    private final HealerSaint plugin;
+
+    public ResurrectionTask(HealerSaint plugin) {
+        this.plugin = plugin;
+    }
+
+    @Override
+    public void run() {
+        plugin.getResurrections().drain();
+    }
+}
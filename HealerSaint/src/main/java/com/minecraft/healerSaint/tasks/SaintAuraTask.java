@@ -0,0 +1,66 @@
+package com.minecraft.healerSaint.tasks;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.api.SaintHealEvent;
+import com.minecraft.healerSaint.config.Settings;
+import com.minecraft.healerSaint.load.LoadMonitor;
+import com.minecraft.healerSaint.stats.PluginStats;
+
+/**
+ * The healing aura of one saint on a region-threaded server. Runs aura_pulses_per_second
+ * times per second on the saint's entity scheduler, so it only touches players in the saint's region
+ * and shares no state with the auras of other saints. Each pulse is announced as one
+ * {@link SaintHealEvent}.
+ */
+public class SaintAuraTask implements Runnable {
+    private final HealerSaint plugin;
+    private final Player saint;
+    private final HealBatch batch = new HealBatch();
+
+    public SaintAuraTask(HealerSaint plugin, Player saint) {
+        this.plugin = plugin;
+        this.saint = saint;
+    }
+
+    @Override
+    public void run() {
+        PluginStats stats = plugin.getStats();
+        long start = stats.start();
+
+        Settings settings = plugin.getSettings();
+        LoadMonitor load = plugin.getLoadMonitor();
+        double radius = settings.getHealingRadius();
+        Location center = saint.getLocation();
+
+        // Players within the aura radius are always in the saint's region
+        for (Entity entity : saint.getNearbyEntities(radius, radius, radius)) {
+            if (!(entity instanceof Player)) {
+                continue;
+            }
+            Player target = (Player) entity;
+            if (target.getLocation().distanceSquared(center) <= settings.getHealingRadiusSquared()) {
+                batch.add(target, load.getHealingPerPulse(settings));
+            }
+        }
+
+        if (batch.fire(saint, SaintHealEvent.Source.AURA)) {
+            for (int i = 0; i < batch.size(); i++) {
+                HealingAuraTask.heal(plugin, batch.target(i), batch.amount(i));
+            }
+        }
+        batch.clear();
+
+        // Visual effect for the saint (golden particles)
+        int particles = load.getAuraParticlesPerPulse(settings);
+        if (particles > 0) {
+            plugin.getEffects().spawn(Particle.END_ROD, center.add(0, 1, 0), particles, 0.5, 0.5, 0.5, 0.02);
+        }
+
+        stats.stop(PluginStats.Timer.AURA, start);
+    }
+}
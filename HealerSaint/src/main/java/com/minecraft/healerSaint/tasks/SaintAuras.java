@@ -0,0 +1,99 @@
+package com.minecraft.healerSaint.tasks;
+
+import org.bukkit.entity.Player;
+
+import com.minecraft.healerSaint.HealerSaint;
+import com.minecraft.healerSaint.scheduler.ScheduledTask;
+import com.minecraft.healerSaint.scheduler.TaskScheduler;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * The per-saint aura tasks of a region-threaded server. Each online saint gets one
+ * {@link SaintAuraTask} on their entity scheduler; it is dropped when the saint is
+ * demoted or removed from the world.
+ */
+public class SaintAuras {
+    private final TaskScheduler scheduler;
+    private final Function<Player, Runnable> auraFactory;
+    private final LongSupplier pulseIntervalTicks;
+    private final Map<UUID, ScheduledTask> auras = new ConcurrentHashMap<>();
+
+    public SaintAuras(HealerSaint plugin) {
+        this(plugin.getScheduler(), saint -> new SaintAuraTask(plugin, saint),
+                () -> plugin.getLoadMonitor().getPulseIntervalTicks(plugin.getSettings()));
+    }
+
+    /**
+     * @param scheduler The scheduler running the auras
+     * @param auraFactory Creates the aura task of a saint
+     * @param pulseIntervalTicks Ticks between two pulses of an aura
+     */
+    SaintAuras(TaskScheduler scheduler, Function<Player, Runnable> auraFactory, LongSupplier pulseIntervalTicks) {
+        this.scheduler = scheduler;
+        this.auraFactory = auraFactory;
+        this.pulseIntervalTicks = pulseIntervalTicks;
+    }
+
+    /**
+     * Start the aura of a saint, replacing the one already running
+     * @param saint The saint
+     */
+    public void start(Player saint) {
+        UUID uuid = saint.getUniqueId();
+        long interval = pulseIntervalTicks.getAsLong();
+        ScheduledTask[] started = new ScheduledTask[1];
+        started[0] = scheduler.runAtEntityTimer(saint, auraFactory.apply(saint), () -> auras.remove(uuid, started[0]),
+                interval, interval);
+        ScheduledTask previous = auras.put(uuid, started[0]);
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    /**
+     * Restart the aura of a saint on their own thread, e.g. once the pulse rate changed
+     * @param saint The saint
+     */
+    public void restart(Player saint) {
+        scheduler.runAtEntityLater(saint, () -> start(saint), 1L);
+    }
+
+    /**
+     * Stop the aura of a saint
+     * @param saint The saint
+     */
+    public void stop(Player saint) {
+        ScheduledTask aura = auras.remove(saint.getUniqueId());
+        if (aura != null) {
+            aura.cancel();
+        }
+    }
+
+    /**
+     * Stop every aura
+     */
+    public void stopAll() {
+        for (ScheduledTask aura : auras.values()) {
+            aura.cancel();
+        }
+        auras.clear();
+    }
+
+    /**
+     * Whether a saint's aura is running
+     * @param saint The saint's UUID
+     * @return true if the aura was started and not stopped or retired since
+     */
+    public boolean isRunning(UUID saint) {
+        return auras.containsKey(saint);
+    }
+
+    public int size() {
+        return auras.size();
+    }
+}
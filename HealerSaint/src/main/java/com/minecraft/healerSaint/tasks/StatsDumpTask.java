@@ -0,0 +1,23 @@
+package com.minecraft.healerSaint.tasks;
+
+import com.minecraft.healerSaint.HealerSaint;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+public class StatsDumpTask implements Runnable {
+    private final HealerSaint plugin;
+    private final Path file;
+
+    public StatsDumpTask(HealerSaint plugin) {
+        this.plugin = plugin;
+        this.file = plugin.getDataFolder().toPath().resolve("stats.prom");
+    }
+
+    @Override
+    public void run() {
+        // Rendered here, written off the main thread, for a node exporter textfile collector
+        byte[] contents = plugin.getStats().toPrometheus().getBytes(StandardCharsets.UTF_8);
+        plugin.getSaintManager().getDataWriter().writeAtomically(file, contents);
+    }
+}
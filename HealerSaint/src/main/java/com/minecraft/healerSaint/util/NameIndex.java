@@ -0,0 +1,252 @@
+package com.minecraft.healerSaint.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Player names sorted by their lowercased form, so every name is lowercased once when
+ * it is added and a prefix completion is a binary search plus a scan of the matches.
+ * Holds online players and, optionally, known offline players; each entry carries
+ * whether its player is online. Kept up to date from joins and quits.
+ * Thread-safe: every method synchronizes on the index.
+ */
+public class NameIndex {
+    private String[] keys = new String[64];
+    private String[] names = new String[64];
+    private UUID[] uuids = new UUID[64];
+    private boolean[] online = new boolean[64];
+    private int size;
+    private int onlineCount;
+
+    // Lowercased name of every indexed player, to find their entry on quit or rename
+    private final Map<UUID, String> keyOf = new HashMap<>();
+
+    /**
+     * Add or update a player
+     * @param uuid The player's UUID
+     * @param name The player's current name
+     * @param isOnline Whether the player is online
+     */
+    public synchronized void put(UUID uuid, String name, boolean isOnline) {
+        String key = name.toLowerCase(Locale.ROOT);
+        String previous = keyOf.get(uuid);
+        if (previous != null && !previous.equals(key)) {
+            // Renamed since it was indexed
+            removeAt(indexOf(previous));
+        }
+
+        int index = indexOf(key);
+        if (index >= 0) {
+            // The name may have moved to another account, or only changed case
+            if (!uuids[index].equals(uuid)) {
+                keyOf.remove(uuids[index]);
+            }
+            names[index] = name;
+            uuids[index] = uuid;
+            setOnline(index, isOnline);
+        } else {
+            insertAt(-index - 1, key, name, uuid, isOnline);
+        }
+        keyOf.put(uuid, key);
+    }
+
+    /**
+     * Add an offline player unless they are indexed already, so a stored name never
+     * overrides the current name of an online player
+     * @param uuid The player's UUID
+     * @param name The player's last known name
+     */
+    public synchronized void putOffline(UUID uuid, String name) {
+        if (!keyOf.containsKey(uuid)) {
+            put(uuid, name, false);
+        }
+    }
+
+    /**
+     * Add many offline players at once, like {@link #putOffline} for each of them but
+     * sorting once instead of shifting the arrays per player
+     * @param stored The last known name of each player
+     */
+    public synchronized void putAllOffline(Map<UUID, String> stored) {
+        String[] newKeys = new String[size + stored.size()];
+        String[] newNames = new String[newKeys.length];
+        UUID[] newUuids = new UUID[newKeys.length];
+        boolean[] newOnline = new boolean[newKeys.length];
+
+        // Indexed players first, so they win over a stored player with the same name
+        Integer[] order = new Integer[newKeys.length];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            newKeys[count] = keys[i];
+            newNames[count] = names[i];
+            newUuids[count] = uuids[i];
+            newOnline[count] = online[i];
+            order[count] = count;
+            count++;
+        }
+        for (Map.Entry<UUID, String> entry : stored.entrySet()) {
+            if (!keyOf.containsKey(entry.getKey())) {
+                newKeys[count] = entry.getValue().toLowerCase(Locale.ROOT);
+                newNames[count] = entry.getValue();
+                newUuids[count] = entry.getKey();
+                order[count] = count;
+                count++;
+            }
+        }
+
+        // Stable, so of equal names the one added first stays
+        Arrays.sort(order, 0, count, (a, b) -> newKeys[a].compareTo(newKeys[b]));
+
+        int capacity = Math.max(keys.length, Integer.highestOneBit(Math.max(count, 1)) * 2);
+        keys = new String[capacity];
+        names = new String[capacity];
+        uuids = new UUID[capacity];
+        online = new boolean[capacity];
+        size = 0;
+        onlineCount = 0;
+        keyOf.clear();
+        for (int i = 0; i < count; i++) {
+            int from = order[i];
+            if (size > 0 && keys[size - 1].equals(newKeys[from])) {
+                continue;
+            }
+            keys[size] = newKeys[from];
+            names[size] = newNames[from];
+            uuids[size] = newUuids[from];
+            online[size] = newOnline[from];
+            if (online[size]) {
+                onlineCount++;
+            }
+            keyOf.put(uuids[size], keys[size]);
+            size++;
+        }
+    }
+
+    /**
+     * Mark an indexed player as online or offline
+     * @param uuid The player's UUID
+     * @param isOnline Whether the player is online now
+     */
+    public synchronized void setOnline(UUID uuid, boolean isOnline) {
+        String key = keyOf.get(uuid);
+        if (key != null) {
+            setOnline(indexOf(key), isOnline);
+        }
+    }
+
+    /**
+     * Forget a player
+     * @param uuid The player's UUID
+     */
+    public synchronized void remove(UUID uuid) {
+        String key = keyOf.remove(uuid);
+        if (key != null) {
+            removeAt(indexOf(key));
+        }
+    }
+
+    /**
+     * Complete a name prefix, ignoring case
+     * @param prefix What was typed so far
+     * @param includeOffline true to also complete known offline players
+     * @return The matching names in alphabetical order
+     */
+    public synchronized List<String> complete(String prefix, boolean includeOffline) {
+        String key = prefix.toLowerCase(Locale.ROOT);
+        List<String> matches = new ArrayList<>();
+        for (int i = lowerBound(key); i < size && keys[i].startsWith(key); i++) {
+            if (includeOffline || online[i]) {
+                matches.add(names[i]);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Look up a player by exact name, ignoring case
+     * @param name The name to look up
+     * @return The player's UUID, or null if not indexed
+     */
+    public synchronized UUID find(String name) {
+        int index = indexOf(name.toLowerCase(Locale.ROOT));
+        return index >= 0 ? uuids[index] : null;
+    }
+
+    /**
+     * Get the indexed name of a player
+     * @param uuid The player's UUID
+     * @return The name in its original case, or null if not indexed
+     */
+    public synchronized String getName(UUID uuid) {
+        String key = keyOf.get(uuid);
+        return key == null ? null : names[indexOf(key)];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized int getOnlineCount() {
+        return onlineCount;
+    }
+
+    private void setOnline(int index, boolean isOnline) {
+        if (online[index] != isOnline) {
+            online[index] = isOnline;
+            onlineCount += isOnline ? 1 : -1;
+        }
+    }
+
+    private int indexOf(String key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private int lowerBound(String key) {
+        int index = indexOf(key);
+        return index >= 0 ? index : -index - 1;
+    }
+
+    private void insertAt(int index, String key, String name, UUID uuid, boolean isOnline) {
+        if (size == keys.length) {
+            int capacity = size * 2;
+            keys = Arrays.copyOf(keys, capacity);
+            names = Arrays.copyOf(names, capacity);
+            uuids = Arrays.copyOf(uuids, capacity);
+            online = Arrays.copyOf(online, capacity);
+        }
+        int moved = size - index;
+        System.arraycopy(keys, index, keys, index + 1, moved);
+        System.arraycopy(names, index, names, index + 1, moved);
+        System.arraycopy(uuids, index, uuids, index + 1, moved);
+        System.arraycopy(online, index, online, index + 1, moved);
+        keys[index] = key;
+        names[index] = name;
+        uuids[index] = uuid;
+        online[index] = isOnline;
+        size++;
+        if (isOnline) {
+            onlineCount++;
+        }
+    }
+
+    private void removeAt(int index) {
+        if (online[index]) {
+            onlineCount--;
+        }
+        int moved = size - index - 1;
+        System.arraycopy(keys, index + 1, keys, index, moved);
+        System.arraycopy(names, index + 1, names, index, moved);
+        System.arraycopy(uuids, index + 1, uuids, index, moved);
+        System.arraycopy(online, index + 1, online, index, moved);
+        size--;
+        keys[size] = null;
+        names[size] = null;
+        uuids[size] = null;
+        online[size] = false;
+    }
+}
@@ -0,0 +1,179 @@
+package com.minecraft.healerSaint.util;
+
+import java.util.Arrays;
+import java.util.UUID;
+
+/**
+ * Open-addressing hash map from UUID to a primitive long.
+ * Keys are stored as two longs, so lookups neither box nor allocate.
+ * Not thread-safe.
+ */
+public class UuidLongMap {
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] most;
+    private long[] least;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+    private int resizeAt;
+
+    public UuidLongMap() {
+        this(16);
+    }
+
+    public UuidLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean containsKey(UUID key) {
+        return indexOf(key.getMostSignificantBits(), key.getLeastSignificantBits()) >= 0;
+    }
+
+    /**
+     * Get the value mapped to a key
+     * @param key The key to look up
+     * @param defaultValue Value returned when the key is absent
+     * @return The mapped value, or defaultValue
+     */
+    public long get(UUID key, long defaultValue) {
+        int index = indexOf(key.getMostSignificantBits(), key.getLeastSignificantBits());
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    public void put(UUID key, long value) {
+        put(key.getMostSignificantBits(), key.getLeastSignificantBits(), value);
+    }
+
+    public void put(long msb, long lsb, long value) {
+        int mask = used.length - 1;
+        int index = hash(msb, lsb) & mask;
+        while (used[index]) {
+            if (most[index] == msb && least[index] == lsb) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+
+        used[index] = true;
+        most[index] = msb;
+        least[index] = lsb;
+        values[index] = value;
+        if (++size > resizeAt) {
+            rehash(used.length << 1);
+        }
+    }
+
+    public boolean remove(UUID key) {
+        return remove(key.getMostSignificantBits(), key.getLeastSignificantBits());
+    }
+
+    public boolean remove(long msb, long lsb) {
+        int hole = indexOf(msb, lsb);
+        if (hole < 0) {
+            return false;
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int mask = used.length - 1;
+        int next = (hole + 1) & mask;
+        while (used[next]) {
+            int ideal = hash(most[next], least[next]) & mask;
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+                most[hole] = most[next];
+                least[hole] = least[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        used[hole] = false;
+        size--;
+        return true;
+    }
+
+    public long get(long msb, long lsb, long defaultValue) {
+        int index = indexOf(msb, lsb);
+        return index >= 0 ? values[index] : defaultValue;
+    }
+
+    public void clear() {
+        Arrays.fill(used, false);
+        size = 0;
+    }
+
+    /**
+     * Number of slots, for iterating with {@link #isUsed(int)}
+     * @return The current table capacity
+     */
+    public int capacity() {
+        return used.length;
+    }
+
+    public boolean isUsed(int slot) {
+        return used[slot];
+    }
+
+    public long mostBitsAt(int slot) {
+        return most[slot];
+    }
+
+    public long leastBitsAt(int slot) {
+        return least[slot];
+    }
+
+    public long valueAt(int slot) {
+        return values[slot];
+    }
+
+    private int indexOf(long msb, long lsb) {
+        int mask = used.length - 1;
+        int index = hash(msb, lsb) & mask;
+        while (used[index]) {
+            if (most[index] == msb && least[index] == lsb) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldMost = most;
+        long[] oldLeast = least;
+        long[] oldValues = values;
+        boolean[] oldUsed = used;
+
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldUsed.length; i++) {
+            if (oldUsed[i]) {
+                put(oldMost[i], oldLeast[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        most = new long[capacity];
+        least = new long[capacity];
+        values = new long[capacity];
+        used = new boolean[capacity];
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int hash(long msb, long lsb) {
+        // Murmur3 finalizer, so sequential offline-mode UUIDs still spread well
+        long h = msb ^ (lsb * 0x9E3779B97F4A7C15L);
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+}
@@ -0,0 +1,48 @@
+package com.minecraft.healerSaint;
+
+import org.bukkit.entity.Player;
+
+import java.lang.reflect.Proxy;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Players that only know their UUID, name and whether they are online.
+ * Any other method fails the test.
+ */
+public final class FakePlayers {
+    private FakePlayers() {
+    }
+
+    public static Player player(String name) {
+        return player(name, () -> true);
+    }
+
+    /**
+     * @param name The player's name
+     * @param online Answers {@link Player#isOnline()}
+     * @return A new player with a random UUID
+     */
+    public static Player player(String name, BooleanSupplier online) {
+        UUID uuid = UUID.randomUUID();
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getUniqueId":
+                            return uuid;
+                        case "getName":
+                            return name;
+                        case "isOnline":
+                            return online.getAsBoolean();
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "toString":
+                            return "FakePlayer[" + name + "]";
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
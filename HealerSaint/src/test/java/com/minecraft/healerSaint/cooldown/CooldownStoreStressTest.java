@@ -0,0 +1,151 @@
+package com.minecraft.healerSaint.cooldown;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Readers on other threads while several writers start, restore and expire cooldowns.
+ * Every expiry a writer stores encodes its player, so a torn or misplaced read shows up
+ * as a value that belongs to no write of that player.
+ */
+class CooldownStoreStressTest {
+    private static final int PLAYERS = 20_000;
+    private static final int WRITERS = 3;
+    private static final int READERS = 4;
+    private static final long ROUNDS = 6;
+    private static final long STRIDE = 1L << 20;
+    private static final long BASE = 1L << 40;
+
+    @Test
+    void concurrentReadersSeeOnlyWrittenValues() throws InterruptedException {
+        UUID[] players = new UUID[PLAYERS];
+        for (int i = 0; i < PLAYERS; i++) {
+            players[i] = new UUID(i * 31L, i);
+        }
+        CooldownStore store = new CooldownStore(0L);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+        CountDownLatch ready = new CountDownLatch(WRITERS + READERS + 1);
+        List<Thread> threads = new ArrayList<>();
+
+        // Each writer owns every WRITERS-th player and only raises its expiry
+        for (int w = 0; w < WRITERS; w++) {
+            int writer = w;
+            threads.add(new Thread(() -> {
+                await(ready);
+                for (long round = 1; round <= ROUNDS; round++) {
+                    for (int i = writer; i < PLAYERS; i += WRITERS) {
+                        long expiry = BASE + round * STRIDE * PLAYERS + i;
+                        if (writer == 0) {
+                            store.start(players[i], 0L, expiry);
+                        } else {
+                            store.restore(players[i].getMostSignificantBits(), players[i].getLeastSignificantBits(), expiry);
+                        }
+                    }
+                }
+            }));
+        }
+
+        // Nothing has expired yet, so sweeping only exercises the write lock
+        Thread sweeper = new Thread(() -> {
+            await(ready);
+            while (writing.get()) {
+                store.expire(BASE / 2);
+            }
+        });
+
+        for (int r = 0; r < READERS; r++) {
+            threads.add(new Thread(() -> {
+                await(ready);
+                long[] last = new long[PLAYERS];
+                while (writing.get() && failure.get() == null) {
+                    for (int i = 0; i < PLAYERS; i++) {
+                        long value = store.remaining(players[i], 0L);
+                        if (value == 0L) {
+                            if (last[i] != 0L) {
+                                failure.compareAndSet(null, "player " + i + " lost its cooldown");
+                            }
+                            continue;
+                        }
+                        if (Math.floorMod(value - BASE, STRIDE * PLAYERS) != i || value < last[i]) {
+                            failure.compareAndSet(null, "player " + i + " read " + value + " after " + last[i]);
+                        }
+                        last[i] = value;
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        sweeper.start();
+        ready.countDown();
+        for (Thread thread : threads.subList(0, WRITERS)) {
+            thread.join();
+        }
+        writing.set(false);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        sweeper.join();
+
+        assertNull(failure.get());
+        assertEquals(PLAYERS, store.size());
+        assertEquals(PLAYERS * 3, store.snapshot(0L).length);
+        for (int i = 0; i < PLAYERS; i++) {
+            assertEquals(BASE + ROUNDS * STRIDE * PLAYERS + i, store.remaining(players[i], 0L));
+        }
+    }
+
+    @Test
+    void expiredCooldownsAreEvictedWhileRead() throws InterruptedException {
+        CooldownStore store = new CooldownStore(0L);
+        UUID player = UUID.randomUUID();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<String> failure = new AtomicReference<>();
+
+        // The player's cooldown only grows and is never due, while other players are evicted around it
+        Thread reader = new Thread(() -> {
+            long last = 0L;
+            while (running.get()) {
+                long value = store.remaining(player, 0L);
+                if (value < last) {
+                    failure.compareAndSet(null, "read " + value + " after " + last);
+                }
+                last = value;
+            }
+        });
+        store.start(player, 0L, 1_000L);
+        reader.start();
+        for (long second = 1; second <= 2_000; second++) {
+            store.start(UUID.randomUUID(), second * 1_000L, 1_000L);
+            store.start(player, second * 1_000L, 1_500L);
+            store.expire(second * 1_000L);
+        }
+        running.set(false);
+        reader.join();
+
+        assertNull(failure.get());
+        // Only the cooldowns started in the last second are left
+        assertEquals(2, store.size());
+    }
+
+    private static void await(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
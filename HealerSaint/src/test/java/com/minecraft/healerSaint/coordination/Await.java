@@ -0,0 +1,30 @@
+package com.minecraft.healerSaint.coordination;
+
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Polls a condition that another thread makes true, for the transport tests
+ */
+final class Await {
+    private static final long TIMEOUT_MILLIS = 10_000L;
+
+    private Await() {
+    }
+
+    static void until(String description, BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Timed out waiting until " + description);
+            }
+            try {
+                Thread.sleep(10L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted waiting until " + description);
+            }
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.minecraft.healerSaint.coordination;
+
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+class FileTransportTest extends TransportTest {
+    @TempDir
+    Path directory;
+
+    @Override
+    protected CoordinationTransport create() {
+        return new FileTransport(directory, Logger.getLogger("FileTransportTest"));
+    }
+}
@@ -0,0 +1,261 @@
+package com.minecraft.healerSaint.coordination;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several coordinators on one machine, over each transport
+ */
+class SaintCoordinatorTest {
+    private static final Logger LOGGER = Logger.getLogger("SaintCoordinatorTest");
+
+    @TempDir
+    Path directory;
+
+    private int port;
+    private final List<SaintCoordinator> coordinators = new ArrayList<>();
+
+    @AfterEach
+    void shutdown() {
+        for (SaintCoordinator coordinator : coordinators) {
+            coordinator.shutdown();
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "socket"})
+    void rosterChangesReachEveryServer(String transport) throws IOException {
+        Node first = start(transport, roster());
+        Node second = start(transport, roster());
+
+        Set<UUID> crowned = roster(UUID.randomUUID());
+        first.change(crowned);
+        Await.until("second has the new roster", () -> second.state.saints.equals(crowned));
+
+        Set<UUID> replaced = roster(UUID.randomUUID());
+        second.change(replaced);
+        Await.until("first has the newer roster", () -> first.state.saints.equals(replaced));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "socket"})
+    void serverStartedLaterReceivesTheRoster(String transport) throws IOException {
+        Node first = start(transport, roster());
+        Node second = start(transport, roster());
+        Set<UUID> crowned = roster(UUID.randomUUID(), UUID.randomUUID());
+        first.change(crowned);
+        Await.until("second has the roster", () -> second.state.saints.equals(crowned));
+
+        Node late = start(transport, roster());
+        Await.until("the late server has the roster", () -> late.state.saints.equals(crowned));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "socket"})
+    void equalVersionsConvergeOnTheHigherServer(String transport) throws IOException {
+        // Both start at version 0 with their own stored roster
+        Set<UUID> firstRoster = roster(UUID.randomUUID());
+        Set<UUID> secondRoster = roster(UUID.randomUUID());
+        Node first = start(transport, firstRoster);
+        Node second = start(transport, secondRoster);
+
+        Set<UUID> winner = first.coordinator.getServerId().compareTo(second.coordinator.getServerId()) > 0
+                ? firstRoster : secondRoster;
+        Await.until("both servers hold the winning roster",
+                () -> first.state.saints.equals(winner) && second.state.saints.equals(winner));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "socket"})
+    void onlyOneServerHoldsTheSaintSlot(String transport) throws IOException {
+        Node first = start(transport, roster());
+        Node second = start(transport, roster());
+
+        assertTrue(first.coordinator.claimSaintSlot());
+        assertFalse(second.coordinator.claimSaintSlot());
+
+        first.coordinator.releaseSaintSlot();
+        Await.until("second claims the released slot", () -> second.coordinator.claimSaintSlot());
+        assertFalse(first.coordinator.claimSaintSlot());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "socket"})
+    void cooldownsReachTheOtherServers(String transport) throws IOException {
+        Node first = start(transport, roster());
+        Node second = start(transport, roster());
+        UUID player = UUID.randomUUID();
+
+        first.coordinator.cooldownStarted(SaintCoordinator.RESURRECTION_COOLDOWNS, player, 1234L);
+        Await.until("second applied the cooldown", () -> !second.state.cooldowns.isEmpty());
+
+        long[] cooldown = second.state.cooldowns.get(0);
+        assertEquals(SaintCoordinator.RESURRECTION_COOLDOWNS, cooldown[0]);
+        assertEquals(player.getMostSignificantBits(), cooldown[1]);
+        assertEquals(player.getLeastSignificantBits(), cooldown[2]);
+        assertEquals(1234L, cooldown[3]);
+        assertTrue(first.state.cooldowns.isEmpty(), "a server ignores its own messages");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"file", "socket"})
+    void malformedMessagesAreDropped(String transport) throws IOException {
+        Node first = start(transport, roster());
+        Node second = start(transport, roster());
+        ObservedTransport raw = new ObservedTransport(transport(transport));
+        raw.start(message -> { }, () -> { });
+        Await.until("the raw transport is connected", () -> raw.connections.get() > 0);
+
+        try {
+            // A roster claiming more saints than it carries, then one cut off in its version
+            raw.publish(message(1, ByteBuffer.allocate(12).putLong(Long.MAX_VALUE).putInt(1000).array()));
+            raw.publish(message(1, new byte[4]));
+            raw.publish(message(2, new byte[9]));
+
+            Set<UUID> crowned = roster(UUID.randomUUID());
+            first.change(crowned);
+            Await.until("second still receives rosters", () -> second.state.saints.equals(crowned));
+            assertTrue(second.state.cooldowns.isEmpty());
+        } finally {
+            raw.close();
+        }
+    }
+
+    private static byte[] message(int type, byte[] body) {
+        UUID origin = UUID.randomUUID();
+        return ByteBuffer.allocate(17 + body.length).put((byte) type)
+                .putLong(origin.getMostSignificantBits()).putLong(origin.getLeastSignificantBits())
+                .put(body).array();
+    }
+
+    private CoordinationTransport transport(String transport) throws IOException {
+        if (transport.equals("file")) {
+            return new FileTransport(directory, LOGGER);
+        }
+        if (port == 0) {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                port = socket.getLocalPort();
+            }
+        }
+        return new SocketTransport(port, LOGGER);
+    }
+
+    private Node start(String transport, Set<UUID> saints) throws IOException {
+        ObservedTransport observed = new ObservedTransport(transport(transport));
+        SaintCoordinator coordinator = new SaintCoordinator(observed, transport, () -> 60_000L, LOGGER);
+        coordinators.add(coordinator);
+        Node node = new Node(coordinator, new FakeState(saints));
+        coordinator.start(node.state);
+        Await.until("the coordinator is connected", () -> observed.connections.get() > 0);
+        return node;
+    }
+
+    private static Set<UUID> roster(UUID... saints) {
+        Set<UUID> roster = new LinkedHashSet<>();
+        Collections.addAll(roster, saints);
+        return Collections.unmodifiableSet(roster);
+    }
+
+    private static final class Node {
+        private final SaintCoordinator coordinator;
+        private final FakeState state;
+
+        private Node(SaintCoordinator coordinator, FakeState state) {
+            this.coordinator = coordinator;
+            this.state = state;
+        }
+
+        /**
+         * A local roster change, as the saint manager makes it
+         */
+        private void change(Set<UUID> saints) {
+            state.saints = saints;
+            coordinator.rosterChanged(saints);
+        }
+    }
+
+    private static final class FakeState implements CoordinatedState {
+        private volatile Set<UUID> saints;
+        private final List<long[]> cooldowns = new CopyOnWriteArrayList<>();
+
+        private FakeState(Set<UUID> saints) {
+            this.saints = saints;
+        }
+
+        @Override
+        public Set<UUID> getSaints() {
+            return saints;
+        }
+
+        @Override
+        public void applyRemoteRoster(Set<UUID> roster) {
+            saints = roster;
+        }
+
+        @Override
+        public void applyRemoteCooldown(int store, long msb, long lsb, long expiry) {
+            cooldowns.add(new long[] {store, msb, lsb, expiry});
+        }
+    }
+
+    /**
+     * Counts the connections reported by a transport
+     */
+    private static final class ObservedTransport implements CoordinationTransport {
+        private final CoordinationTransport delegate;
+        private final AtomicInteger connections = new AtomicInteger();
+
+        private ObservedTransport(CoordinationTransport delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void start(Consumer<byte[]> receiver, Runnable connected) throws IOException {
+            delegate.start(receiver, () -> {
+                connected.run();
+                connections.incrementAndGet();
+            });
+        }
+
+        @Override
+        public void publish(byte[] message) throws IOException {
+            delegate.publish(message);
+        }
+
+        @Override
+        public boolean claimLease(UUID owner, long duration) throws IOException {
+            return delegate.claimLease(owner, duration);
+        }
+
+        @Override
+        public void releaseLease(UUID owner) throws IOException {
+            delegate.releaseLease(owner);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.minecraft.healerSaint.coordination;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SocketTransportTest extends TransportTest {
+    private int port;
+
+    @BeforeEach
+    void pickPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+    }
+
+    @Override
+    protected CoordinationTransport create() {
+        return new SocketTransport(port, Logger.getLogger("SocketTransportTest"));
+    }
+
+    @Test
+    void anotherServerTakesOverWhenTheHubLeaves() throws IOException {
+        Server hub = startServer();
+        Server second = startServer();
+        Server third = startServer();
+
+        hub.transport.close();
+
+        // One of the others binds the port, the last one reconnects to it
+        Await.until("both remaining servers reconnected",
+                () -> second.connections.get() > 1 && third.connections.get() > 1);
+        Await.until("messages flow again", () -> {
+            try {
+                second.transport.publish(bytes("after takeover"));
+            } catch (IOException e) {
+                return false;
+            }
+            return third.received("after takeover");
+        });
+
+        // The new hub starts without a lease
+        assertTrue(claim(third.transport, UUID.randomUUID(), 60_000L));
+    }
+}
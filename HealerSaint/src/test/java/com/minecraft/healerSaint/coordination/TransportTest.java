@@ -0,0 +1,127 @@
+package com.minecraft.healerSaint.coordination;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Behaviour every transport shares, run against two servers on one machine
+ */
+abstract class TransportTest {
+    protected final List<CoordinationTransport> transports = new ArrayList<>();
+
+    /**
+     * @return A new, not yet started transport that reaches the same servers as the others
+     */
+    protected abstract CoordinationTransport create() throws IOException;
+
+    @AfterEach
+    void closeTransports() {
+        for (CoordinationTransport transport : transports) {
+            transport.close();
+        }
+    }
+
+    protected Server startServer() throws IOException {
+        Server server = new Server(create());
+        transports.add(server.transport);
+        server.transport.start(server.received::add, server.connections::incrementAndGet);
+        Await.until("the transport is connected", () -> server.connections.get() > 0);
+        return server;
+    }
+
+    @Test
+    void deliversMessagesToTheOtherServers() throws IOException {
+        Server first = startServer();
+        Server second = startServer();
+
+        first.transport.publish(bytes("from first"));
+        second.transport.publish(bytes("from second"));
+
+        Await.until("second received the message", () -> second.received("from first"));
+        Await.until("first received the message", () -> first.received("from second"));
+    }
+
+    @Test
+    void leaseExcludesOtherOwners() throws IOException {
+        Server first = startServer();
+        Server second = startServer();
+        UUID firstOwner = UUID.randomUUID();
+        UUID secondOwner = UUID.randomUUID();
+
+        assertTrue(first.transport.claimLease(firstOwner, 60_000L));
+        assertFalse(second.transport.claimLease(secondOwner, 60_000L));
+        assertTrue(first.transport.claimLease(firstOwner, 60_000L), "the owner extends its lease");
+
+        // Only the owner can release it
+        second.transport.releaseLease(secondOwner);
+        assertFalse(second.transport.claimLease(secondOwner, 60_000L));
+
+        first.transport.releaseLease(firstOwner);
+        Await.until("the released lease can be claimed", () -> claim(second.transport, secondOwner, 60_000L));
+        assertFalse(first.transport.claimLease(firstOwner, 60_000L));
+    }
+
+    @Test
+    void leaseRunsOut() throws IOException {
+        Server first = startServer();
+        Server second = startServer();
+
+        assertTrue(first.transport.claimLease(UUID.randomUUID(), 200L));
+        UUID secondOwner = UUID.randomUUID();
+        assertFalse(second.transport.claimLease(secondOwner, 200L));
+        Await.until("the lease ran out", () -> claim(second.transport, secondOwner, 200L));
+    }
+
+    @Test
+    void reportsOneConnectionPerServer() throws IOException {
+        Server first = startServer();
+        Server second = startServer();
+
+        assertEquals(1, first.connections.get());
+        assertEquals(1, second.connections.get());
+    }
+
+    protected static boolean claim(CoordinationTransport transport, UUID owner, long duration) {
+        try {
+            return transport.claimLease(owner, duration);
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    protected static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    protected static final class Server {
+        final CoordinationTransport transport;
+        final Queue<byte[]> received = new ConcurrentLinkedQueue<>();
+        final AtomicInteger connections = new AtomicInteger();
+
+        private Server(CoordinationTransport transport) {
+            this.transport = transport;
+        }
+
+        boolean received(String text) {
+            for (byte[] message : received) {
+                if (new String(message, StandardCharsets.UTF_8).equals(text)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
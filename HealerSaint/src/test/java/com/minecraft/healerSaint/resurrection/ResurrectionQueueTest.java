@@ -0,0 +1,122 @@
+package com.minecraft.healerSaint.resurrection;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import com.minecraft.healerSaint.FakePlayers;
+import com.minecraft.healerSaint.scheduler.FakeTaskScheduler;
+import com.minecraft.healerSaint.stats.PluginStats;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Resurrections from death to respawn, driven by a fake scheduler
+ */
+class ResurrectionQueueTest {
+    private final List<Player> resurrected = new ArrayList<>();
+    private final Player saint = FakePlayers.player("saint");
+
+    @Test
+    void mainThreadResurrectsInTheDrainingTick() {
+        FakeTaskScheduler scheduler = new FakeTaskScheduler(false);
+        ResurrectionQueue queue = queue(scheduler, 20);
+        scheduler.runGlobalTimer(queue::drain, 1L, 1L);
+
+        Player dead = FakePlayers.player("dead");
+        queue.add(dead, saint, Collections.emptyList());
+        scheduler.tick(5);
+        assertTrue(resurrected.isEmpty());
+        assertEquals(1, queue.getAwaitingRespawn());
+
+        queue.respawned(dead);
+        assertEquals(1, queue.getReady());
+        scheduler.tick();
+        assertEquals(List.of(dead), resurrected);
+        assertEquals(0, queue.getReady());
+    }
+
+    @Test
+    void regionThreadedResurrectsOnThePlayersThread() {
+        FakeTaskScheduler scheduler = new FakeTaskScheduler(true);
+        ResurrectionQueue queue = queue(scheduler, 20);
+        scheduler.runGlobalTimer(queue::drain, 1L, 1L);
+
+        Player dead = FakePlayers.player("dead");
+        queue.add(dead, saint, Collections.emptyList());
+        queue.respawned(dead);
+
+        // The drain hands the resurrection to the player's scheduler
+        scheduler.tick();
+        assertTrue(resurrected.isEmpty());
+        assertEquals(1, scheduler.pendingAt(dead));
+
+        scheduler.tick();
+        assertEquals(List.of(dead), resurrected);
+        assertEquals(0, scheduler.pendingAt(dead));
+    }
+
+    @Test
+    void drainPerformsAtMostPerTickResurrections() {
+        FakeTaskScheduler scheduler = new FakeTaskScheduler(false);
+        ResurrectionQueue queue = queue(scheduler, 2);
+        scheduler.runGlobalTimer(queue::drain, 1L, 1L);
+
+        for (int i = 0; i < 5; i++) {
+            Player dead = FakePlayers.player("dead" + i);
+            queue.add(dead, saint, Collections.emptyList());
+            queue.respawned(dead);
+        }
+
+        scheduler.tick();
+        assertEquals(2, resurrected.size());
+        scheduler.tick();
+        assertEquals(4, resurrected.size());
+        scheduler.tick();
+        assertEquals(5, resurrected.size());
+    }
+
+    @Test
+    void playerThatLeftBeforeTheirTurnIsSkipped() {
+        FakeTaskScheduler scheduler = new FakeTaskScheduler(true);
+        ResurrectionQueue queue = queue(scheduler, 20);
+        scheduler.runGlobalTimer(queue::drain, 1L, 1L);
+
+        AtomicBoolean online = new AtomicBoolean(true);
+        Player dead = FakePlayers.player("dead", online::get);
+        queue.add(dead, saint, Collections.emptyList());
+        queue.respawned(dead);
+        scheduler.tick();
+        online.set(false);
+        scheduler.tick();
+
+        assertTrue(resurrected.isEmpty());
+    }
+
+    @Test
+    void respawnWithoutResurrectionIsIgnored() {
+        FakeTaskScheduler scheduler = new FakeTaskScheduler(true);
+        ResurrectionQueue queue = queue(scheduler, 20);
+        scheduler.runGlobalTimer(queue::drain, 1L, 1L);
+
+        queue.respawned(FakePlayers.player("alive"));
+        scheduler.tick(2);
+
+        assertEquals(0, queue.getReady());
+        assertTrue(resurrected.isEmpty());
+        assertEquals(1, scheduler.pending());
+    }
+
+    private ResurrectionQueue queue(FakeTaskScheduler scheduler, int perTick) {
+        return new ResurrectionQueue(scheduler, new PluginStats(), () -> perTick,
+                (player, resurrectingSaint, savedItems) -> {
+                    assertEquals(saint, resurrectingSaint);
+                    resurrected.add(player);
+                });
+    }
+}
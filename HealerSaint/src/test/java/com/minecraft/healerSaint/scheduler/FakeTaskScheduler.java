@@ -0,0 +1,148 @@
+package com.minecraft.healerSaint.scheduler;
+
+import org.bukkit.entity.Entity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A scheduler whose ticks are advanced by the test. Tasks run on the test's thread,
+ * in the order they were scheduled.
+ */
+public class FakeTaskScheduler implements TaskScheduler {
+    private final boolean regionThreaded;
+    private final List<Task> tasks = new ArrayList<>();
+    private long currentTick;
+
+    public FakeTaskScheduler(boolean regionThreaded) {
+        this.regionThreaded = regionThreaded;
+    }
+
+    @Override
+    public boolean isRegionThreaded() {
+        return regionThreaded;
+    }
+
+    @Override
+    public ScheduledTask runGlobalTimer(Runnable task, long delay, long period) {
+        return schedule(null, task, null, delay, period);
+    }
+
+    @Override
+    public ScheduledTask runGlobalLater(Runnable task, long delay) {
+        return schedule(null, task, null, delay, 0);
+    }
+
+    @Override
+    public ScheduledTask runAtEntityLater(Entity entity, Runnable task, long delay) {
+        return schedule(entity, task, null, delay, 0);
+    }
+
+    @Override
+    public ScheduledTask runAtEntityTimer(Entity entity, Runnable task, Runnable retired, long delay, long period) {
+        return schedule(entity, task, retired, delay, period);
+    }
+
+    /**
+     * Advance one tick, running every task that is due
+     */
+    public void tick() {
+        currentTick++;
+        for (Task task : new ArrayList<>(tasks)) {
+            if (!task.cancelled && task.nextRun == currentTick) {
+                task.body.run();
+                if (task.period > 0) {
+                    task.nextRun += task.period;
+                } else {
+                    task.cancelled = true;
+                }
+            }
+        }
+        tasks.removeIf(task -> task.cancelled);
+    }
+
+    /**
+     * Advance several ticks
+     * @param ticks The number of ticks
+     */
+    public void tick(int ticks) {
+        for (int i = 0; i < ticks; i++) {
+            tick();
+        }
+    }
+
+    /**
+     * Remove an entity from the world, its tasks stop and their retired callbacks run
+     * @param entity The removed entity
+     */
+    public void retire(Entity entity) {
+        for (Task task : new ArrayList<>(tasks)) {
+            if (!task.cancelled && task.entity == entity) {
+                task.cancelled = true;
+                if (task.retired != null) {
+                    task.retired.run();
+                }
+            }
+        }
+        tasks.removeIf(task -> task.cancelled);
+    }
+
+    /**
+     * The tasks bound to an entity that have not finished or been cancelled
+     * @param entity The entity
+     * @return The number of pending tasks
+     */
+    public int pendingAt(Entity entity) {
+        int pending = 0;
+        for (Task task : tasks) {
+            if (!task.cancelled && task.entity == entity) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * @return The number of tasks that have not finished or been cancelled
+     */
+    public int pending() {
+        int pending = 0;
+        for (Task task : tasks) {
+            if (!task.cancelled) {
+                pending++;
+            }
+        }
+        return pending;
+    }
+
+    private ScheduledTask schedule(Entity entity, Runnable body, Runnable retired, long delay, long period) {
+        if (delay < 1) {
+            throw new IllegalArgumentException("Delay must be at least 1 tick, was " + delay);
+        }
+        Task task = new Task(entity, body, retired, currentTick + delay, period);
+        tasks.add(task);
+        return task;
+    }
+
+    private static final class Task implements ScheduledTask {
+        private final Entity entity;
+        private final Runnable body;
+        private final Runnable retired;
+        private final long period;
+        private long nextRun;
+        private boolean cancelled;
+
+        private Task(Entity entity, Runnable body, Runnable retired, long nextRun, long period) {
+            this.entity = entity;
+            this.body = body;
+            this.retired = retired;
+            this.nextRun = nextRun;
+            this.period = period;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
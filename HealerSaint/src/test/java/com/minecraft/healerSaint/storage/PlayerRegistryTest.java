@@ -0,0 +1,136 @@
+package com.minecraft.healerSaint.storage;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * players.dat written and read back, through the same writer thread the plugin uses
+ */
+class PlayerRegistryTest {
+    private static final Logger LOGGER = Logger.getLogger("PlayerRegistryTest");
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_SIZE = 25;
+
+    @TempDir
+    Path directory;
+
+    private final DataWriter writer = new DataWriter(LOGGER);
+
+    @AfterEach
+    void close() {
+        writer.close();
+    }
+
+    @Test
+    void recordsSurviveAReload() {
+        Path file = directory.resolve("players.dat");
+        PlayerRegistry registry = new PlayerRegistry(file, writer, LOGGER);
+        UUID joined = new UUID(1, 1);
+        UUID returned = new UUID(1, 2);
+        assertTrue(registry.record(joined, 100L));
+        assertFalse(registry.record(joined, 200L), "a known player keeps their first-seen time");
+        registry.touch(returned, 300L);
+        registry.touch(returned, 400L);
+        save(registry);
+
+        PlayerRegistry reloaded = new PlayerRegistry(file, writer, LOGGER);
+        assertEquals(2, reloaded.size());
+        assertEquals(100L, reloaded.getFirstSeen(joined));
+        assertEquals(100L, reloaded.getLastSeen(joined));
+        assertEquals(300L, reloaded.getFirstSeen(returned));
+        assertEquals(400L, reloaded.getLastSeen(returned));
+        assertEquals(-1L, reloaded.getFirstSeen(new UUID(1, 3)));
+    }
+
+    @Test
+    void tornTailIsIgnoredAndCutOffOnTheNextAppend() throws IOException {
+        Path file = directory.resolve("players.dat");
+        PlayerRegistry registry = new PlayerRegistry(file, writer, LOGGER);
+        for (int i = 0; i < 10; i++) {
+            registry.record(new UUID(2, i), i);
+        }
+        save(registry);
+
+        // A crash in the middle of appending the next record
+        Files.write(file, new byte[RECORD_SIZE - 7], StandardOpenOption.APPEND);
+
+        PlayerRegistry reloaded = new PlayerRegistry(file, writer, LOGGER);
+        assertEquals(10, reloaded.size());
+        reloaded.record(new UUID(2, 10), 10L);
+        save(reloaded);
+        assertEquals(HEADER_SIZE + 11 * RECORD_SIZE, Files.size(file));
+
+        PlayerRegistry again = new PlayerRegistry(file, writer, LOGGER);
+        assertEquals(11, again.size());
+        assertEquals(10L, again.getFirstSeen(new UUID(2, 10)));
+    }
+
+    @Test
+    void fileOfAnotherFormatIsMovedAside() throws IOException {
+        Path file = directory.resolve("players.dat");
+        Files.write(file, "players:\n  some: 1\n".getBytes());
+
+        PlayerRegistry registry = new PlayerRegistry(file, writer, LOGGER);
+        assertEquals(0, registry.size());
+        assertTrue(Files.exists(directory.resolve("players.dat.invalid")));
+    }
+
+    @Test
+    void compactionKeepsRecordsAppendedDuringThePass() throws IOException {
+        Path file = directory.resolve("players.dat");
+        PlayerRegistry registry = new PlayerRegistry(file, writer, LOGGER);
+        int players = 600;
+        for (int i = 0; i < players; i++) {
+            for (int visit = 1; visit <= 4; visit++) {
+                registry.touch(new UUID(3, i), visit);
+            }
+        }
+        save(registry);
+        long before = Files.size(file);
+
+        // Reloaded, as at startup, so the index is sized for the log and does not grow mid-pass
+        PlayerRegistry reloaded = new PlayerRegistry(file, writer, LOGGER);
+        int cursor = 0;
+        int slices = 0;
+        do {
+            cursor = reloaded.scan(cursor, 50, (msb, lsb, lastSeen) -> { });
+            // Changes behind and ahead of the cursor while the pass runs
+            if (slices == 3) {
+                reloaded.touch(new UUID(3, 0), 50L);
+                reloaded.touch(new UUID(3, players - 1), 60L);
+                reloaded.record(new UUID(4, 0), 70L);
+                reloaded.flush();
+            }
+            slices++;
+        } while (cursor != 0);
+        save(reloaded);
+
+        assertTrue(Files.size(file) < before / 2, "superseded records were dropped");
+        assertFalse(Files.exists(directory.resolve("players.dat.compact")));
+
+        PlayerRegistry compacted = new PlayerRegistry(file, writer, LOGGER);
+        assertEquals(players + 1, compacted.size());
+        assertEquals(50L, compacted.getLastSeen(new UUID(3, 0)));
+        assertEquals(60L, compacted.getLastSeen(new UUID(3, players - 1)));
+        assertEquals(4L, compacted.getLastSeen(new UUID(3, players / 2)));
+        assertEquals(1L, compacted.getFirstSeen(new UUID(3, players / 2)));
+        assertEquals(70L, compacted.getFirstSeen(new UUID(4, 0)));
+    }
+
+    private void save(PlayerRegistry registry) {
+        registry.flush();
+        writer.flush().join();
+    }
+}
@@ -0,0 +1,172 @@
+package com.minecraft.healerSaint.storage;
+
+import com.minecraft.healerSaint.cooldown.CooldownStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * data.db written and read back by reopening it, as across a restart
+ */
+class SqlStorageTest {
+    private static final Logger LOGGER = Logger.getLogger("SqlStorageTest");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void batchedWritesSurviveAReopen() throws SQLException {
+        // More rows than one batch holds
+        int players = 2500;
+        long now = System.currentTimeMillis();
+        Set<UUID> saints = new LinkedHashSet<>(List.of(new UUID(9, 3), new UUID(9, 1), new UUID(9, 2)));
+        CooldownStore healing = new CooldownStore(now);
+        CooldownStore resurrection = new CooldownStore(now);
+
+        SqlStorage storage = open();
+        for (int i = 0; i < players; i++) {
+            UUID uuid = new UUID(1, i);
+            storage.recordPlayer(uuid, i);
+            storage.recordLastSeen(uuid, 10_000L + i);
+            storage.recordName(uuid, "player" + i);
+            healing.start(uuid, now, 60_000L);
+            if (i % 2 == 0) {
+                resurrection.start(uuid, now, 120_000L);
+            }
+        }
+        storage.saveSaints(saints);
+        storage.saveCooldowns(now, healing, resurrection);
+        storage.recordHistory(new UUID(9, 3), "crowned", now);
+        storage.close();
+
+        SqlStorage reopened = open();
+        try {
+            assertEquals(players, reopened.getPlayerCount());
+            assertEquals(1234L, reopened.getFirstSeen(new UUID(1, 1234)));
+            assertEquals(11_234L, reopened.getLastSeen(new UUID(1, 1234)));
+            assertEquals(List.copyOf(saints), List.copyOf(reopened.loadSaints()));
+
+            Map<UUID, String> names = new HashMap<>();
+            reopened.loadNames(names::put);
+            assertEquals(players, names.size());
+            assertEquals("player2499", names.get(new UUID(1, 2499)));
+
+            CooldownStore loadedHealing = new CooldownStore(now);
+            CooldownStore loadedResurrection = new CooldownStore(now);
+            reopened.loadCooldowns(now, loadedHealing, loadedResurrection);
+            assertEquals(players, loadedHealing.size());
+            assertEquals(players / 2, loadedResurrection.size());
+            assertEquals(120_000L, loadedResurrection.remaining(new UUID(1, 0), now));
+        } finally {
+            reopened.close();
+        }
+        assertEquals(1, count("SELECT COUNT(*) FROM history"));
+    }
+
+    @Test
+    void databaseWithoutLastSeenColumnIsMigrated() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE players (msb INTEGER NOT NULL, lsb INTEGER NOT NULL, "
+                    + "first_seen INTEGER NOT NULL, PRIMARY KEY (msb, lsb)) WITHOUT ROWID");
+            statement.execute("INSERT INTO players (msb, lsb, first_seen) VALUES (2, 2, 100)");
+        }
+
+        UUID player = new UUID(2, 2);
+        SqlStorage storage = open();
+        assertEquals(100L, storage.getFirstSeen(player));
+        assertEquals(100L, storage.getLastSeen(player), "never seen since falls back to first seen");
+        storage.recordLastSeen(player, 200L);
+        storage.close();
+
+        SqlStorage reopened = open();
+        try {
+            assertEquals(100L, reopened.getFirstSeen(player));
+            assertEquals(200L, reopened.getLastSeen(player));
+        } finally {
+            reopened.close();
+        }
+    }
+
+    @Test
+    void failedWriteIsRetriedOnTheNextFlush() throws SQLException {
+        UUID player = new UUID(3, 3);
+        SqlStorage storage = open();
+        storage.recordPlayer(player, 100L);
+        storage.recordName(player, "Alice");
+        storage.recordHistory(player, "crowned", 100L);
+        storage.saveSaints(Set.of(player));
+
+        // Another writer holds the database until the busy timeout runs out
+        try (Connection lock = connect(); Statement statement = lock.createStatement()) {
+            statement.execute("BEGIN EXCLUSIVE");
+            storage.flush().join();
+            statement.execute("ROLLBACK");
+        }
+        assertEquals(0, count("SELECT COUNT(*) FROM players"));
+
+        // Queued after the failure, so it must be written after the retried batch
+        storage.recordLastSeen(player, 300L);
+        storage.recordName(player, "Alicia");
+        storage.close();
+
+        SqlStorage reopened = open();
+        try {
+            assertEquals(100L, reopened.getFirstSeen(player));
+            assertEquals(300L, reopened.getLastSeen(player));
+            assertEquals(Set.of(player), reopened.loadSaints());
+            Map<UUID, String> names = new HashMap<>();
+            reopened.loadNames(names::put);
+            assertEquals("Alicia", names.get(player));
+        } finally {
+            reopened.close();
+        }
+        assertEquals(1, count("SELECT COUNT(*) FROM history"));
+    }
+
+    @Test
+    void migrationMarkerPersists() throws SQLException {
+        SqlStorage storage = open();
+        assertFalse(storage.isMigrated());
+        storage.markMigrated();
+        storage.close();
+
+        SqlStorage reopened = open();
+        try {
+            assertTrue(reopened.isMigrated());
+        } finally {
+            reopened.close();
+        }
+    }
+
+    private SqlStorage open() throws SQLException {
+        return new SqlStorage(directory.resolve("data.db"), LOGGER);
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection("jdbc:sqlite:" + directory.resolve("data.db").toAbsolutePath());
+    }
+
+    private int count(String sql) throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery(sql)) {
+            return rows.next() ? rows.getInt(1) : 0;
+        }
+    }
+}
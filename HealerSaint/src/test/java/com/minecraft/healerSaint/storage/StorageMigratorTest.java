@@ -0,0 +1,91 @@
+package com.minecraft.healerSaint.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The YAML backend's files copied into SQLite
+ */
+class StorageMigratorTest {
+    private static final Logger LOGGER = Logger.getLogger("StorageMigratorTest");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void legacyDataAndTruncatedRegistryAreMigrated() throws IOException, SQLException {
+        UUID saint = new UUID(0x5A1L, 1);
+        UUID veteran = new UUID(0x5A1L, 2);
+        UUID regular = new UUID(0x5A1L, 3);
+        UUID newcomer = new UUID(0x5A1L, 4);
+        Files.write(directory.resolve("data.yml"), List.of(
+                "settings:",
+                "  nested:",
+                "  - [1, 2]",
+                "  - {players: 5}",
+                "current_saint: " + saint,
+                "players:",
+                "  " + veteran + ": 1000",
+                "  " + regular + ": 2000",
+                "  not-a-uuid: 3000",
+                "  " + newcomer + ":",
+                "    unexpected: value"
+        ), StandardCharsets.UTF_8);
+
+        // Registry of a later version: the veteran came back, the newcomer is new, then a crash
+        DataWriter writer = new DataWriter(LOGGER);
+        PlayerRegistry registry = new PlayerRegistry(directory.resolve("players.dat"), writer, LOGGER);
+        registry.record(veteran, 1500L);
+        registry.touch(veteran, 5000L);
+        registry.record(newcomer, 6000L);
+        registry.flush();
+        writer.close();
+        Files.write(directory.resolve("players.dat"), new byte[11], StandardOpenOption.APPEND);
+
+        assertTrue(StorageMigrator.hasYamlData(directory.toFile()));
+        SqlStorage target = new SqlStorage(directory.resolve("data.db"), LOGGER);
+        assertTrue(StorageMigrator.migrate(directory.toFile(), target, LOGGER));
+        target.close();
+
+        SqlStorage migrated = new SqlStorage(directory.resolve("data.db"), LOGGER);
+        try {
+            assertEquals(Set.of(saint), migrated.loadSaints());
+            assertEquals(3, migrated.getPlayerCount());
+            assertEquals(1000L, migrated.getFirstSeen(veteran), "data.yml is older than players.dat");
+            assertEquals(5000L, migrated.getLastSeen(veteran));
+            assertEquals(2000L, migrated.getFirstSeen(regular));
+            assertEquals(2000L, migrated.getLastSeen(regular));
+            assertEquals(6000L, migrated.getFirstSeen(newcomer));
+            assertFalse(migrated.isKnownPlayer(saint));
+        } finally {
+            migrated.close();
+        }
+    }
+
+    @Test
+    void unreadableDataYmlFailsTheMigration() throws IOException, SQLException {
+        Files.write(directory.resolve("data.yml"), List.of("saints: [unclosed"), StandardCharsets.UTF_8);
+
+        SqlStorage target = new SqlStorage(directory.resolve("data.db"), LOGGER);
+        try {
+            assertFalse(StorageMigrator.migrate(directory.toFile(), target, LOGGER));
+        } finally {
+            target.close();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.minecraft.healerSaint.tasks;
+
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.Test;
+
+import com.minecraft.healerSaint.FakePlayers;
+import com.minecraft.healerSaint.scheduler.FakeTaskScheduler;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The per-saint auras of a region-threaded server, driven by a fake scheduler
+ */
+class SaintAurasTest {
+    private final FakeTaskScheduler scheduler = new FakeTaskScheduler(true);
+    private final Map<UUID, Integer> pulses = new HashMap<>();
+    private final AtomicLong interval = new AtomicLong(10);
+    private final SaintAuras auras = new SaintAuras(scheduler,
+            saint -> () -> pulses.merge(saint.getUniqueId(), 1, Integer::sum), interval::get);
+
+    @Test
+    void startedAuraPulsesOnTheSaintsScheduler() {
+        Player saint = FakePlayers.player("saint");
+        auras.start(saint);
+
+        assertTrue(auras.isRunning(saint.getUniqueId()));
+        assertEquals(1, scheduler.pendingAt(saint));
+        scheduler.tick(9);
+        assertEquals(0, pulses(saint));
+        scheduler.tick(21);
+        assertEquals(3, pulses(saint));
+    }
+
+    @Test
+    void stoppedAuraNoLongerPulses() {
+        Player saint = FakePlayers.player("saint");
+        auras.start(saint);
+        scheduler.tick(10);
+        auras.stop(saint);
+        scheduler.tick(30);
+
+        assertEquals(1, pulses(saint));
+        assertFalse(auras.isRunning(saint.getUniqueId()));
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    void startingAgainReplacesTheRunningAura() {
+        Player saint = FakePlayers.player("saint");
+        auras.start(saint);
+        auras.start(saint);
+        scheduler.tick(10);
+
+        assertEquals(1, pulses(saint));
+        assertEquals(1, scheduler.pendingAt(saint));
+        assertEquals(1, auras.size());
+    }
+
+    @Test
+    void restartPicksUpTheNewIntervalOnTheSaintsThread() {
+        Player saint = FakePlayers.player("saint");
+        auras.start(saint);
+        interval.set(5);
+        auras.restart(saint);
+
+        // The restart itself is an entity task, the old aura keeps running until it ran
+        assertEquals(2, scheduler.pendingAt(saint));
+        scheduler.tick();
+        assertEquals(1, scheduler.pendingAt(saint));
+        scheduler.tick(20);
+        assertEquals(4, pulses(saint));
+    }
+
+    @Test
+    void retiredSaintLosesTheAura() {
+        Player saint = FakePlayers.player("saint");
+        auras.start(saint);
+        scheduler.retire(saint);
+
+        assertFalse(auras.isRunning(saint.getUniqueId()));
+        assertEquals(0, auras.size());
+    }
+
+    @Test
+    void retiringOneSaintKeepsTheOthersAura() {
+        Player retired = FakePlayers.player("retired");
+        Player other = FakePlayers.player("other");
+        auras.start(retired);
+        auras.start(other);
+        scheduler.retire(retired);
+        scheduler.tick(10);
+
+        assertTrue(auras.isRunning(other.getUniqueId()));
+        assertEquals(0, pulses(retired));
+        assertEquals(1, pulses(other));
+    }
+
+    @Test
+    void stopAllCancelsEveryAura() {
+        Player first = FakePlayers.player("first");
+        Player second = FakePlayers.player("second");
+        auras.start(first);
+        auras.start(second);
+        auras.stopAll();
+        scheduler.tick(30);
+
+        assertEquals(0, pulses(first) + pulses(second));
+        assertEquals(0, auras.size());
+        assertEquals(0, scheduler.pending());
+    }
+
+    private int pulses(Player saint) {
+        return pulses.getOrDefault(saint.getUniqueId(), 0);
+    }
+}
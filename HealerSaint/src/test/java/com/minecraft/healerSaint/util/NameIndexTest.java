@@ -0,0 +1,62 @@
+package com.minecraft.healerSaint.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class NameIndexTest {
+    @Test
+    void bulkLoadMatchesOneByOne() {
+        Random random = new Random(42);
+        NameIndex bulk = new NameIndex();
+        NameIndex single = new NameIndex();
+        for (int i = 0; i < 50; i++) {
+            UUID uuid = UUID.randomUUID();
+            String name = "online" + random.nextInt(40);
+            bulk.put(uuid, name, true);
+            single.put(uuid, name, true);
+        }
+
+        Map<UUID, String> stored = new HashMap<>();
+        for (int i = 0; i < 5000; i++) {
+            stored.put(UUID.randomUUID(), (random.nextBoolean() ? "Player" : "online") + random.nextInt(3000));
+        }
+        bulk.putAllOffline(stored);
+        for (Map.Entry<UUID, String> entry : stored.entrySet()) {
+            if (single.find(entry.getValue()) == null) {
+                single.putOffline(entry.getKey(), entry.getValue());
+            }
+        }
+
+        assertEquals(single.size(), bulk.size());
+        assertEquals(single.getOnlineCount(), bulk.getOnlineCount());
+        assertEquals(single.complete("", true), bulk.complete("", true));
+        assertEquals(single.complete("online1", false), bulk.complete("online1", false));
+    }
+
+    @Test
+    void bulkLoadKeepsOnlinePlayers() {
+        NameIndex index = new NameIndex();
+        UUID online = UUID.randomUUID();
+        index.put(online, "Alice", true);
+
+        Map<UUID, String> stored = new HashMap<>();
+        UUID renamed = UUID.randomUUID();
+        stored.put(online, "OldAlice");
+        stored.put(renamed, "alice");
+        stored.put(UUID.randomUUID(), "Bob");
+        index.putAllOffline(stored);
+
+        assertEquals("Alice", index.getName(online));
+        assertEquals(online, index.find("ALICE"));
+        assertNull(index.getName(renamed));
+        assertEquals(2, index.size());
+        assertEquals(1, index.getOnlineCount());
+    }
+}
@@ -0,0 +1,72 @@
+package com.minecraft.healerSaint.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UuidLongMapTest {
+    @Test
+    void removeKeepsTheRestOfTheProbeChainReachable() {
+        Random random = new Random(42);
+        // A small table, so chains are long and wrap around its end
+        UuidLongMap map = new UuidLongMap(1);
+        Map<UUID, Long> expected = new HashMap<>();
+        List<UUID> keys = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            keys.add(new UUID(random.nextInt(4), random.nextInt(64)));
+        }
+
+        for (int step = 0; step < 20_000; step++) {
+            UUID key = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(3) == 0 || expected.size() >= 9) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                long value = random.nextLong();
+                expected.put(key, value);
+                map.put(key, value);
+            }
+
+            assertEquals(expected.size(), map.size());
+            for (UUID probe : keys) {
+                assertEquals(expected.containsKey(probe), map.containsKey(probe));
+                assertEquals(expected.getOrDefault(probe, -1L), map.get(probe, -1L));
+            }
+        }
+        assertEquals(16, map.capacity(), "the table never had to grow");
+    }
+
+    @Test
+    void slotsHoldEveryEntryAfterRemovals() {
+        UuidLongMap map = new UuidLongMap(1000);
+        for (long i = 0; i < 1000; i++) {
+            map.put(new UUID(5, i), i);
+        }
+        for (long i = 0; i < 1000; i += 2) {
+            assertTrue(map.remove(5, i));
+        }
+        assertFalse(map.remove(5, 0));
+
+        long sum = 0;
+        int used = 0;
+        for (int slot = 0; slot < map.capacity(); slot++) {
+            if (map.isUsed(slot)) {
+                assertEquals(5, map.mostBitsAt(slot));
+                assertEquals(map.leastBitsAt(slot), map.valueAt(slot));
+                sum += map.valueAt(slot);
+                used++;
+            }
+        }
+        assertEquals(500, used);
+        assertEquals(500, map.size());
+        assertEquals(500L * 500L, sum, "the odd values 1..999");
+    }
+}